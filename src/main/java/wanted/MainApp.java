@@ -2,6 +2,8 @@ package wanted;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -12,6 +14,7 @@ import wanted.commons.core.LogsCenter;
 import wanted.commons.core.Version;
 import wanted.commons.exceptions.DataLoadingException;
 import wanted.commons.util.ConfigUtil;
+import wanted.commons.util.FileUtil;
 import wanted.commons.util.StringUtil;
 import wanted.logic.Logic;
 import wanted.logic.LogicManager;
@@ -21,10 +24,16 @@ import wanted.model.ModelManager;
 import wanted.model.ReadOnlyLoanBook;
 import wanted.model.ReadOnlyUserPrefs;
 import wanted.model.UserPrefs;
+import wanted.model.UserPrefs.LoanBookFileFormat;
 import wanted.model.util.SampleDataUtil;
+import wanted.storage.AsyncLoanBookStorage;
+import wanted.storage.BinaryLoanBookStorage;
+import wanted.storage.JournaledLoanBookStorage;
 import wanted.storage.JsonLoanBookStorage;
 import wanted.storage.JsonUserPrefsStorage;
+import wanted.storage.LoanBookFileConverter;
 import wanted.storage.LoanBookStorage;
+import wanted.storage.SegmentedLoanBookStorage;
 import wanted.storage.Storage;
 import wanted.storage.StorageManager;
 import wanted.storage.UserPrefsStorage;
@@ -57,8 +66,16 @@ public class MainApp extends Application {
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
-        LoanBookStorage loanBookStorage = new JsonLoanBookStorage(userPrefs.getLoanBookFilePath());
-        storage = new StorageManager(loanBookStorage, userPrefsStorage);
+        LoanBookStorage snapshotStorage = initSnapshotStorage(userPrefs);
+        LoanBookStorage loanBookStorage;
+        if (userPrefs.getLoanBookFileFormat() == LoanBookFileFormat.SEGMENTED) {
+            // A save already only rewrites the segments that changed, which a journal would put off until compaction
+            foldJournal(snapshotStorage);
+            loanBookStorage = snapshotStorage;
+        } else {
+            loanBookStorage = new JournaledLoanBookStorage(snapshotStorage, userPrefs.getJournalCompactionThreshold());
+        }
+        storage = new StorageManager(new AsyncLoanBookStorage(loanBookStorage), userPrefsStorage);
 
         model = initModelManager(storage, userPrefs);
 
@@ -67,10 +84,64 @@ public class MainApp extends Application {
         ui = new UiManager(logic);
     }
 
+    /**
+     * Returns the storage for loan book snapshots in the format chosen in {@code userPrefs}.
+     * A loan book saved in another format is converted to the chosen one first.
+     */
+    private LoanBookStorage initSnapshotStorage(ReadOnlyUserPrefs userPrefs) {
+        Path jsonFilePath = userPrefs.getLoanBookFilePath();
+        Path gzipFilePath = JsonLoanBookStorage.getGzipFilePath(jsonFilePath);
+        int backupCount = JsonLoanBookStorage.DEFAULT_BACKUP_COUNT;
+        boolean isCompact = userPrefs.isCompactLoanBookFile();
+        Map<LoanBookFileFormat, LoanBookStorage> storages = new EnumMap<>(LoanBookFileFormat.class);
+        storages.put(LoanBookFileFormat.JSON, new JsonLoanBookStorage(jsonFilePath, backupCount, isCompact));
+        storages.put(LoanBookFileFormat.JSON_GZIP, new JsonLoanBookStorage(gzipFilePath, backupCount, isCompact));
+        storages.put(LoanBookFileFormat.BINARY,
+                new BinaryLoanBookStorage(BinaryLoanBookStorage.getBinaryFilePath(jsonFilePath)));
+        storages.put(LoanBookFileFormat.SEGMENTED,
+                new SegmentedLoanBookStorage(SegmentedLoanBookStorage.getManifestFilePath(jsonFilePath)));
+
+        LoanBookStorage snapshotStorage = storages.remove(userPrefs.getLoanBookFileFormat());
+        for (LoanBookStorage otherStorage : storages.values()) {
+            try {
+                if (LoanBookFileConverter.convert(new JournaledLoanBookStorage(otherStorage, 0), snapshotStorage)) {
+                    break;
+                }
+            } catch (DataLoadingException | IOException e) {
+                logger.warning("Data file at " + otherStorage.getLoanBookFilePath() + " could not be converted to "
+                        + snapshotStorage.getLoanBookFilePath() + ": " + StringUtil.getDetails(e));
+            }
+        }
+        return snapshotStorage;
+    }
+
+    /**
+     * Writes the changes in a journal left next to {@code snapshotStorage}'s file, e.g. by an older version that
+     * journaled every format, into that file, as {@code snapshotStorage} is used without a journal from now on.
+     */
+    private void foldJournal(LoanBookStorage snapshotStorage) {
+        Path filePath = snapshotStorage.getLoanBookFilePath();
+        if (!FileUtil.isFileExists(JournaledLoanBookStorage.getJournalFilePath(filePath))) {
+            return;
+        }
+
+        JournaledLoanBookStorage journaledStorage = new JournaledLoanBookStorage(snapshotStorage, 0);
+        try {
+            Optional<ReadOnlyLoanBook> loanBook = journaledStorage.readLoanBook();
+            if (loanBook.isPresent()) {
+                journaledStorage.saveLoanBook(loanBook.get());
+            }
+        } catch (DataLoadingException | IOException e) {
+            logger.warning("Journal of " + filePath + " could not be written into it: " + StringUtil.getDetails(e));
+        }
+    }
+
     /**
      * Returns a {@code ModelManager} with the data from {@code storage}'s loan book and {@code userPrefs}. <br>
-     * The data from the sample loan book will be used instead if {@code storage}'s loan book is not found,
-     * or an empty loan book will be used instead if errors occur when reading {@code storage}'s loan book.
+     * The data from the sample loan book will be used instead if {@code storage}'s loan book is not found.
+     * If errors occur when reading {@code storage}'s loan book, the loans that can still be read from it will be
+     * used instead. If there are none, the data from its newest readable backup will be used, or an empty loan book
+     * if there is none.
      */
     private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs) {
         logger.info("Using data file : " + storage.getLoanBookFilePath());
@@ -85,14 +156,50 @@ public class MainApp extends Application {
             }
             initialData = loanBookOptional.orElseGet(SampleDataUtil::getSampleLoanBook);
         } catch (DataLoadingException e) {
-            logger.warning("Data file at " + storage.getLoanBookFilePath() + " could not be loaded."
-                    + " Will be starting with an empty LoanBook.");
-            initialData = new LoanBook();
+            logger.warning("Data file at " + storage.getLoanBookFilePath() + " could not be loaded.");
+            initialData = recoverLoanBook(storage).or(() -> readLoanBookBackup(storage)).orElseGet(() -> {
+                logger.warning("Will be starting with an empty LoanBook.");
+                return new LoanBook();
+            });
         }
 
         return new ModelManager(initialData, userPrefs);
     }
 
+    /**
+     * Returns the loans that can still be read from {@code storage}'s loan book, if any.
+     */
+    private Optional<ReadOnlyLoanBook> recoverLoanBook(Storage storage) {
+        try {
+            Optional<ReadOnlyLoanBook> recovered = storage.recoverLoanBook()
+                    .filter(loanBook -> !loanBook.getPersonList().isEmpty());
+            recovered.ifPresent(loanBook -> logger.warning("Will be starting with the "
+                    + loanBook.getPersonList().size() + " loans recovered from " + storage.getLoanBookFilePath()));
+            return recovered;
+        } catch (DataLoadingException e) {
+            logger.warning("Data file at " + storage.getLoanBookFilePath() + " could not be recovered either.");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the data from the newest backup of {@code storage}'s loan book that can be loaded, if any.
+     */
+    private Optional<ReadOnlyLoanBook> readLoanBookBackup(Storage storage) {
+        for (Path backupFilePath : storage.getLoanBookBackupFilePaths()) {
+            try {
+                Optional<ReadOnlyLoanBook> backup = storage.readLoanBook(backupFilePath);
+                if (backup.isPresent()) {
+                    logger.warning("Will be starting with the LoanBook backed up at " + backupFilePath);
+                    return backup;
+                }
+            } catch (DataLoadingException e) {
+                logger.warning("Backup file at " + backupFilePath + " could not be loaded either.");
+            }
+        }
+        return Optional.empty();
+    }
+
     private void initLogging(Config config) {
         LogsCenter.init(config);
     }
@@ -177,6 +284,11 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         logger.info("============================ [ Stopping LoanBook ] =============================");
+        try {
+            storage.flush();
+        } catch (IOException e) {
+            logger.severe("Failed to save loan book " + StringUtil.getDetails(e));
+        }
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
@@ -1,32 +1,143 @@
 package wanted.commons.core.datatypes;
 
+import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+
 /**
- * Represents a date.
+ * Represents a calendar date in the {@code YYYY-MM-DD} format.
+ * Guarantees: immutable; is valid as declared in {@link #isValidDate(String)}
  * <p>
- * In the current implementation, a date is simply stored as a String,
- * but it should be modified in the future so that it can:
- * - reject invalid dates
- * - convert to String in a specific format
- * - calculate the difference of two dates
- * etc.
+ * A date is stored as the number of days since 1970-01-01 (its epoch day), so that comparing dates and
+ * computing the difference of two dates are plain integer operations.
+ * The {@code String} representation is computed on first use and cached.
  */
-public class Date {
-    private final String date;
+public class Date implements Comparable<Date> {
+
+    public static final String MESSAGE_CONSTRAINTS = "Dates should be valid calendar dates in the format YYYY-MM-DD";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final int NOT_A_DATE = Integer.MIN_VALUE;
+
+    private final int epochDay;
+    private String date; // lazily formatted from epochDay
 
     /**
      * Constructs a {@code Date} with the given date.
      *
-     * @param date The string representation of the date.
+     * @param date A valid date in the {@code YYYY-MM-DD} format.
      */
     public Date(String date) {
+        requireNonNull(date);
+        int parsedEpochDay = parseEpochDay(date);
+        checkArgument(parsedEpochDay != NOT_A_DATE, MESSAGE_CONSTRAINTS);
+        this.epochDay = parsedEpochDay;
         this.date = date;
     }
 
+    private Date(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Returns the {@code Date} that is {@code epochDay} days after 1970-01-01.
+     */
+    public static Date fromEpochDay(int epochDay) {
+        return new Date(epochDay);
+    }
+
+    /**
+     * Returns true if a given string is a valid date in the {@code YYYY-MM-DD} format.
+     */
+    public static boolean isValidDate(String test) {
+        requireNonNull(test);
+        return parseEpochDay(test) != NOT_A_DATE;
+    }
+
+    /**
+     * Returns the epoch day of the given date string, or {@code NOT_A_DATE} if it is not a valid date.
+     * The common {@code YYYY-MM-DD} shape is parsed by hand; anything else goes through the strict formatter,
+     * which rejects it unless it is an extended year such as {@code +10000-01-01}. Extended years whose epoch day
+     * does not fit in an {@code int} are not valid dates.
+     */
+    private static int parseEpochDay(String date) {
+        if (date.length() == 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+            int year = parseDigits(date, 0, 4);
+            int month = parseDigits(date, 5, 7);
+            int day = parseDigits(date, 8, 10);
+            if (year < 0 || month < 1 || month > 12 || day < 1
+                    || day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+                return NOT_A_DATE;
+            }
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        }
+
+        try {
+            return Math.toIntExact(LocalDate.parse(date, DATE_FORMATTER).toEpochDay());
+        } catch (DateTimeException | ArithmeticException e) {
+            return NOT_A_DATE;
+        }
+    }
+
+    /**
+     * Returns the non-negative number formed by the digits of {@code s} in {@code [from, to)},
+     * or -1 if any of those characters is not an ASCII digit.
+     */
+    private static int parseDigits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
     /**
      * Returns the stored date.
      */
     public String getDate() {
-        return this.date;
+        if (date == null) {
+            date = LocalDate.ofEpochDay(epochDay).format(DATE_FORMATTER);
+        }
+        return date;
+    }
+
+    /**
+     * Returns the number of days from 1970-01-01 to this date.
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns the number of days from this date to {@code other},
+     * which is negative if {@code other} is before this date.
+     */
+    public int daysBetween(Date other) {
+        requireNonNull(other);
+        return other.epochDay - epochDay;
+    }
+
+    /**
+     * Returns true if this date is between {@code start} and {@code end}, inclusive.
+     */
+    public boolean isWithin(Date start, Date end) {
+        requireNonNull(start);
+        requireNonNull(end);
+        return start.epochDay <= epochDay && epochDay <= end.epochDay;
+    }
+
+    @Override
+    public int compareTo(Date other) {
+        return Integer.compare(epochDay, other.epochDay);
     }
 
     @Override
@@ -41,16 +152,14 @@ public class Date {
         }
 
         Date otherDate = (Date) other;
-        return this.date.equals(otherDate.date);
+        return this.epochDay == otherDate.epochDay;
     }
 
-    /*
     @Override
-    public String toString() {
-        return new ToStringBuilder(this).add("date", date).toString();
+    public int hashCode() {
+        return Integer.hashCode(epochDay);
     }
 
-     */
     @Override
     public String toString() {
         return getDate();
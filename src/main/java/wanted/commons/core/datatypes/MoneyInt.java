@@ -9,24 +9,40 @@ import wanted.commons.util.ToStringBuilder;
  * <p>
  * {@code MoneyInt} is to be used for storing the exact value of some quantity regarding money,
  * assuming that the smallest unit of money is 1/100.
+ * <p>
+ * Values are kept as {@code long} cents. Small values are shared flyweights, so they can be created freely
+ * without allocating.
  */
 public class MoneyInt implements Comparable<MoneyInt> {
-    private final int valueTimesOneHundred; // 100 times the original value, which is an integer
+    public static final long MAX_DOLLAR = Long.MAX_VALUE / 100 - 1;
+
+    private static final int CACHE_SIZE = 10_001; // $0.00 to $100.00
+    private static final MoneyInt[] CACHE = new MoneyInt[CACHE_SIZE];
+
+    static {
+        for (int cent = 0; cent < CACHE_SIZE; cent++) {
+            CACHE[cent] = new MoneyInt(cent);
+        }
+    }
+
+    public static final MoneyInt ZERO = CACHE[0];
+
+    private final long valueTimesOneHundred; // 100 times the original value, which is an integer
 
     /**
      * Private constructor.
      * <p>
-     * MoneyInt can only be created by calling {@link MoneyInt#fromDollarAndCent(int, int)}.
+     * MoneyInt can only be created by calling {@link MoneyInt#fromDollarAndCent(long, int)}.
      */
-    private MoneyInt(int valueTimesOneHundred) {
+    private MoneyInt(long valueTimesOneHundred) {
         assert valueTimesOneHundred >= 0;
         this.valueTimesOneHundred = valueTimesOneHundred;
     }
 
     /**
-     * Returns the original value times one-hundred as {@code int}.
+     * Returns the original value times one-hundred as {@code long}.
      */
-    public int getValueTimesOneHundred() {
+    public long getValueTimesOneHundred() {
         return valueTimesOneHundred;
     }
 
@@ -35,8 +51,8 @@ public class MoneyInt implements Comparable<MoneyInt> {
      * with exactly two digits after the decimal point.
      */
     public String getStringRepresentationWithFixedDecimalPoint() {
-        int beforeDecimalPoint = valueTimesOneHundred / 100;
-        int afterDecimalPoint = valueTimesOneHundred % 100;
+        long beforeDecimalPoint = valueTimesOneHundred / 100;
+        long afterDecimalPoint = valueTimesOneHundred % 100;
         return String.format("%d.%02d", beforeDecimalPoint, afterDecimalPoint);
     }
 
@@ -45,16 +61,17 @@ public class MoneyInt implements Comparable<MoneyInt> {
      * That is, creates a new {@code MoneyInt} with the value equal to {@code dollar} + {@code cent} * 0.01.
      *
      * @throws IllegalValueException if either of the following conditions is not satisfied:
-     *     - {@code dollar} is a non-negative integer
+     *     - {@code dollar} is a non-negative integer not exceeding {@link #MAX_DOLLAR}
      *     - {@code cent} is a non-negative integer between 0 and 99, inclusive.
      */
 
-    public static MoneyInt fromDollarAndCent(int dollar, int cent) throws IllegalArgumentException {
+    public static MoneyInt fromDollarAndCent(long dollar, int cent) throws IllegalArgumentException {
         AppUtil.checkArgument(dollar >= 0, "The dollar value cannot be negative");
+        AppUtil.checkArgument(dollar <= MAX_DOLLAR, "The dollar value is too large");
         AppUtil.checkArgument(cent >= 0, "The cent value cannot be negative");
         AppUtil.checkArgument(cent <= 99, "The cent value cannot exceed 99");
 
-        return new MoneyInt(dollar * 100 + cent);
+        return fromCent(dollar * 100 + cent);
     }
 
     /**
@@ -65,10 +82,29 @@ public class MoneyInt implements Comparable<MoneyInt> {
      *     - {@code cent} is a non-negative integer.
      */
 
-    public static MoneyInt fromCent(int cent) throws IllegalArgumentException {
+    public static MoneyInt fromCent(long cent) throws IllegalArgumentException {
         AppUtil.checkArgument(cent >= 0, "The cent value cannot be negative");
 
-        return new MoneyInt(cent);
+        return cent < CACHE_SIZE ? CACHE[(int) cent] : new MoneyInt(cent);
+    }
+
+    /**
+     * Returns a {@code MoneyInt} holding the sum of this value and {@code other}.
+     *
+     * @throws ArithmeticException if the sum does not fit in a {@code long} number of cents.
+     */
+    public MoneyInt plus(MoneyInt other) {
+        return fromCent(Math.addExact(valueTimesOneHundred, other.valueTimesOneHundred));
+    }
+
+    /**
+     * Returns a {@code MoneyInt} holding this value minus {@code other}.
+     *
+     * @throws IllegalArgumentException if {@code other} is greater than this value.
+     */
+    public MoneyInt minus(MoneyInt other) {
+        AppUtil.checkArgument(valueTimesOneHundred >= other.valueTimesOneHundred, "The result cannot be negative");
+        return fromCent(valueTimesOneHundred - other.valueTimesOneHundred);
     }
 
     @Override
@@ -86,6 +122,11 @@ public class MoneyInt implements Comparable<MoneyInt> {
         return valueTimesOneHundred == otherMoneyInt.valueTimesOneHundred;
     }
 
+    @Override
+    public int hashCode() {
+        return Long.hashCode(valueTimesOneHundred);
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this).add("valueTimesOneHundred", valueTimesOneHundred).toString();
@@ -93,6 +134,6 @@ public class MoneyInt implements Comparable<MoneyInt> {
 
     @Override
     public int compareTo(MoneyInt other) {
-        return this.valueTimesOneHundred - other.valueTimesOneHundred;
+        return Long.compare(this.valueTimesOneHundred, other.valueTimesOneHundred);
     }
 }
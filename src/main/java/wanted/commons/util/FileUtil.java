@@ -1,10 +1,20 @@
 package wanted.commons.util;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Writes and reads files
@@ -12,6 +22,9 @@ import java.nio.file.Paths;
 public class FileUtil {
 
     private static final String CHARSET = "UTF-8";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final String BACKUP_FILE_EXTENSION = ".bak";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
 
     public static boolean isFileExists(Path file) {
         return Files.exists(file) && Files.isRegularFile(file);
@@ -75,9 +88,150 @@ public class FileUtil {
     /**
      * Writes given string to a file.
      * Will create the file if it does not exist yet.
+     * <p>
+     * The content is first written to a temporary file next to {@code file} and forced to the disk, which then
+     * atomically replaces {@code file}. A crash during the write thus leaves either the old or the new content
+     * in {@code file}, never a mix of both.
      */
     public static void writeToFile(Path file, String content) throws IOException {
-        Files.write(file, content.getBytes(CHARSET));
+        byte[] bytes = content.getBytes(CHARSET);
+        writeToFile(file, out -> out.write(bytes));
+    }
+
+    /**
+     * Writes the content produced by {@code contentWriter} to a file, streaming it through a buffer instead of
+     * holding all of it in memory. Will create the file if it does not exist yet.
+     * Like {@link #writeToFile(Path, String)}, {@code file} is replaced atomically once all content is written.
+     * If writing fails, the temporary file is deleted and {@code file} is left as it was.
+     */
+    public static void writeToFile(Path file, ContentWriter contentWriter) throws IOException {
+        Path tempFile = getTempFilePath(file);
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+                contentWriter.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException deleteException) {
+                e.addSuppressed(deleteException);
+            }
+            throw e;
+        }
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Returns the path of the temporary file that {@link #writeToFile(Path, String)} uses for {@code file}.
+     */
+    public static Path getTempFilePath(Path file) {
+        return file.resolveSibling(file.getFileName() + TEMP_FILE_EXTENSION);
+    }
+
+    /**
+     * Forces the entries of {@code directory} to the disk, so that a file moved into it survives a crash.
+     * Does nothing on platforms that cannot open directories, such as Windows.
+     */
+    private static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The move itself has succeeded; it is only less certain to survive a crash
+        }
+    }
+
+    /**
+     * Returns the path of the backup of {@code file} from {@code generation} rotations ago, starting from 1.
+     */
+    public static Path getBackupFilePath(Path file, int generation) {
+        assert generation >= 1;
+        return file.resolveSibling(file.getFileName() + BACKUP_FILE_EXTENSION + generation);
+    }
+
+    /**
+     * Returns the backups of {@code file} that exist, out of the newest {@code backupCount}, newest first.
+     */
+    public static List<Path> getBackupFilePaths(Path file, int backupCount) {
+        List<Path> backups = new ArrayList<>();
+        for (int generation = 1; generation <= backupCount; generation++) {
+            Path backup = getBackupFilePath(file, generation);
+            if (isFileExists(backup)) {
+                backups.add(backup);
+            }
+        }
+        return backups;
+    }
+
+    /**
+     * Shifts each backup of {@code file} one generation back, dropping those beyond {@code backupCount}, and makes
+     * the current file the newest backup. The current file stays in place, so that it can then be replaced with
+     * {@link #writeToFile}. Does nothing if {@code file} does not exist or {@code backupCount} is 0.
+     */
+    public static void rotateBackups(Path file, int backupCount) throws IOException {
+        if (backupCount == 0 || !isFileExists(file)) {
+            return;
+        }
+
+        Files.deleteIfExists(getBackupFilePath(file, backupCount));
+        for (int generation = backupCount - 1; generation >= 1; generation--) {
+            Path backup = getBackupFilePath(file, generation);
+            if (Files.exists(backup)) {
+                Files.move(backup, getBackupFilePath(file, generation + 1));
+            }
+        }
+
+        // writeToFile replaces file with a new file, so a hard link keeps the old content without copying it
+        Path newestBackup = getBackupFilePath(file, 1);
+        try {
+            Files.createLink(newestBackup, file);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(file, newestBackup);
+        }
+    }
+
+    /**
+     * Appends given string to the end of a file.
+     * Will create the file if it does not exist yet.
+     * <p>
+     * Like {@link #writeToFile(Path, String)}, the content is forced to the disk before this returns, so that it
+     * survives a crash.
+     */
+    public static void appendToFile(Path file, String content) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(content.getBytes(CHARSET));
+        boolean isNewFile = !Files.exists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+        if (isNewFile) {
+            forceDirectory(file.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Writes the content of a file to a stream.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the content to {@code out}, without closing it.
+         */
+        void writeTo(OutputStream out) throws IOException;
     }
 
 }
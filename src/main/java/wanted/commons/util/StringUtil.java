@@ -25,11 +25,8 @@ public class StringUtil {
      */
     public static boolean containsWordIgnoreCase(String sentence, String word) {
         requireNonNull(sentence);
-        requireNonNull(word);
 
-        String preppedWord = word.trim();
-        checkArgument(!preppedWord.isEmpty(), "Word parameter cannot be empty");
-        checkArgument(preppedWord.split("\\s+").length == 1, "Word parameter should be a single word");
+        String preppedWord = toWord(word);
 
         String preppedSentence = sentence;
         String[] wordsInPreppedSentence = preppedSentence.split("\\s+");
@@ -38,6 +35,71 @@ public class StringUtil {
                 .anyMatch(preppedWord::equalsIgnoreCase);
     }
 
+    /**
+     * Returns {@code word} without leading and trailing whitespace, as it is looked for by
+     * {@link #containsWordIgnoreCase(String, String)}.
+     *
+     * @param word cannot be null, cannot be empty, must be a single word
+     * @throws IllegalArgumentException if {@code word} is empty or is more than one word.
+     */
+    public static String toWord(String word) {
+        requireNonNull(word);
+
+        String preppedWord = word.trim();
+        checkArgument(!preppedWord.isEmpty(), "Word parameter cannot be empty");
+        checkArgument(preppedWord.chars().noneMatch(StringUtil::isRegexWhitespace),
+                "Word parameter should be a single word");
+        return preppedWord;
+    }
+
+    /**
+     * Returns {@code s} with each character case-folded the way {@link String#equalsIgnoreCase(String)} compares
+     * them, so that two strings are equal ignoring case exactly when their case-folded forms are equal.
+     */
+    public static String foldCase(String s) {
+        requireNonNull(s);
+
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the edit distance between {@code s} and {@code t}, i.e. the fewest characters that must be inserted,
+     * deleted or replaced to turn one into the other.
+     */
+    public static int getEditDistance(String s, String t) {
+        requireNonNull(s);
+        requireNonNull(t);
+
+        // previous[j] and current[j] are the distances from the first i - 1 and i characters of s to the first j of t
+        int[] previous = new int[t.length() + 1];
+        int[] current = new int[t.length() + 1];
+        for (int j = 0; j <= t.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= s.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= t.length(); j++) {
+                int replaceCost = s.charAt(i - 1) == t.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(previous[j - 1] + replaceCost, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[t.length()];
+    }
+
+    /**
+     * Returns true if {@code c} is matched by {@code \s} in a regular expression.
+     */
+    private static boolean isRegexWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     /**
      * Returns a detailed message of the t, including the stack trace.
      */
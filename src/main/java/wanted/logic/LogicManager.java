@@ -33,6 +33,11 @@ public class LogicManager implements Logic {
     private final Storage storage;
     private final LoanBookParser loanBookParser;
 
+    // Modification count of the loan book when it was last saved, or -1 if it has not been saved by this session
+    // or the last save failed
+    private long savedModificationCount = -1;
+    private int skippedSaveCount;
+
     /**
      * Constructs a {@code LogicManager} with the given {@code Model} and {@code Storage}.
      */
@@ -50,6 +55,16 @@ public class LogicManager implements Logic {
         Command command = loanBookParser.parseCommand(commandText);
         commandResult = command.execute(model);
 
+        // A save may still fail after the storage accepted it, so one that failed is reported and retried even if
+        // nothing changed since
+        long modificationCount = model.getLoanBookModificationCount();
+        if (modificationCount == savedModificationCount && !storage.hasPendingFailure()) {
+            skippedSaveCount++;
+            logger.fine("Loan book unchanged, skipped saving (" + skippedSaveCount + " saves skipped so far)");
+            return commandResult;
+        }
+
+        savedModificationCount = -1;
         try {
             storage.saveLoanBook(model.getLoanBook());
         } catch (AccessDeniedException e) {
@@ -57,10 +72,18 @@ public class LogicManager implements Logic {
         } catch (IOException ioe) {
             throw new CommandException(String.format(FILE_OPS_ERROR_FORMAT, ioe.getMessage()), ioe);
         }
+        savedModificationCount = modificationCount;
 
         return commandResult;
     }
 
+    /**
+     * Returns the number of commands after which saving was skipped because the loan book was unchanged.
+     */
+    public int getSkippedSaveCount() {
+        return skippedSaveCount;
+    }
+
     @Override
     public ReadOnlyLoanBook getLoanBook() {
         return model.getLoanBook();
@@ -20,6 +20,8 @@ public class Messages {
     public static final String MESSAGE_EXCESS_REPAYMENT_IN_HISTORY =
             "Invalid transaction update: This update would result in a negative remaining loan balance "
                     + "at some point in the history.";
+    public static final String MESSAGE_AMOUNT_TOO_LARGE =
+            "The total amount loaned would be too large.";
     public static final String MESSAGE_PERSONS_LISTED_OVERVIEW = "%1$d persons listed!";
     public static final String MESSAGE_PERSONS_FOUND_OVERVIEW = "%1$d persons found!";
     public static final String MESSAGE_DUPLICATE_FIELDS =
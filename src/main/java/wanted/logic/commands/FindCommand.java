@@ -1,23 +1,25 @@
 package wanted.logic.commands;
 
 import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
+import static wanted.logic.parser.CliSyntax.PREFIX_TYPOS;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.HashMap;
+import java.util.Map;
 
-import javafx.collections.ObservableList;
+import wanted.commons.util.StringUtil;
 import wanted.logic.Messages;
 import wanted.logic.commands.exceptions.CommandException;
 import wanted.model.LoanBook;
 import wanted.model.Model;
-import wanted.model.loan.Loan;
+import wanted.model.loan.Name;
 import wanted.model.loan.NameContainsKeywordsPredicate;
 
 /**
  * Finds and lists all persons in loan book whose name contains any of the argument keywords.
  * Keyword matching is case insensitive.
+ * The matches are shown first by ranking the displayed list; the loan book itself is not reordered.
+ * Names with a word that is a few typos away from a keyword can be found as well.
  */
 public class FindCommand extends Command {
 
@@ -26,16 +28,26 @@ public class FindCommand extends Command {
     public static final String COMMAND_WORD = "find";
     public static final String MESSAGE_SUCCESS = "Loan(s) found";
 
+    /** The most typos, counted as edits, allowed between a keyword and a word of a name. */
+    public static final int MAX_EDIT_DISTANCE = 3;
+    public static final String MESSAGE_INVALID_EDIT_DISTANCE =
+            "The number of typos allowed should be a number from 0 to " + MAX_EDIT_DISTANCE;
+
     public static final String MESSAGE_USAGE = COMMAND_WORD
             + ": Finds all persons whose names contain any specified keywords (case-insensitive).\n"
             + "Wanted list will be sorted with matches to the keywords (both fully and partially) at the top\n"
             + "Output message will indicate the number of names that fully match keyword entered. \n"
+            + "With " + PREFIX_TYPOS + ", names with a word up to TYPOS typos away from a keyword are found instead, "
+            + "and the output message will indicate the number of them.\n"
             + "Parameters:\n"
             + "    [KEYWORD]\n"
             + "    ([MORE KEYWORDS]...)\n"
-            + "Example: " + COMMAND_WORD + " alice bob charlie";
+            + "    [" + PREFIX_TYPOS + "TYPOS]\n"
+            + "Example: " + COMMAND_WORD + " alice bob charlie\n"
+            + "Example: " + COMMAND_WORD + " alcie " + PREFIX_TYPOS + "2";
 
     private final NameContainsKeywordsPredicate predicate;
+    private final int maxEditDistance; // 0 unless names with typos are to be found
 
     /**
      * Constructs a {@code FindCommand} with the specified name-matching predicate.
@@ -44,8 +56,19 @@ public class FindCommand extends Command {
      *                  Must not be null.
      */
     public FindCommand(NameContainsKeywordsPredicate predicate) {
+        this(predicate, 0);
+    }
+
+    /**
+     * Constructs a {@code FindCommand} that finds the names with a word within {@code maxEditDistance} edits of
+     * any of the keywords of {@code predicate}, or, if {@code maxEditDistance} is 0, that finds names as
+     * {@link #FindCommand(NameContainsKeywordsPredicate)} does.
+     */
+    public FindCommand(NameContainsKeywordsPredicate predicate, int maxEditDistance) {
         requireNonNull(predicate);
+        checkArgument(maxEditDistance >= 0 && maxEditDistance <= MAX_EDIT_DISTANCE, MESSAGE_INVALID_EDIT_DISTANCE);
         this.predicate = predicate;
+        this.maxEditDistance = maxEditDistance;
     }
 
     @Override
@@ -53,24 +76,13 @@ public class FindCommand extends Command {
         requireNonNull(model);
 
         LoanBook loanBook = (LoanBook) model.getLoanBook();
-        ObservableList<Loan> originalList = loanBook.getPersonList();
-        List<Loan> sortedList = IntStream.range(0, originalList.size())
-                .mapToObj(i -> new IndexedLoan(originalList.get(i), i))
-                .sorted(Comparator
-                        .comparingInt((IndexedLoan il) -> getMatchScore(il.loan))
-                        .reversed()
-                        .thenComparing(il -> il.index))
-                .map(il -> il.loan)
-                .collect(Collectors.toList());
-
-        assert sortedList.size() == originalList.size() : "New list must include all original items";
-
-        loanBook.setPersons(sortedList);
-
-        // TO find number of matches found
-        long matchCount = sortedList.stream()
-                        .filter(predicate)
-                        .count();
+        Map<Name, Integer> matchScores = maxEditDistance > 0 ? getFuzzyMatchScores(loanBook) : getMatchScores(loanBook);
+        model.updateRankedPersonList(loan -> matchScores.getOrDefault(loan.getName(), 0));
+
+        // Without typos, only names with a keyword as a word count; those contain it as a substring, so are matches
+        long matchCount = maxEditDistance > 0 ? matchScores.size() : matchScores.keySet().stream()
+                .filter(predicate::testName)
+                .count();
         return new CommandResult(
                 String.format(Messages.MESSAGE_PERSONS_FOUND_OVERVIEW, matchCount));
     }
@@ -79,26 +91,38 @@ public class FindCommand extends Command {
     public boolean equals(Object other) {
         return other == this
                 || (other instanceof FindCommand
-                && predicate.equals(((FindCommand) other).predicate));
+                && predicate.equals(((FindCommand) other).predicate)
+                && maxEditDistance == ((FindCommand) other).maxEditDistance);
     }
 
     /**
-     * Returns how many keywords are found in the loan's full name (case-insensitive).
+     * Returns how many keywords are found in the full name (case-insensitive) of each loan with at least one.
+     * Only the loans found by the loan book's name index are scored.
      */
-    private int getMatchScore(Loan loan) {
-        String lowerName = loan.getName().fullName.toLowerCase();
-        return (int) predicate.keywords().stream()
-                .filter(keyword -> lowerName.contains(keyword.toLowerCase()))
-                .count();
+    private Map<Name, Integer> getMatchScores(LoanBook loanBook) {
+        Map<Name, Integer> matchScores = new HashMap<>();
+        for (String keyword : predicate.keywords()) {
+            for (Name name : loanBook.getNamesContaining(keyword)) {
+                matchScores.merge(name, 1, Integer::sum);
+            }
+        }
+        return matchScores;
     }
 
     /**
-     * Helper class to track original index for stable sorting
-     * Immutable data structure.
+     * Returns, for each loan with a word within {@code maxEditDistance} edits of at least one keyword, how close
+     * its words are to the keywords: each keyword adds one more than the number of edits to spare. Only the loans
+     * found by the loan book's fuzzy name index are scored.
+     *
+     * @throws IllegalArgumentException if a keyword is empty or is more than one word.
      */
-    private record IndexedLoan(Loan loan, int index) {
-        private IndexedLoan {
-            requireNonNull(loan);
+    private Map<Name, Integer> getFuzzyMatchScores(LoanBook loanBook) {
+        Map<Name, Integer> matchScores = new HashMap<>();
+        for (String keyword : predicate.keywords()) {
+            String foldedKeyword = StringUtil.foldCase(StringUtil.toWord(keyword));
+            loanBook.getNamesWithWordWithin(foldedKeyword, maxEditDistance).forEach((name, editDistance) ->
+                    matchScores.merge(name, maxEditDistance + 1 - editDistance, Integer::sum));
         }
+        return matchScores;
     }
 }
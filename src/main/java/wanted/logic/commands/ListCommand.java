@@ -29,7 +29,8 @@ public class ListCommand extends Command {
         Comparator<Loan> comparator =
                 Comparator.nullsLast(Comparator.comparing(l -> l.getName().toString().toLowerCase()));
         List<Loan> sortedList = oldList.sorted(comparator);
-        loanBook.setPersons(sortedList);
+        loanBook.reorderPersons(sortedList);
+        model.updateRankedPersonList(null);
         return new CommandResult(String.format(MESSAGE_SUCCESS));
     }
 }
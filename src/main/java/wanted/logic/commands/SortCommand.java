@@ -21,10 +21,11 @@ public class SortCommand extends Command {
         LoanBook loanBook = (LoanBook) model.getLoanBook();
         ObservableList<Loan> oldList = loanBook.getPersonList();
         Comparator<Loan> comparator =
-                Comparator.nullsLast(Comparator.comparingInt(a -> (
+                Comparator.nullsLast(Comparator.comparingLong(a -> (
                         -a.getLoanAmount().getRemainingAmount().getValueTimesOneHundred())));
         List<Loan> sortedList = oldList.sorted(comparator);
-        loanBook.setPersons(sortedList);
+        loanBook.reorderPersons(sortedList);
+        model.updateRankedPersonList(null);
         return new CommandResult(String.format(MESSAGE_SUCCESS));
     }
 }
@@ -14,5 +14,6 @@ public class CliSyntax {
     public static final Prefix PREFIX_AMOUNT = new Prefix("l/");
     public static final Prefix PREFIX_DATE = new Prefix("d/");
     public static final Prefix PREFIX_INDEX = new Prefix("i/");
+    public static final Prefix PREFIX_TYPOS = new Prefix("f/");
 
 }
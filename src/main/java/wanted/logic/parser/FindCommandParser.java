@@ -1,6 +1,7 @@
 package wanted.logic.parser;
 
 import static wanted.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static wanted.logic.parser.CliSyntax.PREFIX_TYPOS;
 
 import java.util.Arrays;
 
@@ -23,15 +24,34 @@ public class FindCommandParser implements Parser<FindCommand> {
         if (!FindCommand.IS_ENABLED) {
             throw new ParseException(Messages.MESSAGE_COMMAND_DISABLED);
         }
-        String trimmedArgs = args.trim();
-        if (trimmedArgs.isEmpty()) {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_TYPOS);
+        String preamble = argMultimap.getPreamble();
+        if (preamble.isEmpty()) {
             throw new ParseException(
                     String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
         }
+        argMultimap.verifyNoDuplicatePrefixesFor(PREFIX_TYPOS);
 
-        String[] nameKeywords = trimmedArgs.split("\\s+");
+        String[] nameKeywords = preamble.split("\\s+");
+        NameContainsKeywordsPredicate predicate = new NameContainsKeywordsPredicate(Arrays.asList(nameKeywords));
+        if (argMultimap.getValue(PREFIX_TYPOS).isEmpty()) {
+            return new FindCommand(predicate);
+        }
+        return new FindCommand(predicate, parseMaxEditDistance(argMultimap.getValue(PREFIX_TYPOS).get()));
+    }
 
-        return new FindCommand(new NameContainsKeywordsPredicate(Arrays.asList(nameKeywords)));
+    /**
+     * Parses the number of typos allowed by {@code typos}.
+     * @throws ParseException if it is not a number from 0 to {@code FindCommand.MAX_EDIT_DISTANCE}.
+     */
+    private static int parseMaxEditDistance(String typos) throws ParseException {
+        String trimmedTypos = typos.trim();
+        // A single ASCII digit, so that no other form of number is accepted
+        if (trimmedTypos.length() != 1 || trimmedTypos.charAt(0) < '0'
+                || trimmedTypos.charAt(0) > '0' + FindCommand.MAX_EDIT_DISTANCE) {
+            throw new ParseException(FindCommand.MESSAGE_INVALID_EDIT_DISTANCE);
+        }
+        return trimmedTypos.charAt(0) - '0';
     }
 
 }
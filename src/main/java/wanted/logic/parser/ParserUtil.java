@@ -5,6 +5,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import wanted.commons.core.datatypes.Index;
 import wanted.commons.core.datatypes.MoneyInt;
@@ -26,6 +27,7 @@ public class ParserUtil {
     public static final String MESSAGE_INVALID_MONEY_AMOUNT =
             "Money amounts should only contain numbers, and it should adhere to the format {Dollars}.{Cents}";
     public static final String MONEY_AMOUNT_REGEX = "\\d+\\.\\d{2}";
+    private static final Pattern MONEY_AMOUNT_PATTERN = Pattern.compile(MONEY_AMOUNT_REGEX);
 
     /**
      * Parses {@code oneBasedIndex} into an {@code Index} and returns it. Leading and trailing whitespaces will be
@@ -49,11 +51,16 @@ public class ParserUtil {
     public static MoneyInt parseMoneyAmount(String amount) throws ParseException {
         requireNonNull(amount);
         String trimmedAmount = amount.trim();
-        if (!trimmedAmount.matches(MONEY_AMOUNT_REGEX)) {
+        if (!MONEY_AMOUNT_PATTERN.matcher(trimmedAmount).matches()) {
             throw new ParseException(MESSAGE_INVALID_MONEY_AMOUNT);
         }
         String[] args = trimmedAmount.split("\\.");
-        return MoneyInt.fromDollarAndCent(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        try {
+            return MoneyInt.fromDollarAndCent(Long.parseLong(args[0]), Integer.parseInt(args[1]));
+        } catch (IllegalArgumentException e) {
+            // the dollar value is too large
+            throw new ParseException(MESSAGE_INVALID_MONEY_AMOUNT);
+        }
     }
 
     /**
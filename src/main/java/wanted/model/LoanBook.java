@@ -3,19 +3,31 @@ package wanted.model;
 import static java.util.Objects.requireNonNull;
 
 import java.util.List;
+import java.util.Map;
 
 import javafx.collections.ObservableList;
 import wanted.commons.util.ToStringBuilder;
+import wanted.model.loan.FuzzyNameIndex;
 import wanted.model.loan.Loan;
+import wanted.model.loan.Name;
+import wanted.model.loan.NameTrigramIndex;
 import wanted.model.loan.UniqueLoanList;
 
 /**
  * Wraps all data at the loan book level
  * Duplicates are not allowed (by .isSamePerson comparison)
+ * <p>
+ * The names of the loans are also kept in a {@code NameTrigramIndex}, which every change to the loan list below
+ * keeps in sync, so that loans can be searched by name without scanning them all. Their words are kept in a
+ * {@code FuzzyNameIndex} the same way, once it is first searched; it is not built before then, as few loan books
+ * are ever searched with typos.
  */
 public class LoanBook implements ReadOnlyLoanBook {
 
     private final UniqueLoanList persons;
+    private final NameTrigramIndex nameIndex = new NameTrigramIndex();
+    private FuzzyNameIndex fuzzyNameIndex; // null until first searched
+    private long modificationCount; // incremented by every change to the loan list
 
     /*
      * The 'unusual' code block below is a non-static initialization block, sometimes used to avoid duplication
@@ -46,6 +58,37 @@ public class LoanBook implements ReadOnlyLoanBook {
      */
     public void setPersons(List<Loan> persons) {
         this.persons.setPersons(persons);
+        nameIndex.clear();
+        persons.forEach(person -> nameIndex.add(person.getName()));
+        fuzzyNameIndex = null;
+        modificationCount++;
+    }
+
+    /**
+     * Replaces the contents of the loan list with {@code reorderedPersons}.
+     * {@code reorderedPersons} must contain exactly the loans currently in the loan book, in any order.
+     * Reordering the loans into their current order does not count as a modification.
+     */
+    public void reorderPersons(List<Loan> reorderedPersons) {
+        requireNonNull(reorderedPersons);
+        if (isSameOrder(reorderedPersons)) {
+            return;
+        }
+        this.persons.reorderPersons(reorderedPersons);
+        modificationCount++;
+    }
+
+    private boolean isSameOrder(List<Loan> reorderedPersons) {
+        List<Loan> currentPersons = persons.asUnmodifiableObservableList();
+        if (reorderedPersons.size() != currentPersons.size()) {
+            return false;
+        }
+        for (int i = 0; i < currentPersons.size(); i++) {
+            if (reorderedPersons.get(i) != currentPersons.get(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -73,6 +116,8 @@ public class LoanBook implements ReadOnlyLoanBook {
      */
     public void addPerson(Loan p) {
         persons.add(p);
+        addToNameIndexes(p.getName());
+        modificationCount++;
     }
 
     /**
@@ -84,6 +129,11 @@ public class LoanBook implements ReadOnlyLoanBook {
         requireNonNull(editedPerson);
 
         persons.setPerson(target, editedPerson);
+        if (!target.getName().equals(editedPerson.getName())) {
+            removeFromNameIndexes(target.getName());
+            addToNameIndexes(editedPerson.getName());
+        }
+        modificationCount++;
     }
 
     /**
@@ -92,6 +142,49 @@ public class LoanBook implements ReadOnlyLoanBook {
      */
     public void removePerson(Loan key) {
         persons.remove(key);
+        removeFromNameIndexes(key.getName());
+        modificationCount++;
+    }
+
+    private void addToNameIndexes(Name name) {
+        nameIndex.add(name);
+        if (fuzzyNameIndex != null) {
+            fuzzyNameIndex.add(name);
+        }
+    }
+
+    private void removeFromNameIndexes(Name name) {
+        nameIndex.remove(name);
+        if (fuzzyNameIndex != null) {
+            fuzzyNameIndex.remove(name);
+        }
+    }
+
+    /**
+     * Returns the names of the loans that contain {@code substring}, ignoring case, in no particular order.
+     */
+    public List<Name> getNamesContaining(String substring) {
+        return nameIndex.findNamesContaining(substring);
+    }
+
+    /**
+     * Returns the names of the loans with a word within {@code maxEditDistance} edits of {@code foldedWord}, which
+     * is case-folded by {@code StringUtil#foldCase(String)}, each with the fewest edits to any of its words.
+     */
+    public Map<Name, Integer> getNamesWithWordWithin(String foldedWord, int maxEditDistance) {
+        if (fuzzyNameIndex == null) {
+            fuzzyNameIndex = new FuzzyNameIndex();
+            persons.forEach(person -> fuzzyNameIndex.add(person.getName()));
+        }
+        return fuzzyNameIndex.findNamesWithWordWithin(foldedWord, maxEditDistance);
+    }
+
+    /**
+     * Returns the number of modifications made to this loan book so far.
+     * The loan book is unchanged between two calls that return the same value.
+     */
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     //// util methods
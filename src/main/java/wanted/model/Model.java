@@ -2,6 +2,7 @@ package wanted.model;
 
 import java.nio.file.Path;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import javafx.collections.ObservableList;
 import wanted.commons.core.GuiSettings;
@@ -52,6 +53,12 @@ public interface Model {
     /** Returns the LoanBook */
     ReadOnlyLoanBook getLoanBook();
 
+    /**
+     * Returns a number that changes whenever the loan book is modified.
+     * Comparing it before and after an operation tells whether the loan book needs saving.
+     */
+    long getLoanBookModificationCount();
+
     /**
      * Returns true if a loan with the same identity as {@code loan} exists in the loan book.
      */
@@ -84,4 +91,12 @@ public interface Model {
      * @throws NullPointerException if {@code predicate} is null.
      */
     void updateFilteredPersonList(Predicate<Loan> predicate);
+
+    /**
+     * Updates the order of the filtered loan list to show the loans given a positive score by {@code scorer} first,
+     * from the highest score to the lowest, without changing the order of the loans in the loan book. Loans with the
+     * same score, and the loans without a positive score, keep their loan book order.
+     * A null {@code scorer} shows the loans in their loan book order.
+     */
+    void updateRankedPersonList(ToIntFunction<Loan> scorer);
 }
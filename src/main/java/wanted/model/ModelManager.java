@@ -5,6 +5,7 @@ import static wanted.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.nio.file.Path;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.logging.Logger;
 
 import javafx.collections.ObservableList;
@@ -15,6 +16,9 @@ import wanted.model.loan.Loan;
 
 /**
  * Represents the in-memory model of the loan book data.
+ * <p>
+ * The loans shown to the user are a view over the loan book, which is first filtered and then ranked, so that
+ * neither changes the loan book itself.
  */
 public class ModelManager implements Model {
     private static final Logger logger = LogsCenter.getLogger(ModelManager.class);
@@ -22,6 +26,7 @@ public class ModelManager implements Model {
     private final LoanBook loanBook;
     private final UserPrefs userPrefs;
     private final FilteredList<Loan> filteredPersons;
+    private final RankedList<Loan> rankedPersons;
 
     /**
      * Initializes a ModelManager with the given loanBook and userPrefs.
@@ -34,6 +39,7 @@ public class ModelManager implements Model {
         this.loanBook = new LoanBook(loanBook);
         this.userPrefs = new UserPrefs(userPrefs);
         filteredPersons = new FilteredList<>(this.loanBook.getPersonList());
+        rankedPersons = new RankedList<>(filteredPersons);
     }
 
     public ModelManager() {
@@ -87,6 +93,11 @@ public class ModelManager implements Model {
         return loanBook;
     }
 
+    @Override
+    public long getLoanBookModificationCount() {
+        return loanBook.getModificationCount();
+    }
+
     @Override
     public boolean hasPerson(Loan person) {
         requireNonNull(person);
@@ -102,6 +113,7 @@ public class ModelManager implements Model {
     public void addPerson(Loan person) {
         loanBook.addPerson(person);
         updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
+        updateRankedPersonList(null);
     }
 
     @Override
@@ -119,7 +131,7 @@ public class ModelManager implements Model {
      */
     @Override
     public ObservableList<Loan> getFilteredPersonList() {
-        return filteredPersons;
+        return rankedPersons;
     }
 
     @Override
@@ -128,6 +140,11 @@ public class ModelManager implements Model {
         filteredPersons.setPredicate(predicate);
     }
 
+    @Override
+    public void updateRankedPersonList(ToIntFunction<Loan> scorer) {
+        rankedPersons.setScorer(scorer);
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -142,7 +159,7 @@ public class ModelManager implements Model {
         ModelManager otherModelManager = (ModelManager) other;
         return loanBook.equals(otherModelManager.loanBook)
                 && userPrefs.equals(otherModelManager.userPrefs)
-                && filteredPersons.equals(otherModelManager.filteredPersons);
+                && rankedPersons.equals(otherModelManager.rankedPersons);
     }
 
 }
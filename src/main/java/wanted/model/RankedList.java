@@ -0,0 +1,293 @@
+package wanted.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * A view of an observable list that shows the elements with a positive score first, from the highest score to the
+ * lowest, followed by the rest of the elements. Elements with the same score, and the rest of the elements, keep
+ * their order in the source list. Without a scorer, the view shows the source list as it is.
+ * <p>
+ * Elements are only ranked once their position in the view is looked at. The scores are kept in a primitive array
+ * and the elements with a positive score in a binary heap, which gives up the next element in rank each time a
+ * further position is looked at. Showing the first {@code k} of {@code n} elements, {@code m} of which have a
+ * positive score, thus takes {@code O(n + k log m)} time rather than the {@code O(n log n)} of sorting them all,
+ * and the rest are ranked as they are scrolled to.
+ * <p>
+ * Changes to the source list are passed on as they are when there is no scorer. Otherwise, an element replaced by
+ * one with the same score keeps its rank, so only that element is scored and the change is passed on at its
+ * position. After any other change the elements are scored again and the whole view is reported as replaced. The
+ * elements reported as removed then follow the old view as far as it was ranked, and the rest of the matches are
+ * given in source order, so that reporting them does not rank elements that were never looked at.
+ */
+public class RankedList<E> extends TransformationList<E, E> {
+
+    private ToIntFunction<? super E> scorer;
+
+    // Only used while there is a scorer. Elements are referred to by their index in the source list.
+    private List<E> elements; // the source list as it was when scored
+    private int[] scores;
+    private int[] matchIndexes; // elements with a positive score, in increasing order
+    private int[] rankedIndexes; // elements with a positive score in rank; only the first rankedCount are known
+    private int[] rankedPositions; // position in the view of each ranked element, or -1
+    private int rankedCount;
+    private int[] heap; // elements with a positive score that are not ranked yet
+    private int heapSize;
+
+    /**
+     * Creates a view of {@code source} that shows it as it is until a scorer is set.
+     */
+    public RankedList(ObservableList<? extends E> source) {
+        super(source);
+    }
+
+    /**
+     * Ranks the elements by {@code scorer}, or shows them in their source order if it is null.
+     */
+    public void setScorer(ToIntFunction<? super E> scorer) {
+        List<E> removed = hasListeners() ? getShownElements() : null;
+        this.scorer = scorer;
+        score();
+        fireReplaced(removed);
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> c) {
+        if (scorer != null) {
+            if (!setSameScoreElement(c)) {
+                List<E> removed = hasListeners() ? getShownElements() : null;
+                score();
+                fireReplaced(removed);
+            }
+            return;
+        }
+
+        beginChange();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                // Reported as a replacement, with each element where it was before it was moved
+                List<E> removed = new ArrayList<>(c.getTo() - c.getFrom());
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    removed.add(c.getList().get(c.getPermutation(i)));
+                }
+                nextReplace(c.getFrom(), c.getTo(), removed);
+            } else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    nextUpdate(i);
+                }
+            } else {
+                if (c.wasRemoved()) {
+                    nextRemove(c.getFrom(), c.getRemoved());
+                }
+                if (c.wasAdded()) {
+                    nextAdd(c.getFrom(), c.getTo());
+                }
+            }
+        }
+        endChange();
+    }
+
+    @Override
+    public E get(int index) {
+        return scorer == null ? getSource().get(index) : elements.get(getSourceIndex(index));
+    }
+
+    @Override
+    public int size() {
+        return scorer == null ? getSource().size() : elements.size();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        Objects.checkIndex(index, size());
+        if (scorer == null) {
+            return index;
+        }
+        if (index >= matchIndexes.length) {
+            return getUnmatchedIndex(index - matchIndexes.length);
+        }
+
+        while (rankedCount <= index) {
+            rankNext();
+        }
+        return rankedIndexes[index];
+    }
+
+    @Override
+    public int getViewIndex(int index) {
+        Objects.checkIndex(index, size());
+        if (scorer == null) {
+            return index;
+        }
+        if (scores[index] <= 0) {
+            int matchesBefore = -Arrays.binarySearch(matchIndexes, index) - 1;
+            return matchIndexes.length + index - matchesBefore;
+        }
+
+        while (rankedPositions[index] < 0) {
+            rankNext();
+        }
+        return rankedPositions[index];
+    }
+
+    /**
+     * Passes on {@code c} at the position of the element it changes if it only replaces one element with another of
+     * the same score, which thus keeps its rank, and returns whether it did.
+     */
+    private boolean setSameScoreElement(ListChangeListener.Change<? extends E> c) {
+        if (!c.next() || !c.wasReplaced() || c.getRemovedSize() != 1 || c.getAddedSize() != 1) {
+            return false;
+        }
+        int index = c.getFrom();
+        E element = c.getList().get(index);
+        if (c.next()) {
+            return false;
+        }
+
+        // Elements without a positive score all rank by their position in the source list alone
+        int score = scorer.applyAsInt(element);
+        if (score != scores[index] && (score > 0 || scores[index] > 0)) {
+            return false;
+        }
+
+        E removed = elements.set(index, element);
+        scores[index] = score;
+        beginChange();
+        nextSet(getViewIndex(index), removed);
+        endChange();
+        return true;
+    }
+
+    /**
+     * Returns the elements in the view, except that the elements with a positive score that are not ranked yet are
+     * given in source order, so that none are ranked.
+     */
+    private List<E> getShownElements() {
+        if (scorer == null) {
+            return new ArrayList<>(getSource());
+        }
+
+        List<E> shown = new ArrayList<>(elements.size());
+        for (int i = 0; i < rankedCount; i++) {
+            shown.add(elements.get(rankedIndexes[i]));
+        }
+        for (int index : matchIndexes) {
+            if (rankedPositions[index] < 0) {
+                shown.add(elements.get(index));
+            }
+        }
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] <= 0) {
+                shown.add(elements.get(i));
+            }
+        }
+        return shown;
+    }
+
+    /**
+     * Scores the elements of the source list and puts those with a positive score in the heap.
+     */
+    private void score() {
+        if (scorer == null) {
+            elements = null;
+            scores = null;
+            matchIndexes = null;
+            rankedIndexes = null;
+            rankedPositions = null;
+            heap = null;
+            return;
+        }
+
+        elements = new ArrayList<>(getSource());
+        scores = new int[elements.size()];
+        int matchCount = 0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = scorer.applyAsInt(elements.get(i));
+            if (scores[i] > 0) {
+                matchCount++;
+            }
+        }
+
+        matchIndexes = new int[matchCount];
+        for (int i = 0, j = 0; j < matchCount; i++) {
+            if (scores[i] > 0) {
+                matchIndexes[j++] = i;
+            }
+        }
+        rankedIndexes = new int[matchCount];
+        rankedPositions = new int[scores.length];
+        Arrays.fill(rankedPositions, -1);
+        rankedCount = 0;
+        heap = matchIndexes.clone();
+        heapSize = matchCount;
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Returns the index in the source list of the {@code n}-th element without a positive score, counting from 0.
+     */
+    private int getUnmatchedIndex(int n) {
+        // matchIndexes[i] - i is the number of elements without a positive score before the i-th match
+        int low = 0;
+        int high = matchIndexes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (matchIndexes[middle] - middle <= n) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return n + low;
+    }
+
+    /**
+     * Takes the next element in rank out of the heap.
+     */
+    private void rankNext() {
+        int top = heap[0];
+        heap[0] = heap[--heapSize];
+        siftDown(0);
+        rankedPositions[top] = rankedCount;
+        rankedIndexes[rankedCount++] = top;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        int child = 2 * position + 1;
+        while (child < heapSize) {
+            if (child + 1 < heapSize && ranksBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!ranksBefore(heap[child], index)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+            child = 2 * position + 1;
+        }
+        heap[position] = index;
+    }
+
+    private boolean ranksBefore(int index, int otherIndex) {
+        return scores[index] > scores[otherIndex] || (scores[index] == scores[otherIndex] && index < otherIndex);
+    }
+
+    private void fireReplaced(List<E> removed) {
+        if (removed == null || (removed.isEmpty() && isEmpty())) {
+            return;
+        }
+        beginChange();
+        nextReplace(0, size(), removed);
+        endChange();
+    }
+}
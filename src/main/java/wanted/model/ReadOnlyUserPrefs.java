@@ -13,4 +13,10 @@ public interface ReadOnlyUserPrefs {
 
     Path getLoanBookFilePath();
 
+    int getJournalCompactionThreshold();
+
+    boolean isCompactLoanBookFile();
+
+    UserPrefs.LoanBookFileFormat getLoanBookFileFormat();
+
 }
@@ -1,6 +1,7 @@
 package wanted.model;
 
 import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -15,6 +16,9 @@ public class UserPrefs implements ReadOnlyUserPrefs {
 
     private GuiSettings guiSettings = new GuiSettings();
     private Path loanBookFilePath = Paths.get("data" , "loanbook.json");
+    private int journalCompactionThreshold = 1000;
+    private boolean compactLoanBookFile = false;
+    private LoanBookFileFormat loanBookFileFormat = LoanBookFileFormat.JSON;
 
     /**
      * Creates a {@code UserPrefs} with default values.
@@ -36,6 +40,9 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         requireNonNull(newUserPrefs);
         setGuiSettings(newUserPrefs.getGuiSettings());
         setLoanBookFilePath(newUserPrefs.getLoanBookFilePath());
+        setJournalCompactionThreshold(newUserPrefs.getJournalCompactionThreshold());
+        setCompactLoanBookFile(newUserPrefs.isCompactLoanBookFile());
+        setLoanBookFileFormat(newUserPrefs.getLoanBookFileFormat());
     }
 
     public GuiSettings getGuiSettings() {
@@ -56,6 +63,40 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.loanBookFilePath = loanBookFilePath;
     }
 
+    public int getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+    /**
+     * Sets the number of changes kept in the loan book journal before a new snapshot is written.
+     * 0 disables the journal, so that every save writes a snapshot. Segmented loan books are never journaled.
+     */
+    public void setJournalCompactionThreshold(int journalCompactionThreshold) {
+        checkArgument(journalCompactionThreshold >= 0, "The journal compaction threshold cannot be negative");
+        this.journalCompactionThreshold = journalCompactionThreshold;
+    }
+
+    public boolean isCompactLoanBookFile() {
+        return compactLoanBookFile;
+    }
+
+    /**
+     * Sets whether the loan book file is saved without the whitespace that makes it readable,
+     * which makes it smaller and faster to write.
+     */
+    public void setCompactLoanBookFile(boolean compactLoanBookFile) {
+        this.compactLoanBookFile = compactLoanBookFile;
+    }
+
+    public LoanBookFileFormat getLoanBookFileFormat() {
+        return loanBookFileFormat;
+    }
+
+    public void setLoanBookFileFormat(LoanBookFileFormat loanBookFileFormat) {
+        requireNonNull(loanBookFileFormat);
+        this.loanBookFileFormat = loanBookFileFormat;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -69,12 +110,16 @@ public class UserPrefs implements ReadOnlyUserPrefs {
 
         UserPrefs otherUserPrefs = (UserPrefs) other;
         return guiSettings.equals(otherUserPrefs.guiSettings)
-                && loanBookFilePath.equals(otherUserPrefs.loanBookFilePath);
+                && loanBookFilePath.equals(otherUserPrefs.loanBookFilePath)
+                && journalCompactionThreshold == otherUserPrefs.journalCompactionThreshold
+                && compactLoanBookFile == otherUserPrefs.compactLoanBookFile
+                && loanBookFileFormat == otherUserPrefs.loanBookFileFormat;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, loanBookFilePath);
+        return Objects.hash(guiSettings, loanBookFilePath, journalCompactionThreshold, compactLoanBookFile,
+                loanBookFileFormat);
     }
 
     @Override
@@ -82,7 +127,27 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         StringBuilder sb = new StringBuilder();
         sb.append("Gui Settings : " + guiSettings);
         sb.append("\nLocal data file location : " + loanBookFilePath);
+        sb.append("\nJournal compaction threshold : " + journalCompactionThreshold);
+        sb.append("\nCompact data file : " + compactLoanBookFile);
+        sb.append("\nData file format : " + loanBookFileFormat);
         return sb.toString();
     }
 
+    /**
+     * The formats that the loan book can be saved in.
+     */
+    public enum LoanBookFileFormat {
+        /** Human-readable json, saved at the loan book file path. */
+        JSON,
+        /** Gzip-compressed json, saved next to the loan book file path with a {@code .gz} extension added. */
+        JSON_GZIP,
+        /** Compact binary, saved next to the loan book file path with a {@code .bin} extension. */
+        BINARY,
+        /**
+         * Json segments that are saved separately, in a directory next to the loan book file path. A save only
+         * rewrites the segments that changed, so these are saved without a journal.
+         */
+        SEGMENTED
+    }
+
 }
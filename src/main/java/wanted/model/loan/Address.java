@@ -3,6 +3,8 @@ package wanted.model.loan;
 import static java.util.Objects.requireNonNull;
 import static wanted.commons.util.AppUtil.checkArgument;
 
+import wanted.commons.util.ValidationUtil;
+
 /**
  * Represents a Loan's address in the loan book.
  * Not in use for now
@@ -35,7 +37,7 @@ public class Address {
      * Returns true if a given string is a valid email.
      */
     public static boolean isValidAddress(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isNonBlankLine(test);
     }
 
     @Override
@@ -0,0 +1,150 @@
+package wanted.model.loan;
+
+import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import wanted.commons.util.StringUtil;
+
+/**
+ * An index of names by their case-folded words, for finding the names with a word within a few edits of a given
+ * word without measuring its distance to every word.
+ * <p>
+ * The words are kept in a BK-tree: each child of a word is at a different edit distance from it, and a child at
+ * distance {@code d} only has descendants at distance {@code d} from that word as well. By the triangle inequality,
+ * the words within {@code k} edits of a query that is {@code n} edits away from a word can only be under its
+ * children at distances {@code n - k} to {@code n + k}, so the other children are never visited.
+ * <p>
+ * A word stays in the tree after the last name with it is removed, as the words under it are placed by their
+ * distance to it. The tree is rebuilt without such words once they make up more than half of it.
+ */
+public class FuzzyNameIndex {
+
+    private final Map<String, Node> nodesByWord = new HashMap<>();
+    private Node root;
+    private int unusedCount; // words in the tree without names
+
+    /**
+     * Adds {@code name} to the index. Does nothing if it is already in the index.
+     */
+    public void add(Name name) {
+        requireNonNull(name);
+        for (String word : name.getFoldedWords()) {
+            Node node = nodesByWord.get(word);
+            if (node == null) {
+                node = insert(word);
+            } else if (node.names.isEmpty()) {
+                unusedCount--;
+            }
+            node.names.add(name);
+        }
+    }
+
+    /**
+     * Removes {@code name} from the index. Does nothing if it is not in the index.
+     */
+    public void remove(Name name) {
+        requireNonNull(name);
+        for (String word : name.getFoldedWords()) {
+            Node node = nodesByWord.get(word);
+            if (node != null && node.names.remove(name) && node.names.isEmpty()) {
+                unusedCount++;
+            }
+        }
+
+        if (unusedCount > nodesByWord.size() / 2) {
+            List<Node> usedNodes = nodesByWord.values().stream().filter(node -> !node.names.isEmpty()).toList();
+            clear();
+            for (Node node : usedNodes) {
+                insert(node.word).names.addAll(node.names);
+            }
+        }
+    }
+
+    /**
+     * Removes all names from the index.
+     */
+    public void clear() {
+        nodesByWord.clear();
+        root = null;
+        unusedCount = 0;
+    }
+
+    /**
+     * Returns the names in the index with a word within {@code maxEditDistance} edits of {@code foldedWord}, which
+     * is case-folded by {@link StringUtil#foldCase(String)}, each with the fewest edits to any of its words.
+     */
+    public Map<Name, Integer> findNamesWithWordWithin(String foldedWord, int maxEditDistance) {
+        requireNonNull(foldedWord);
+        checkArgument(maxEditDistance >= 0, "Edit distance cannot be negative");
+
+        Map<Name, Integer> editDistances = new HashMap<>();
+        Deque<Node> nodesToVisit = new ArrayDeque<>();
+        if (root != null) {
+            nodesToVisit.push(root);
+        }
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            int distance = StringUtil.getEditDistance(foldedWord, node.word);
+            if (distance <= maxEditDistance) {
+                for (Name name : node.names) {
+                    editDistances.merge(name, distance, Math::min);
+                }
+            }
+
+            int last = Math.min(distance + maxEditDistance, node.children.length - 1);
+            for (int i = Math.max(distance - maxEditDistance, 1); i <= last; i++) {
+                if (node.children[i] != null) {
+                    nodesToVisit.push(node.children[i]);
+                }
+            }
+        }
+        return editDistances;
+    }
+
+    /**
+     * Puts {@code word}, which must not be in the tree, in the tree and returns its node.
+     */
+    private Node insert(String word) {
+        Node node = new Node(word);
+        nodesByWord.put(word, node);
+        if (root == null) {
+            root = node;
+            return node;
+        }
+
+        Node parent = root;
+        while (true) {
+            int distance = StringUtil.getEditDistance(word, parent.word);
+            if (distance >= parent.children.length) {
+                parent.children = Arrays.copyOf(parent.children, Math.max(distance + 1, parent.children.length * 2));
+            }
+            if (parent.children[distance] == null) {
+                parent.children[distance] = node;
+                return node;
+            }
+            parent = parent.children[distance];
+        }
+    }
+
+    /**
+     * A word in the tree, with the names that have it. Its children are indexed by their distance from it.
+     */
+    private static class Node {
+        private final String word;
+        private final Set<Name> names = new HashSet<>();
+        private Node[] children = new Node[4];
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
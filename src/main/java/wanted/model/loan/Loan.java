@@ -2,7 +2,6 @@ package wanted.model.loan;
 
 import static wanted.commons.util.CollectionUtil.requireAllNonNull;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
@@ -129,6 +128,7 @@ public class Loan {
      * @param loaned Amount given to loanee in this transaction.
      * @param date   Date of the transaction.
      * @return New Loan after the loaning transaction.
+     * @throws ArithmeticException If the total amount loaned would not fit in a {@code long} number of cents.
      */
     public Loan addLoan(MoneyInt loaned, LoanDate date) {
         requireAllNonNull(loaned, date);
@@ -184,14 +184,11 @@ public class Loan {
      */
     public Loan deleteTransaction(Index index) throws ExcessRepaymentException {
         requireAllNonNull(index);
-        ArrayList<LoanTransaction> transactions = this.loanAmount.getTransactionHistoryCopy();
-        if (index.getZeroBased() >= transactions.size()) {
+        if (index.getZeroBased() >= this.loanAmount.getTransactionsCount()) {
             throw new IllegalArgumentException("Index out of bounds.");
         }
 
-        transactions.remove(index.getZeroBased());
-
-        return new Loan(this.name, new LoanAmount(transactions), this.tags, this.phone);
+        return new Loan(this.name, this.loanAmount.deleteTransaction(index.getZeroBased()), this.tags, this.phone);
     }
 
     /**
@@ -201,17 +198,16 @@ public class Loan {
      * @param index Index of the transaction to be replaced.
      * @param newTransaction New transaction to replace the identified transaction.
      * @throws ExcessRepaymentException If this deletion results in an invalid transaction history.
+     * @throws ArithmeticException If the total amount loaned would not fit in a {@code long} number of cents.
      */
     public Loan replaceTransaction(Index index, LoanTransaction newTransaction)
             throws ExcessRepaymentException {
         requireAllNonNull(index, newTransaction);
-        ArrayList<LoanTransaction> transactions = this.loanAmount.getTransactionHistoryCopy();
-        if (index.getZeroBased() >= transactions.size()) {
+        if (index.getZeroBased() >= this.loanAmount.getTransactionsCount()) {
             throw new IllegalArgumentException("Index out of bounds.");
         }
 
-        transactions.set(index.getZeroBased(), newTransaction);
-
-        return new Loan(this.name, new LoanAmount(transactions), this.tags, this.phone);
+        LoanAmount newLoanAmount = this.loanAmount.replaceTransaction(index.getZeroBased(), newTransaction);
+        return new Loan(this.name, newLoanAmount, this.tags, this.phone);
     }
 }
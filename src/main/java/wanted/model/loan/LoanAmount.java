@@ -1,10 +1,13 @@
 package wanted.model.loan;
 
+import static wanted.commons.util.AppUtil.checkArgument;
 import static wanted.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import wanted.commons.core.datatypes.MoneyInt;
+import wanted.commons.exceptions.IllegalValueException;
 import wanted.commons.util.ToStringBuilder;
 import wanted.model.loan.exceptions.ExcessRepaymentException;
 import wanted.model.loan.transaction.LoanTransaction;
@@ -13,19 +16,25 @@ import wanted.model.loan.transaction.LoanTransaction;
  * Manages the total amount, the remaining amount, and the transaction history of a loan.
  * Guarantees: immutable values
  * Due to the immutability of the class, methods that modify its state will return a new LoanAmount.
+ * <p>
+ * A LoanAmount read from storage may only know its totals and number of transactions at first, and load its
+ * transaction history the first time it is needed, see {@link #withLazyHistory}.
  */
 public class LoanAmount implements Comparable<LoanAmount> {
+    public static final String MESSAGE_INCONSISTENT_HISTORY =
+            "The saved transaction history of a loan does not match its saved totals";
+
     private final MoneyInt totalAmount;
     private final MoneyInt remainingAmount;
-    private final ArrayList<LoanTransaction> transactionHistory;
+    private final int transactionsCount;
+    private volatile TransactionHistory transactionHistory;
+    private TransactionHistoryLoader transactionHistoryLoader;
 
     /**
      * Constructs a new LoanAmount with an empty transaction history (i.e. totalAmount = remainingAmount = 0).
      */
     public LoanAmount() {
-        this.totalAmount = MoneyInt.fromCent(0);
-        this.remainingAmount = MoneyInt.fromCent(0);
-        this.transactionHistory = new ArrayList<>();
+        this(MoneyInt.ZERO, MoneyInt.ZERO, TransactionHistory.empty());
     }
 
     /**
@@ -36,21 +45,117 @@ public class LoanAmount implements Comparable<LoanAmount> {
      * of this constructor from modifying the array and also modifying this object unintentionally.
      *
      * @throws ExcessRepaymentException If the loan balance gets negative at any point of time.
+     * @throws ArithmeticException If the total amount does not fit in a {@code long} number of cents.
      */
     public LoanAmount(ArrayList<LoanTransaction> transactionHistory) throws ExcessRepaymentException {
-        requireAllNonNull(transactionHistory);
+        this(replay(transactionHistory));
+    }
 
-        MoneyInt totalAmount = MoneyInt.fromCent(0);
-        MoneyInt remainingAmount = MoneyInt.fromCent(0);
-        for (LoanTransaction transaction : transactionHistory) {
-            totalAmount = transaction.getTotalAmountAfterTransaction(totalAmount);
-            remainingAmount = transaction.getRemainingAmountAfterTransaction(remainingAmount);
-        }
+    private LoanAmount(LoanAmount replayed) {
+        this(replayed.totalAmount, replayed.remainingAmount, replayed.transactionHistory);
+    }
+
+    /**
+     * Constructs a LoanAmount from already computed totals and the history they were computed from.
+     */
+    private LoanAmount(MoneyInt totalAmount, MoneyInt remainingAmount, TransactionHistory transactionHistory) {
+        this.totalAmount = totalAmount;
+        this.remainingAmount = remainingAmount;
+        this.transactionsCount = transactionHistory.size();
+        this.transactionHistory = transactionHistory;
+    }
 
+    private LoanAmount(MoneyInt totalAmount, MoneyInt remainingAmount, int transactionsCount,
+            TransactionHistoryLoader transactionHistoryLoader) {
         this.totalAmount = totalAmount;
         this.remainingAmount = remainingAmount;
-        this.transactionHistory = new ArrayList<>();
-        this.transactionHistory.addAll(transactionHistory);
+        this.transactionsCount = transactionsCount;
+        this.transactionHistoryLoader = transactionHistoryLoader;
+    }
+
+    /**
+     * Returns a LoanAmount with the given saved totals and number of transactions, whose transaction history is
+     * only loaded with {@code transactionHistoryLoader} the first time it is needed.
+     * <p>
+     * The loaded history is replayed, and must add up to the given totals. As this cannot be checked until then,
+     * it should only be used for data that this app saved, and that is known not to have changed since, e.g. by
+     * a checksum. Any failure to load the history is reported as an {@code IllegalStateException}.
+     *
+     * @throws IllegalArgumentException if the totals or the number of transactions are not possible.
+     */
+    public static LoanAmount withLazyHistory(MoneyInt totalAmount, MoneyInt remainingAmount, int transactionsCount,
+            TransactionHistoryLoader transactionHistoryLoader) {
+        requireAllNonNull(totalAmount, remainingAmount, transactionHistoryLoader);
+        checkArgument(transactionsCount >= 0, "The number of transactions cannot be negative");
+        checkArgument(remainingAmount.compareTo(totalAmount) <= 0, "The remaining amount cannot exceed the total");
+        if (transactionsCount == 0) {
+            checkArgument(totalAmount.equals(MoneyInt.ZERO), "A loan without transactions cannot have a total");
+            return new LoanAmount();
+        }
+        return new LoanAmount(totalAmount, remainingAmount, transactionsCount, transactionHistoryLoader);
+    }
+
+    /**
+     * Returns a LoanAmount whose totals are computed by replaying {@code transactions}.
+     *
+     * @throws ExcessRepaymentException If the loan balance gets negative at any point of time.
+     * @throws ArithmeticException If the total amount does not fit in a {@code long} number of cents.
+     */
+    private static LoanAmount replay(List<LoanTransaction> transactions) throws ExcessRepaymentException {
+        requireAllNonNull(transactions);
+
+        long totalCents = 0;
+        long remainingCents = 0;
+        TransactionHistory history = TransactionHistory.empty();
+        for (LoanTransaction transaction : transactions) {
+            requireAllNonNull(transaction);
+            totalCents = transaction.getTotalCentsAfterTransaction(totalCents);
+            remainingCents = transaction.getRemainingCentsAfterTransaction(remainingCents);
+            history = history.append(transaction, remainingCents);
+        }
+        return new LoanAmount(MoneyInt.fromCent(totalCents), MoneyInt.fromCent(remainingCents), history);
+    }
+
+    /**
+     * Returns the transaction history, loading it first if it has not been loaded yet.
+     *
+     * @throws IllegalStateException if the history could not be loaded, or does not match the saved totals.
+     */
+    private TransactionHistory getTransactionHistory() {
+        TransactionHistory history = transactionHistory;
+        if (history != null) {
+            return history;
+        }
+
+        synchronized (this) {
+            if (transactionHistory == null) {
+                transactionHistory = loadTransactionHistory();
+                transactionHistoryLoader = null;
+            }
+            return transactionHistory;
+        }
+    }
+
+    private TransactionHistory loadTransactionHistory() {
+        LoanAmount loaded;
+        try {
+            loaded = replay(transactionHistoryLoader.load());
+        } catch (IllegalValueException | ExcessRepaymentException | RuntimeException e) {
+            throw new IllegalStateException(MESSAGE_INCONSISTENT_HISTORY, e);
+        }
+
+        if (!loaded.totalAmount.equals(totalAmount) || !loaded.remainingAmount.equals(remainingAmount)
+                || loaded.transactionsCount != transactionsCount) {
+            throw new IllegalStateException(MESSAGE_INCONSISTENT_HISTORY);
+        }
+        return loaded.transactionHistory;
+    }
+
+    /**
+     * Returns true if the transaction history has been loaded, i.e. it was not loaded lazily or has been needed.
+     */
+    public boolean isTransactionHistoryLoaded() {
+        return transactionHistory != null;
     }
 
     /**
@@ -71,7 +176,14 @@ public class LoanAmount implements Comparable<LoanAmount> {
      * Returns the number of recorded transactions.
      */
     public int getTransactionsCount() {
-        return this.transactionHistory.size();
+        return this.transactionsCount;
+    }
+
+    /**
+     * Returns the transaction at the given zero-based index of the transaction history.
+     */
+    public LoanTransaction getTransaction(int index) {
+        return getTransactionHistory().get(index);
     }
 
     /**
@@ -82,21 +194,91 @@ public class LoanAmount implements Comparable<LoanAmount> {
      * Note that LoanTransaction objects themselves need not be copied since they are truly immutable.
      */
     public ArrayList<LoanTransaction> getTransactionHistoryCopy() {
-        ArrayList<LoanTransaction> copiedTransactionHistory = new ArrayList<>();
-        copiedTransactionHistory.addAll(this.transactionHistory);
-        return copiedTransactionHistory;
+        return getTransactionHistory().toArrayList();
     }
 
     /**
      * Returns a new LoanAmount with the given LoanTransaction appended to this LoanAmount object.
+     * <p>
+     * The new totals are derived from the current totals, and the history is shared with this LoanAmount
+     * rather than copied, so appending does not depend on the length of the history.
+     *
+     * @throws ExcessRepaymentException If the loan balance would get negative.
+     * @throws ArithmeticException If the total amount would not fit in a {@code long} number of cents.
      */
     public LoanAmount appendTransaction(LoanTransaction transaction) throws ExcessRepaymentException {
         requireAllNonNull(transaction);
 
-        ArrayList<LoanTransaction> newTransactionHistory = this.getTransactionHistoryCopy();
-        newTransactionHistory.add(transaction);
+        MoneyInt newTotalAmount = transaction.getTotalAmountAfterTransaction(this.totalAmount);
+        long newRemainingCents = transaction.getRemainingCentsAfterTransaction(
+                this.remainingAmount.getValueTimesOneHundred());
+
+        return new LoanAmount(newTotalAmount, MoneyInt.fromCent(newRemainingCents),
+                getTransactionHistory().append(transaction, newRemainingCents));
+    }
+
+    /**
+     * Returns a new LoanAmount with the transaction at the given zero-based index replaced by {@code transaction}.
+     * <p>
+     * Only the balances from {@code index} onwards can change, and they all change by the same amount,
+     * so validity is checked against the minimum of the later balances instead of replaying the history.
+     *
+     * @throws ExcessRepaymentException If the loan balance would get negative at any point of time.
+     * @throws ArithmeticException If the total amount would not fit in a {@code long} number of cents.
+     */
+    public LoanAmount replaceTransaction(int index, LoanTransaction transaction) throws ExcessRepaymentException {
+        requireAllNonNull(transaction);
+        LoanTransaction replacedTransaction = getTransactionHistory().get(index);
+
+        long newBalanceAfter = transaction.getRemainingCentsAfterTransaction(
+                getTransactionHistory().getBalanceBefore(index));
+        long balanceDelta = newBalanceAfter - getTransactionHistory().getBalanceAfter(index);
+        checkBalancesFrom(index + 1, balanceDelta);
+
+        long newTotalCents = Math.addExact(this.totalAmount.getValueTimesOneHundred()
+                - getTotalAmountContribution(replacedTransaction), getTotalAmountContribution(transaction));
 
-        return new LoanAmount(newTransactionHistory);
+        return new LoanAmount(MoneyInt.fromCent(newTotalCents),
+                MoneyInt.fromCent(this.remainingAmount.getValueTimesOneHundred() + balanceDelta),
+                getTransactionHistory().replace(index, transaction, balanceDelta));
+    }
+
+    /**
+     * Returns a new LoanAmount with the transaction at the given zero-based index removed.
+     * Validity is checked in the same way as {@link #replaceTransaction(int, LoanTransaction)}.
+     *
+     * @throws ExcessRepaymentException If the loan balance would get negative at any point of time.
+     */
+    public LoanAmount deleteTransaction(int index) throws ExcessRepaymentException {
+        LoanTransaction deletedTransaction = getTransactionHistory().get(index);
+
+        long balanceDelta = getTransactionHistory().getBalanceBefore(index)
+                - getTransactionHistory().getBalanceAfter(index);
+        checkBalancesFrom(index + 1, balanceDelta);
+
+        long newTotalCents = this.totalAmount.getValueTimesOneHundred()
+                - getTotalAmountContribution(deletedTransaction);
+
+        return new LoanAmount(MoneyInt.fromCent(newTotalCents),
+                MoneyInt.fromCent(this.remainingAmount.getValueTimesOneHundred() + balanceDelta),
+                getTransactionHistory().remove(index, balanceDelta));
+    }
+
+    /**
+     * Checks that every balance from {@code fromIndex} onwards stays non-negative after changing by
+     * {@code balanceDelta}.
+     */
+    private void checkBalancesFrom(int fromIndex, long balanceDelta) throws ExcessRepaymentException {
+        if (balanceDelta < 0 && getTransactionHistory().getMinBalanceFrom(fromIndex) + balanceDelta < 0) {
+            throw new ExcessRepaymentException();
+        }
+    }
+
+    /**
+     * Returns how much {@code transaction} adds to the total amount loaned.
+     */
+    private static long getTotalAmountContribution(LoanTransaction transaction) {
+        return transaction.getTotalCentsAfterTransaction(0);
     }
 
     /**
@@ -111,7 +293,7 @@ public class LoanAmount implements Comparable<LoanAmount> {
         return new ToStringBuilder(this)
                 .add("totalAmount", totalAmount)
                 .add("remainingAmount", remainingAmount)
-                .add("transactions", transactionHistory)
+                .add("transactions", getTransactionHistory())
                 .toString();
     }
 
@@ -128,11 +310,25 @@ public class LoanAmount implements Comparable<LoanAmount> {
         LoanAmount otherLoanAmount = (LoanAmount) other;
         return this.totalAmount.equals(otherLoanAmount.totalAmount)
                 && this.remainingAmount.equals(otherLoanAmount.remainingAmount)
-                && this.transactionHistory.equals(otherLoanAmount.transactionHistory);
+                && this.transactionsCount == otherLoanAmount.transactionsCount
+                && getTransactionHistory().equals(otherLoanAmount.getTransactionHistory());
     }
 
     @Override
     public int compareTo(LoanAmount o) {
-        return this.remainingAmount.getValueTimesOneHundred() - o.remainingAmount.getValueTimesOneHundred();
+        return this.remainingAmount.compareTo(o.remainingAmount);
+    }
+
+    /**
+     * Loads a transaction history that was saved along with the totals of a LoanAmount.
+     */
+    @FunctionalInterface
+    public interface TransactionHistoryLoader {
+        /**
+         * Returns the saved transactions, in order.
+         *
+         * @throws IllegalValueException if the saved transactions are not valid.
+         */
+        List<LoanTransaction> load() throws IllegalValueException;
     }
 }
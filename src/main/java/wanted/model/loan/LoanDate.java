@@ -1,11 +1,7 @@
 package wanted.model.loan;
 
 import static java.util.Objects.requireNonNull;
-
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.format.ResolverStyle;
+import static wanted.commons.util.AppUtil.checkArgument;
 
 import wanted.commons.core.datatypes.Date;
 
@@ -14,18 +10,10 @@ import wanted.commons.core.datatypes.Date;
  * Guarantees: immutable; is valid as declared in {@link #isValidLoanDate(String)}
  */
 
-public class LoanDate {
+public class LoanDate implements Comparable<LoanDate> {
 
     public static final String MESSAGE_CONSTRAINTS =
             "Date value should be in format YYYY-MM-DD. (e.g. d/2024-01-21)";
-    /*
-     * The first character of the date must not be a whitespace,
-     * otherwise " " (a blank string) becomes a valid input.
-     * There should be 3 alphanumeric inputs to simulate Day-Month-Year
-     * To be updated with the addition of a datetime object
-     */
-    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("uuuu-MM-dd")
-            .withResolverStyle(ResolverStyle.STRICT);
 
     public final Date value;
     /**
@@ -35,19 +23,56 @@ public class LoanDate {
      */
     public LoanDate(String date) {
         requireNonNull(date);
+        checkArgument(isValidLoanDate(date), MESSAGE_CONSTRAINTS);
         value = new Date(date);
     }
 
+    private LoanDate(Date date) {
+        value = date;
+    }
+
     /**
      * Returns true if a given string is a valid loan date.
      */
     public static boolean isValidLoanDate(String test) {
-        try {
-            LocalDate.parse(test, dateFormatter);
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+        return Date.isValidDate(test);
+    }
+
+    /**
+     * Returns the {@code LoanDate} for the given day, counted from 1970-01-01.
+     */
+    public static LoanDate fromEpochDay(int epochDay) {
+        return new LoanDate(Date.fromEpochDay(epochDay));
+    }
+
+    /**
+     * Returns this date as the number of days from 1970-01-01.
+     */
+    public int toEpochDay() {
+        return value.getEpochDay();
+    }
+
+    /**
+     * Returns the number of days from this date to {@code other},
+     * which is negative if {@code other} is before this date.
+     */
+    public int daysBetween(LoanDate other) {
+        requireNonNull(other);
+        return value.daysBetween(other.value);
+    }
+
+    /**
+     * Returns true if this date is between {@code start} and {@code end}, inclusive.
+     */
+    public boolean isWithin(LoanDate start, LoanDate end) {
+        requireNonNull(start);
+        requireNonNull(end);
+        return value.isWithin(start.value, end.value);
+    }
+
+    @Override
+    public int compareTo(LoanDate other) {
+        return value.compareTo(other.value);
     }
 
     @Override
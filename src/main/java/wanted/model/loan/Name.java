@@ -3,6 +3,11 @@ package wanted.model.loan;
 import static java.util.Objects.requireNonNull;
 import static wanted.commons.util.AppUtil.checkArgument;
 
+import java.util.Arrays;
+
+import wanted.commons.util.StringUtil;
+import wanted.commons.util.ValidationUtil;
+
 /**
  * Represents a Loan's name in the loan book.
  * Guarantees: immutable; is valid as declared in {@link #isValidName(String)}
@@ -20,6 +25,9 @@ public class Name {
 
     public final String fullName;
 
+    // The case-folded words of the name, split when first needed
+    private volatile String[] foldedWords;
+
     /**
      * Constructs a {@code Name}.
      *
@@ -35,10 +43,40 @@ public class Name {
      * Returns true if a given string is a valid name.
      */
     public static boolean isValidName(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isAlphanumericWithSpaces(test);
     }
 
 
+    /**
+     * Returns true if one of the words of this name, case-folded by {@link StringUtil#foldCase(String)}, is
+     * {@code foldedWord}.
+     */
+    public boolean containsFoldedWord(String foldedWord) {
+        requireNonNull(foldedWord);
+        for (String word : getFoldedWords()) {
+            if (word.equals(foldedWord)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the words of this name, case-folded by {@link StringUtil#foldCase(String)}. The array must not be
+     * modified.
+     */
+    String[] getFoldedWords() {
+        String[] words = foldedWords;
+        if (words == null) {
+            // A valid name only has spaces between its words, so it is split without a regex
+            words = Arrays.stream(StringUtil.foldCase(fullName).split(" "))
+                    .filter(word -> !word.isEmpty())
+                    .toArray(String[]::new);
+            foldedWords = words;
+        }
+        return words;
+    }
+
     @Override
     public String toString() {
         return fullName;
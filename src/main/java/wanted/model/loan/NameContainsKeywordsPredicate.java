@@ -1,5 +1,7 @@
 package wanted.model.loan;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -8,13 +10,63 @@ import wanted.commons.util.ToStringBuilder;
 
 /**
  * Tests that a {@code Loan}'s {@code Name} matches any of the keywords given.
+ * <p>
+ * The keywords are case-folded once, when the predicate is created, and compared against the case-folded words
+ * that each {@code Name} keeps, so testing a loan does not split or validate any strings. A keyword that is not a
+ * single word still only fails the test once it is reached, as {@link StringUtil#containsWordIgnoreCase} would.
  */
-public record NameContainsKeywordsPredicate(List<String> keywords) implements Predicate<Loan> {
+public class NameContainsKeywordsPredicate implements Predicate<Loan> {
+
+    private final List<String> keywords;
+    private final String[] foldedKeywords; // null where the keyword is not a single word
+    private final String[] keywordErrors; // why each keyword that is not a single word cannot be looked for
+
+    /**
+     * Creates a predicate that matches names containing any of {@code keywords} as a word, ignoring case.
+     */
+    public NameContainsKeywordsPredicate(List<String> keywords) {
+        requireNonNull(keywords);
+        this.keywords = keywords;
+        foldedKeywords = new String[keywords.size()];
+        keywordErrors = new String[keywords.size()];
+        for (int i = 0; i < foldedKeywords.length; i++) {
+            try {
+                foldedKeywords[i] = StringUtil.foldCase(StringUtil.toWord(keywords.get(i)));
+            } catch (IllegalArgumentException iae) {
+                keywordErrors[i] = iae.getMessage();
+            }
+        }
+    }
+
+    public List<String> keywords() {
+        return keywords;
+    }
 
+    /**
+     * Returns true if the name of {@code person} contains any of the keywords, trying them in order.
+     *
+     * @throws IllegalArgumentException if a keyword tried is empty or is more than one word.
+     */
     @Override
     public boolean test(Loan person) {
-        return keywords.stream()
-                .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(person.getName().fullName, keyword));
+        return testName(person.getName());
+    }
+
+    /**
+     * Returns true if {@code name} contains any of the keywords, as {@link #test(Loan)} does for the name of a loan.
+     *
+     * @throws IllegalArgumentException if a keyword tried is empty or is more than one word.
+     */
+    public boolean testName(Name name) {
+        for (int i = 0; i < foldedKeywords.length; i++) {
+            if (foldedKeywords[i] == null) {
+                throw new IllegalArgumentException(keywordErrors[i]);
+            }
+            if (name.containsFoldedWord(foldedKeywords[i])) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -24,6 +76,11 @@ public record NameContainsKeywordsPredicate(List<String> keywords) implements Pr
                 && keywords.equals(((NameContainsKeywordsPredicate) other).keywords)); // state check
     }
 
+    @Override
+    public int hashCode() {
+        return keywords.hashCode();
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this).add("keywords", keywords).toString();
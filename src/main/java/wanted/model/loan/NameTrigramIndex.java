@@ -0,0 +1,228 @@
+package wanted.model.loan;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import wanted.commons.util.StringUtil;
+
+/**
+ * An index of names by the trigrams, i.e. the three-character substrings, of their form case-folded by
+ * {@link StringUtil#foldCase(String)}, for finding the names that contain a given substring without scanning
+ * every name.
+ * <p>
+ * Each name is given an id when it is added, in increasing order, so that the posting list of each trigram, i.e.
+ * the ids of the names containing it, stays sorted as names are added. A search intersects the posting lists of
+ * the trigrams of the substring, starting from the shortest, and then checks that each remaining name does
+ * contain the substring. Its cost thus depends on how common the substring's trigrams are rather than on how
+ * many names there are. Substrings shorter than a trigram are matched against every name.
+ * <p>
+ * The ids of removed names are not reused; all names are given new ids once more than half of the ids in use
+ * belong to removed names.
+ */
+public class NameTrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Name, Integer> idsByName = new HashMap<>();
+    private final List<Name> namesById = new ArrayList<>();
+    private final List<String> foldedNamesById = new ArrayList<>();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private int removedCount;
+
+    /**
+     * Adds {@code name} to the index. Does nothing if it is already in the index.
+     */
+    public void add(Name name) {
+        requireNonNull(name);
+        if (idsByName.containsKey(name)) {
+            return;
+        }
+
+        int id = namesById.size();
+        String foldedName = StringUtil.foldCase(name.fullName);
+        idsByName.put(name, id);
+        namesById.add(name);
+        foldedNamesById.add(foldedName);
+        for (int i = 0; i + GRAM_LENGTH <= foldedName.length(); i++) {
+            postingsByGram.computeIfAbsent(getGram(foldedName, i), unused -> new Postings()).append(id);
+        }
+    }
+
+    /**
+     * Removes {@code name} from the index. Does nothing if it is not in the index.
+     */
+    public void remove(Name name) {
+        requireNonNull(name);
+        Integer id = idsByName.remove(name);
+        if (id == null) {
+            return;
+        }
+
+        String foldedName = foldedNamesById.get(id);
+        for (int i = 0; i + GRAM_LENGTH <= foldedName.length(); i++) {
+            long gram = getGram(foldedName, i);
+            Postings postings = postingsByGram.get(gram);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                postingsByGram.remove(gram);
+            }
+        }
+        namesById.set(id, null);
+        foldedNamesById.set(id, null);
+        removedCount++;
+
+        if (removedCount > namesById.size() / 2) {
+            List<Name> names = getNames();
+            clear();
+            names.forEach(this::add);
+        }
+    }
+
+    /**
+     * Removes all names from the index.
+     */
+    public void clear() {
+        idsByName.clear();
+        namesById.clear();
+        foldedNamesById.clear();
+        postingsByGram.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Returns the number of names in the index.
+     */
+    public int size() {
+        return idsByName.size();
+    }
+
+    /**
+     * Returns the names in the index that contain {@code substring}, ignoring case, in the order they were added.
+     */
+    public List<Name> findNamesContaining(String substring) {
+        requireNonNull(substring);
+        String foldedSubstring = StringUtil.foldCase(substring);
+
+        List<Name> names = new ArrayList<>();
+        if (foldedSubstring.length() < GRAM_LENGTH) {
+            for (int id = 0; id < namesById.size(); id++) {
+                addIfContains(names, id, foldedSubstring);
+            }
+            return names;
+        }
+
+        Postings[] postings = getPostings(foldedSubstring);
+        if (postings == null) {
+            return names;
+        }
+        for (int i = 0; i < postings[0].size; i++) {
+            int id = postings[0].ids[i];
+            if (isInAll(postings, id)) {
+                addIfContains(names, id, foldedSubstring);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the posting lists of the distinct trigrams of {@code foldedSubstring}, shortest first,
+     * or null if one of them has no names.
+     */
+    private Postings[] getPostings(String foldedSubstring) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= foldedSubstring.length(); i++) {
+            grams.add(getGram(foldedSubstring, i));
+        }
+
+        Postings[] postings = new Postings[grams.size()];
+        int i = 0;
+        for (long gram : grams) {
+            postings[i] = postingsByGram.get(gram);
+            if (postings[i] == null) {
+                return null;
+            }
+            i++;
+        }
+        Arrays.sort(postings, Comparator.comparingInt(p -> p.size));
+        return postings;
+    }
+
+    private static boolean isInAll(Postings[] postings, int id) {
+        for (int i = 1; i < postings.length; i++) {
+            if (!postings[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addIfContains(List<Name> names, int id, String foldedSubstring) {
+        String foldedName = foldedNamesById.get(id);
+        if (foldedName != null && foldedName.contains(foldedSubstring)) {
+            names.add(namesById.get(id));
+        }
+    }
+
+    private List<Name> getNames() {
+        List<Name> names = new ArrayList<>(size());
+        for (Name name : namesById) {
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the trigram of {@code string} starting at {@code start}, packed into a {@code long}.
+     */
+    private static long getGram(String string, int start) {
+        return ((long) string.charAt(start) << 32) | ((long) string.charAt(start + 1) << 16)
+                | string.charAt(start + 2);
+    }
+
+    /**
+     * A sorted list of the ids of the names containing a trigram.
+     */
+    private static class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        /**
+         * Adds {@code id}, which must not be smaller than any id already in the list.
+         */
+        void append(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return; // the trigram occurs more than once in the name
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /**
+         * Removes {@code id} and returns true if it was in the list.
+         */
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package wanted.model.loan;
 import static java.util.Objects.requireNonNull;
 import static wanted.commons.util.AppUtil.checkArgument;
 
+import wanted.commons.util.ValidationUtil;
+
 /**
  * Represents a Loan's phone number in the loan book.
  * Guarantees: immutable; is valid as declared in {@link #isValidPhone(String)}
@@ -11,6 +13,7 @@ public class Phone {
     public static final String MESSAGE_CONSTRAINTS =
             "Phone numbers should only contain numbers, and it should be at least 3 digits long";
     public static final String VALIDATION_REGEX = "\\d{3,}";
+    private static final int MIN_LENGTH = 3;
     public static final Phone EMPTY_PHONE = new Phone();
     public final String value;
 
@@ -36,7 +39,7 @@ public class Phone {
      * Returns true if a given string is a valid phone number.
      */
     public static boolean isValidPhone(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isDigits(test, MIN_LENGTH);
     }
 
     public String getValue() {
@@ -0,0 +1,336 @@
+package wanted.model.loan;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import wanted.commons.core.datatypes.MoneyInt;
+import wanted.model.loan.transaction.AddLoanTransaction;
+import wanted.model.loan.transaction.LoanTransaction;
+import wanted.model.loan.transaction.RepayLoanTransaction;
+
+/**
+ * An immutable, structurally shared history of loan transactions.
+ * <p>
+ * Each {@code TransactionHistory} is a view of the first {@code size} entries of an append-only {@code Log}.
+ * Appending to the newest history of a log reuses that log, so a chain of appends costs amortized O(1)
+ * per transaction instead of copying the whole history each time. Appending to an older history (i.e. a branch)
+ * falls back to copying its entries into a fresh log, so histories never observe each other's appends.
+ * <p>
+ * Alongside each transaction, the log records the remaining loan balance right after it. These running balances
+ * let callers check whether editing or deleting one transaction keeps every later balance non-negative
+ * by scanning the balances after it, instead of replaying the history. An edit or a deletion copies the log
+ * anyway, so the scan costs no more than the edit it validates.
+ * <p>
+ * Transactions are stored column by column in primitive arrays rather than as {@code LoanTransaction} objects,
+ * and are only materialized when read.
+ */
+class TransactionHistory {
+    private final Log log;
+    private final int size;
+
+    private TransactionHistory(Log log, int size) {
+        this.log = log;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new empty {@code TransactionHistory} with a log of its own.
+     */
+    public static TransactionHistory empty() {
+        return new TransactionHistory(new Log(0), 0);
+    }
+
+    /**
+     * Returns a new {@code TransactionHistory} with {@code transaction} appended to this history.
+     * This history remains unchanged.
+     *
+     * @param balanceAfter Remaining loan balance in cents right after {@code transaction}.
+     */
+    public TransactionHistory append(LoanTransaction transaction, long balanceAfter) {
+        requireNonNull(transaction);
+        assert balanceAfter >= 0;
+
+        if (log.appendIfEndsAt(size, transaction, balanceAfter)) {
+            return new TransactionHistory(log, size + 1);
+        }
+
+        Log branch = log.copyOf(size, size + 1);
+        branch.appendIfEndsAt(size, transaction, balanceAfter);
+        return new TransactionHistory(branch, size + 1);
+    }
+
+    /**
+     * Returns a new {@code TransactionHistory} with the transaction at {@code index} replaced by
+     * {@code transaction}, where every balance from {@code index} onwards changes by {@code balanceDelta}.
+     * The caller is responsible for checking that the resulting balances are non-negative.
+     */
+    public TransactionHistory replace(int index, LoanTransaction transaction, long balanceDelta) {
+        requireNonNull(transaction);
+        checkIndex(index);
+
+        Log replaced = log.copyOf(size, size);
+        replaced.replaceAndShift(index, transaction, balanceDelta);
+        return new TransactionHistory(replaced, size);
+    }
+
+    /**
+     * Returns a new {@code TransactionHistory} without the transaction at {@code index}, where every balance after
+     * {@code index} changes by {@code balanceDelta}.
+     * The caller is responsible for checking that the resulting balances are non-negative.
+     */
+    public TransactionHistory remove(int index, long balanceDelta) {
+        checkIndex(index);
+
+        Log removed = log.copyOf(size, size);
+        removed.removeAndShift(index, balanceDelta);
+        return new TransactionHistory(removed, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the transaction at the given zero-based index.
+     */
+    public LoanTransaction get(int index) {
+        checkIndex(index);
+        return log.getTransaction(index);
+    }
+
+    /**
+     * Returns the remaining balance in cents just before the transaction at the given zero-based index.
+     */
+    public long getBalanceBefore(int index) {
+        checkIndex(index);
+        return index == 0 ? 0 : log.getBalance(index - 1);
+    }
+
+    /**
+     * Returns the remaining balance in cents right after the transaction at the given zero-based index.
+     */
+    public long getBalanceAfter(int index) {
+        checkIndex(index);
+        return log.getBalance(index);
+    }
+
+    /**
+     * Returns the minimum remaining balance in cents over the transactions from {@code fromIndex} (inclusive)
+     * to the end of this history, or {@code Long.MAX_VALUE} if there are no such transactions.
+     */
+    public long getMinBalanceFrom(int fromIndex) {
+        assert fromIndex >= 0;
+        if (fromIndex >= size) {
+            return Long.MAX_VALUE;
+        }
+        return log.getMinBalance(fromIndex, size);
+    }
+
+    /**
+     * Returns a mutable copy of the transactions in this history.
+     */
+    public ArrayList<LoanTransaction> toArrayList() {
+        ArrayList<LoanTransaction> copy = new ArrayList<>(size + 1);
+        for (int i = 0; i < size; i++) {
+            copy.add(log.getTransaction(i));
+        }
+        return copy;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof TransactionHistory)) {
+            return false;
+        }
+
+        TransactionHistory otherHistory = (TransactionHistory) other;
+        return size == otherHistory.size && log.hasSameEntries(otherHistory.log, size);
+    }
+
+    @Override
+    public int hashCode() {
+        return log.hashEntries(size);
+    }
+
+    @Override
+    public String toString() {
+        return toArrayList().toString();
+    }
+
+    /**
+     * Append-only columnar storage shared by the histories that are views of it.
+     * Entries below a view's size never change, so views can read them at any time.
+     */
+    private static class Log {
+        private static final byte TYPE_ADD = 0;
+        private static final byte TYPE_REPAY = 1;
+
+        private int count;
+        private byte[] types;
+        private long[] amounts; // in cents
+        private int[] epochDays;
+        private long[] balances; // remaining balance in cents after each transaction
+
+        Log(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 4);
+            types = new byte[capacity];
+            amounts = new long[capacity];
+            epochDays = new int[capacity];
+            balances = new long[capacity];
+        }
+
+        /**
+         * Returns a new log holding a copy of the first {@code size} entries of this log.
+         */
+        synchronized Log copyOf(int size, int initialCapacity) {
+            Log copy = new Log(Math.max(initialCapacity, size));
+            System.arraycopy(types, 0, copy.types, 0, size);
+            System.arraycopy(amounts, 0, copy.amounts, 0, size);
+            System.arraycopy(epochDays, 0, copy.epochDays, 0, size);
+            System.arraycopy(balances, 0, copy.balances, 0, size);
+            copy.count = size;
+            return copy;
+        }
+
+        /**
+         * Appends the entry if this log currently holds exactly {@code size} entries.
+         * Returns false, leaving the log unchanged, if a different history has already appended past it.
+         */
+        synchronized boolean appendIfEndsAt(int size, LoanTransaction transaction, long balanceAfter) {
+            if (count != size) {
+                return false;
+            }
+            if (count == types.length) {
+                grow();
+            }
+            set(count, transaction);
+            balances[count] = balanceAfter;
+            count++;
+            return true;
+        }
+
+        /**
+         * Replaces the entry at {@code index} and shifts every balance from {@code index} onwards.
+         * Only used on logs that are not yet shared.
+         */
+        void replaceAndShift(int index, LoanTransaction transaction, long balanceDelta) {
+            set(index, transaction);
+            for (int i = index; i < count; i++) {
+                balances[i] += balanceDelta;
+            }
+        }
+
+        /**
+         * Removes the entry at {@code index} and shifts every later balance.
+         * Only used on logs that are not yet shared.
+         */
+        void removeAndShift(int index, long balanceDelta) {
+            int tailLength = count - index - 1;
+            System.arraycopy(types, index + 1, types, index, tailLength);
+            System.arraycopy(amounts, index + 1, amounts, index, tailLength);
+            System.arraycopy(epochDays, index + 1, epochDays, index, tailLength);
+            System.arraycopy(balances, index + 1, balances, index, tailLength);
+            count--;
+            for (int i = index; i < count; i++) {
+                balances[i] += balanceDelta;
+            }
+        }
+
+        synchronized LoanTransaction getTransaction(int index) {
+            MoneyInt amount = MoneyInt.fromCent(amounts[index]);
+            LoanDate date = LoanDate.fromEpochDay(epochDays[index]);
+            return types[index] == TYPE_ADD
+                    ? new AddLoanTransaction(amount, date)
+                    : new RepayLoanTransaction(amount, date);
+        }
+
+        synchronized long getBalance(int index) {
+            return balances[index];
+        }
+
+        /**
+         * Returns true if the first {@code size} entries of both logs represent the same transactions.
+         */
+        boolean hasSameEntries(Log other, int size) {
+            if (other == this) {
+                return true;
+            }
+
+            // The columns are only ever replaced by longer copies, and the entries below a view's size never
+            // change, so the columns read under each lock can be compared without holding either
+            byte[] otherTypes;
+            long[] otherAmounts;
+            int[] otherEpochDays;
+            long[] otherBalances;
+            synchronized (other) {
+                otherTypes = other.types;
+                otherAmounts = other.amounts;
+                otherEpochDays = other.epochDays;
+                otherBalances = other.balances;
+            }
+            synchronized (this) {
+                return Arrays.equals(types, 0, size, otherTypes, 0, size)
+                        && Arrays.equals(amounts, 0, size, otherAmounts, 0, size)
+                        && Arrays.equals(epochDays, 0, size, otherEpochDays, 0, size)
+                        && Arrays.equals(balances, 0, size, otherBalances, 0, size);
+            }
+        }
+
+        /**
+         * Returns a hash code of the first {@code size} entries, consistent with {@link #hasSameEntries}.
+         */
+        synchronized int hashEntries(int size) {
+            int hash = 1;
+            for (int i = 0; i < size; i++) {
+                hash = 31 * hash + types[i];
+                hash = 31 * hash + Long.hashCode(amounts[i]);
+                hash = 31 * hash + epochDays[i];
+            }
+            return hash;
+        }
+
+        /**
+         * Returns the minimum balance over the entries in {@code [from, to)}.
+         */
+        synchronized long getMinBalance(int from, int to) {
+            long min = Long.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, balances[i]);
+            }
+            return min;
+        }
+
+        private void set(int index, LoanTransaction transaction) {
+            if (transaction instanceof AddLoanTransaction) {
+                types[index] = TYPE_ADD;
+            } else if (transaction instanceof RepayLoanTransaction) {
+                types[index] = TYPE_REPAY;
+            } else {
+                throw new IllegalArgumentException("Unknown LoanTransaction type");
+            }
+            amounts[index] = transaction.getAmount().getValueTimesOneHundred();
+            epochDays[index] = transaction.getDate().toEpochDay();
+        }
+
+        private void grow() {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            balances = Arrays.copyOf(balances, capacity);
+        }
+    }
+}
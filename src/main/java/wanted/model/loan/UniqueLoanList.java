@@ -3,8 +3,10 @@ package wanted.model.loan;
 import static java.util.Objects.requireNonNull;
 import static wanted.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -19,6 +21,9 @@ import wanted.model.loan.exceptions.LoanNotFoundException;
  * as to ensure that the loan with exactly the same fields will be removed.
  *
  * Supports a minimal set of list operations.
+ * <p>
+ * Alongside the observable list, loans are indexed by {@code Name} so that identity checks do not need to scan
+ * the whole list. Every mutation below keeps the index and the list in sync.
  *
  * @see Loan#isSameLoan(Loan)
  */
@@ -27,13 +32,14 @@ public class UniqueLoanList implements Iterable<Loan> {
     private final ObservableList<Loan> internalList = FXCollections.observableArrayList();
     private final ObservableList<Loan> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private final Map<Name, Loan> loansByName = new HashMap<>();
 
     /**
      * Returns true if the list contains an equivalent loan as the given argument.
      */
     public boolean contains(Loan toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSameLoan);
+        return loansByName.containsKey(toCheck.getName());
     }
 
     /**
@@ -46,6 +52,7 @@ public class UniqueLoanList implements Iterable<Loan> {
             throw new DuplicateLoanException();
         }
         internalList.add(toAdd);
+        loansByName.put(toAdd.getName(), toAdd);
     }
 
     /**
@@ -56,8 +63,8 @@ public class UniqueLoanList implements Iterable<Loan> {
     public void setPerson(Loan target, Loan editedPerson) {
         requireAllNonNull(target, editedPerson);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
+        Loan existing = loansByName.get(target.getName());
+        if (existing == null || !existing.equals(target)) {
             throw new LoanNotFoundException();
         }
 
@@ -65,7 +72,11 @@ public class UniqueLoanList implements Iterable<Loan> {
             throw new DuplicateLoanException();
         }
 
+        int index = internalList.indexOf(existing);
+        assert index != -1 : "Indexed loan must be present in the list";
         internalList.set(index, editedPerson);
+        loansByName.remove(existing.getName());
+        loansByName.put(editedPerson.getName(), editedPerson);
     }
 
     /**
@@ -74,14 +85,23 @@ public class UniqueLoanList implements Iterable<Loan> {
      */
     public void remove(Loan toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        Loan existing = loansByName.get(toRemove.getName());
+        if (existing == null || !existing.equals(toRemove)) {
             throw new LoanNotFoundException();
         }
+
+        internalList.remove(existing);
+        loansByName.remove(existing.getName());
     }
 
+    /**
+     * Replaces the contents of this list with the contents of {@code replacement}.
+     */
     public void setPersons(UniqueLoanList replacement) {
         requireNonNull(replacement);
         internalList.setAll(replacement.internalList);
+        loansByName.clear();
+        loansByName.putAll(replacement.loansByName);
     }
 
     /**
@@ -90,11 +110,23 @@ public class UniqueLoanList implements Iterable<Loan> {
      */
     public void setPersons(List<Loan> persons) {
         requireAllNonNull(persons);
-        if (!personsAreUnique(persons)) {
-            throw new DuplicateLoanException();
-        }
+        Map<Name, Loan> replacementIndex = indexByName(persons);
 
         internalList.setAll(persons);
+        loansByName.clear();
+        loansByName.putAll(replacementIndex);
+    }
+
+    /**
+     * Replaces the contents of this list with {@code reorderedPersons}, which must be a permutation of the loans
+     * currently in this list.
+     * Since the set of loans does not change, uniqueness is not re-validated and the name index is kept as is.
+     */
+    public void reorderPersons(List<Loan> reorderedPersons) {
+        requireAllNonNull(reorderedPersons);
+        assert reorderedPersons.size() == internalList.size() : "Reordering must not add or drop loans";
+
+        internalList.setAll(reorderedPersons);
     }
 
     /**
@@ -106,7 +138,8 @@ public class UniqueLoanList implements Iterable<Loan> {
 
     @Override
     public Iterator<Loan> iterator() {
-        return internalList.iterator();
+        // iterating over the unmodifiable view prevents Iterator#remove from bypassing the name index
+        return internalUnmodifiableList.iterator();
     }
 
     @Override
@@ -135,16 +168,17 @@ public class UniqueLoanList implements Iterable<Loan> {
     }
 
     /**
-     * Returns true if {@code persons} contains only unique persons.
+     * Returns {@code persons} indexed by name, checking uniqueness in a single pass.
+     *
+     * @throws DuplicateLoanException if {@code persons} contains duplicate persons.
      */
-    private boolean personsAreUnique(List<Loan> persons) {
-        for (int i = 0; i < persons.size() - 1; i++) {
-            for (int j = i + 1; j < persons.size(); j++) {
-                if (persons.get(i).isSameLoan(persons.get(j))) {
-                    return false;
-                }
+    private static Map<Name, Loan> indexByName(List<Loan> persons) {
+        Map<Name, Loan> index = new HashMap<>();
+        for (Loan person : persons) {
+            if (index.putIfAbsent(person.getName(), person) != null) {
+                throw new DuplicateLoanException();
             }
         }
-        return true;
+        return index;
     }
 }
@@ -27,17 +27,23 @@ public class AddLoanTransaction extends LoanTransaction {
     @Override
     public MoneyInt getTotalAmountAfterTransaction(MoneyInt previousTotalAmount) {
         requireAllNonNull(previousTotalAmount);
-        int resultCent = previousTotalAmount.getValueTimesOneHundred()
-                + this.getAmount().getValueTimesOneHundred();
-        return MoneyInt.fromCent(resultCent);
+        return previousTotalAmount.plus(this.getAmount());
     }
 
     @Override
     public MoneyInt getRemainingAmountAfterTransaction(MoneyInt previousRemainingAmount) {
         requireAllNonNull(previousRemainingAmount);
-        int resultCent = previousRemainingAmount.getValueTimesOneHundred()
-                + this.getAmount().getValueTimesOneHundred();
-        return MoneyInt.fromCent(resultCent);
+        return previousRemainingAmount.plus(this.getAmount());
+    }
+
+    @Override
+    public long getTotalCentsAfterTransaction(long previousTotalCents) {
+        return Math.addExact(previousTotalCents, this.getAmount().getValueTimesOneHundred());
+    }
+
+    @Override
+    public long getRemainingCentsAfterTransaction(long previousRemainingCents) {
+        return Math.addExact(previousRemainingCents, this.getAmount().getValueTimesOneHundred());
     }
 
     @Override
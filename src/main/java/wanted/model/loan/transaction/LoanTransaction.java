@@ -3,6 +3,7 @@ package wanted.model.loan.transaction;
 import static wanted.commons.util.CollectionUtil.requireAllNonNull;
 
 import wanted.commons.core.datatypes.MoneyInt;
+import wanted.commons.util.ToStringBuilder;
 import wanted.model.loan.LoanDate;
 import wanted.model.loan.exceptions.ExcessRepaymentException;
 
@@ -50,18 +51,53 @@ public abstract class LoanTransaction {
      * Returns the total loan amount after this transaction is completed.
      * @param previousTotalAmount Total loan amount just before this transaction.
      */
-    public abstract MoneyInt getTotalAmountAfterTransaction(MoneyInt previousTotalAmount);
+    public MoneyInt getTotalAmountAfterTransaction(MoneyInt previousTotalAmount) {
+        requireAllNonNull(previousTotalAmount);
+        return MoneyInt.fromCent(getTotalCentsAfterTransaction(previousTotalAmount.getValueTimesOneHundred()));
+    }
 
     /**
      * Returns the remaining loan amount after this transaction is completed.
      * @param previousRemainingAmount Remaining loan amount just before this transaction.
      * @throws ExcessRepaymentException If the resulting value is negative.
      */
-    public abstract MoneyInt getRemainingAmountAfterTransaction(MoneyInt previousRemainingAmount)
+    public MoneyInt getRemainingAmountAfterTransaction(MoneyInt previousRemainingAmount)
+            throws ExcessRepaymentException {
+        requireAllNonNull(previousRemainingAmount);
+        return MoneyInt.fromCent(
+                getRemainingCentsAfterTransaction(previousRemainingAmount.getValueTimesOneHundred()));
+    }
+
+    /**
+     * Returns the total loan amount in cents after this transaction is completed.
+     * Same as {@link #getTotalAmountAfterTransaction(MoneyInt)}, but without creating {@code MoneyInt} objects,
+     * for replaying long histories.
+     * @param previousTotalCents Total loan amount in cents just before this transaction.
+     * @throws ArithmeticException If the resulting value does not fit in a {@code long}.
+     */
+    public abstract long getTotalCentsAfterTransaction(long previousTotalCents);
+
+    /**
+     * Returns the remaining loan amount in cents after this transaction is completed.
+     * Same as {@link #getRemainingAmountAfterTransaction(MoneyInt)}, but without creating {@code MoneyInt} objects,
+     * for replaying long histories.
+     * @param previousRemainingCents Remaining loan amount in cents just before this transaction.
+     * @throws ExcessRepaymentException If the resulting value is negative.
+     * @throws ArithmeticException If the resulting value does not fit in a {@code long}.
+     */
+    public abstract long getRemainingCentsAfterTransaction(long previousRemainingCents)
             throws ExcessRepaymentException;
 
     /**
      * Returns a new {@code LoanTransaction} of the same instance type having the given amount and date.
      */
     public abstract LoanTransaction getNewTransactionOfSameType(MoneyInt amount, LoanDate date);
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .add("amount", amount)
+                .add("date", date)
+                .toString();
+    }
 }
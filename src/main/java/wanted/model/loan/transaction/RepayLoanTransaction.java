@@ -32,15 +32,17 @@ public class RepayLoanTransaction extends LoanTransaction {
     }
 
     @Override
-    public MoneyInt getRemainingAmountAfterTransaction(MoneyInt previousRemainingAmount)
-            throws ExcessRepaymentException {
-        requireAllNonNull(previousRemainingAmount);
-        int resultCent = previousRemainingAmount.getValueTimesOneHundred()
-                - this.getAmount().getValueTimesOneHundred();
+    public long getTotalCentsAfterTransaction(long previousTotalCents) {
+        return previousTotalCents;
+    }
+
+    @Override
+    public long getRemainingCentsAfterTransaction(long previousRemainingCents) throws ExcessRepaymentException {
+        long resultCent = previousRemainingCents - this.getAmount().getValueTimesOneHundred();
         if (resultCent < 0) {
             throw new ExcessRepaymentException();
         }
-        return MoneyInt.fromCent(resultCent);
+        return resultCent;
     }
 
     @Override
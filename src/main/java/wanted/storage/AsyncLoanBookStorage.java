@@ -0,0 +1,242 @@
+package wanted.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import wanted.commons.core.LogsCenter;
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.util.StringUtil;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+
+/**
+ * A {@code LoanBookStorage} that writes loan books to another {@code LoanBookStorage} on a background thread,
+ * so that callers (e.g. commands run on the JavaFX application thread) do not wait for the write.
+ * <p>
+ * A save only takes a snapshot of the loan list, which is cheap as loans are immutable, and hands it to the
+ * writer thread. Saves requested while an earlier write is still running are coalesced: only the most recent
+ * snapshot is written once that write completes.
+ * <p>
+ * A failed write is logged as soon as it happens, and reported by throwing its {@code IOException} from the next
+ * call to {@link #saveLoanBook}, which still schedules the loan book it is given, so reporting a failure also
+ * retries the write. The snapshot that failed is kept, so that {@link #flush()} tries to write it again if no
+ * newer save replaced it.
+ */
+public class AsyncLoanBookStorage implements LoanBookStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(AsyncLoanBookStorage.class);
+
+    private final LoanBookStorage storage;
+    private final Executor writer;
+
+    // Guarded by this
+    private ReadOnlyLoanBook pendingLoanBook;
+    private Path pendingFilePath;
+    private boolean isWriting;
+    private IOException failure;
+
+    /**
+     * Creates an {@code AsyncLoanBookStorage} that writes to {@code storage} on a daemon thread of its own.
+     */
+    public AsyncLoanBookStorage(LoanBookStorage storage) {
+        this(storage, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LoanBook writer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates an {@code AsyncLoanBookStorage} that writes to {@code storage} using {@code writer}.
+     * {@code writer} must not run two tasks at the same time.
+     */
+    AsyncLoanBookStorage(LoanBookStorage storage, Executor writer) {
+        requireNonNull(storage);
+        requireNonNull(writer);
+        this.storage = storage;
+        this.writer = writer;
+    }
+
+    @Override
+    public Path getLoanBookFilePath() {
+        return storage.getLoanBookFilePath();
+    }
+
+    @Override
+    public List<Path> getLoanBookBackupFilePaths() {
+        return storage.getLoanBookBackupFilePaths();
+    }
+
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook() throws DataLoadingException {
+        return readLoanBook(getLoanBookFilePath());
+    }
+
+    /**
+     * Similar to {@link #readLoanBook()}.
+     * Waits for pending writes to finish first, so that the data read includes every save requested so far.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+        synchronized (this) {
+            awaitWriter();
+            return storage.readLoanBook(filePath);
+        }
+    }
+
+    /**
+     * Similar to {@link #readLoanBook(Path)}, but recovers what it can of damaged data.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> recoverLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+        synchronized (this) {
+            awaitWriter();
+            return storage.recoverLoanBook(filePath);
+        }
+    }
+
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException {
+        saveLoanBook(loanBook, getLoanBookFilePath());
+    }
+
+    /**
+     * Similar to {@link #saveLoanBook(ReadOnlyLoanBook)}.
+     * Returns once the write is scheduled, without waiting for it.
+     *
+     * @throws IOException if an earlier write failed. The given loan book is still scheduled to be written.
+     */
+    @Override
+    public synchronized void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+        requireNonNull(loanBook);
+        requireNonNull(filePath);
+        IOException earlierFailure = failure;
+        failure = null;
+
+        pendingLoanBook = new Snapshot(loanBook);
+        pendingFilePath = filePath;
+        scheduleWrite();
+        if (earlierFailure != null) {
+            throw earlierFailure;
+        }
+    }
+
+    /**
+     * Blocks until every save requested so far has been written, retrying the last failed write if needed.
+     *
+     * @throws IOException if a write failed.
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        failure = null;
+        scheduleWrite();
+        awaitWriter();
+        throwFailure();
+        storage.flush();
+    }
+
+    @Override
+    public synchronized boolean hasPendingFailure() {
+        return failure != null;
+    }
+
+    private void scheduleWrite() {
+        assert Thread.holdsLock(this);
+        if (pendingLoanBook != null && !isWriting) {
+            isWriting = true;
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void awaitWriter() {
+        assert Thread.holdsLock(this);
+        boolean isInterrupted = false;
+        while (isWriting) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void throwFailure() throws IOException {
+        assert Thread.holdsLock(this);
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes pending snapshots until there are none left or a write fails. Runs on the writer thread.
+     */
+    private void writePending() {
+        while (true) {
+            ReadOnlyLoanBook loanBook;
+            Path filePath;
+            synchronized (this) {
+                if (pendingLoanBook == null) {
+                    finishWriting();
+                    return;
+                }
+                loanBook = pendingLoanBook;
+                filePath = pendingFilePath;
+                pendingLoanBook = null;
+            }
+
+            try {
+                storage.saveLoanBook(loanBook, filePath);
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Failed to write to data file " + filePath + ": " + StringUtil.getDetails(e));
+                synchronized (this) {
+                    failure = e instanceof IOException ? (IOException) e : new IOException(e);
+                    if (pendingLoanBook == null) {
+                        pendingLoanBook = loanBook;
+                        pendingFilePath = filePath;
+                    }
+                    finishWriting();
+                }
+                return;
+            }
+        }
+    }
+
+    private void finishWriting() {
+        assert Thread.holdsLock(this);
+        isWriting = false;
+        notifyAll();
+    }
+
+    /**
+     * An immutable copy of the loans in a loan book at the time it was saved.
+     */
+    private static class Snapshot implements ReadOnlyLoanBook {
+        private final ObservableList<Loan> loans;
+
+        Snapshot(ReadOnlyLoanBook loanBook) {
+            loans = FXCollections.unmodifiableObservableList(
+                    FXCollections.observableArrayList(loanBook.getPersonList()));
+        }
+
+        @Override
+        public ObservableList<Loan> getPersonList() {
+            return loans;
+        }
+    }
+}
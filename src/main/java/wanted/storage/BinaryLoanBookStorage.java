@@ -0,0 +1,363 @@
+package wanted.storage;
+
+import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import wanted.commons.core.LogsCenter;
+import wanted.commons.core.datatypes.MoneyInt;
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.commons.util.FileUtil;
+import wanted.model.LoanBook;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.LoanAmount;
+import wanted.model.loan.LoanDate;
+import wanted.model.loan.transaction.AddLoanTransaction;
+import wanted.model.loan.transaction.LoanTransaction;
+import wanted.model.loan.transaction.RepayLoanTransaction;
+import wanted.model.tag.Tag;
+
+/**
+ * A class to access LoanBook data stored in a compact binary file on the hard disk.
+ * <p>
+ * The file starts with a header holding a magic number, the format version, and the number of strings and loans.
+ * A string table follows, with every distinct name, tag and phone number stored once: first the end offset of
+ * each string, then the UTF-8 bytes of all strings. Each loan then refers to its strings by index, followed by
+ * its total and remaining amounts in cents and its transactions, each packed as a type byte, the amount in cents
+ * and the date as an epoch day. Files of version 1 do not have the amounts.
+ * <p>
+ * Reading copies the whole file into one heap buffer rather than mapping it, as some platforms cannot replace or
+ * delete a mapped file until the mapping is garbage collected, which would make the next save fail. Strings are
+ * only decoded when a loan first refers to them. The file has no checksum, so the transactions of each loan are
+ * decoded as it is read and checked against its saved amounts rather than trusted to match them. All numbers are
+ * big-endian.
+ */
+public class BinaryLoanBookStorage implements LoanBookStorage {
+
+    public static final String FILE_EXTENSION = ".bin";
+    public static final String MESSAGE_NOT_A_LOAN_BOOK = "The file is not a binary loan book file";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Unsupported binary loan book file version: %d";
+    public static final String MESSAGE_CORRUPTED = "The binary loan book file is corrupted";
+
+    static final int MAGIC = 0x574c4253; // "WLBS"
+    static final short VERSION = 2;
+    static final short VERSION_WITHOUT_AMOUNTS = 1;
+
+    private static final byte TYPE_ADD = 0;
+    private static final byte TYPE_REPAY = 1;
+    private static final int NO_STRING = -1;
+    private static final int TRANSACTION_BYTES = Byte.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryLoanBookStorage.class);
+
+    private final Path filePath;
+    private final int backupCount;
+
+    public BinaryLoanBookStorage(Path filePath) {
+        this(filePath, JsonLoanBookStorage.DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * Creates a {@code BinaryLoanBookStorage} that keeps up to {@code backupCount} previous versions of each file
+     * it saves.
+     */
+    public BinaryLoanBookStorage(Path filePath, int backupCount) {
+        requireNonNull(filePath);
+        checkArgument(backupCount >= 0, "The number of backups cannot be negative");
+        this.filePath = filePath;
+        this.backupCount = backupCount;
+    }
+
+    /**
+     * Returns the path of the binary file that stands in for the json file at {@code jsonFilePath},
+     * i.e. the same path with its {@code .json} extension, if any, replaced by {@code .bin}.
+     */
+    public static Path getBinaryFilePath(Path jsonFilePath) {
+        String fileName = jsonFilePath.getFileName().toString();
+        if (fileName.endsWith(".json")) {
+            fileName = fileName.substring(0, fileName.length() - ".json".length());
+        }
+        return jsonFilePath.resolveSibling(fileName + FILE_EXTENSION);
+    }
+
+    @Override
+    public Path getLoanBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public List<Path> getLoanBookBackupFilePaths() {
+        return FileUtil.getBackupFilePaths(filePath, backupCount);
+    }
+
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook() throws DataLoadingException {
+        return readLoanBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readLoanBook()}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     * @throws DataLoadingException if loading the data from storage failed.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary loan book files cannot be larger than 2 GB");
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Reads until the buffer is full or the file ends early
+            }
+            buffer.flip();
+        } catch (IOException e) {
+            logger.warning("Error reading from binary file " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        }
+
+        try {
+            return Optional.of(new Reader(buffer).read());
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+    }
+
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException {
+        saveLoanBook(loanBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveLoanBook(ReadOnlyLoanBook)}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+        requireNonNull(loanBook);
+        requireNonNull(filePath);
+
+        FileUtil.createParentDirsOfFile(filePath);
+        FileUtil.rotateBackups(filePath, backupCount);
+        FileUtil.writeToFile(filePath, out -> write(loanBook.getPersonList(), new DataOutputStream(out)));
+    }
+
+    private static void write(List<Loan> loans, DataOutputStream out) throws IOException {
+        Map<String, Integer> stringIndex = new LinkedHashMap<>();
+        for (Loan loan : loans) {
+            stringIndex.putIfAbsent(loan.getName().fullName, stringIndex.size());
+            for (Tag tag : loan.getTags()) {
+                stringIndex.putIfAbsent(tag.tagName, stringIndex.size());
+            }
+            if (loan.getPhone() != null) {
+                stringIndex.putIfAbsent(loan.getPhone().getValue(), stringIndex.size());
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(0); // reserved for flags
+        out.writeInt(stringIndex.size());
+        out.writeInt(loans.size());
+
+        List<byte[]> strings = new ArrayList<>(stringIndex.size());
+        int endOffset = 0;
+        for (String string : stringIndex.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            strings.add(bytes);
+            endOffset += bytes.length;
+            out.writeInt(endOffset);
+        }
+        for (byte[] bytes : strings) {
+            out.write(bytes);
+        }
+
+        for (Loan loan : loans) {
+            out.writeInt(stringIndex.get(loan.getName().fullName));
+            out.writeInt(loan.getPhone() == null ? NO_STRING : stringIndex.get(loan.getPhone().getValue()));
+            out.writeInt(loan.getTags().size());
+            for (Tag tag : loan.getTags()) {
+                out.writeInt(stringIndex.get(tag.tagName));
+            }
+
+            LoanAmount loanAmount = loan.getLoanAmount();
+            out.writeLong(loanAmount.getTotalAmount().getValueTimesOneHundred());
+            out.writeLong(loanAmount.getRemainingAmount().getValueTimesOneHundred());
+            out.writeInt(loanAmount.getTransactionsCount());
+            for (int i = 0; i < loanAmount.getTransactionsCount(); i++) {
+                LoanTransaction transaction = loanAmount.getTransaction(i);
+                out.writeByte(transaction instanceof AddLoanTransaction ? TYPE_ADD : TYPE_REPAY);
+                out.writeLong(transaction.getAmount().getValueTimesOneHundred());
+                out.writeInt(transaction.getDate().toEpochDay());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Decodes one binary loan book file read into a buffer.
+     */
+    private static class Reader {
+        private final ByteBuffer buffer;
+        private short version;
+        private int stringCount;
+        private int stringOffsetsStart;
+        private int stringDataStart;
+        private String[] strings;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        LoanBook read() throws IllegalValueException {
+            try {
+                return readLoanBook();
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                    | IllegalArgumentException e) {
+                throw new IllegalValueException(MESSAGE_CORRUPTED);
+            }
+        }
+
+        private LoanBook readLoanBook() throws IllegalValueException {
+            if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+                throw new IllegalValueException(MESSAGE_NOT_A_LOAN_BOOK);
+            }
+            version = buffer.getShort();
+            if (version != VERSION && version != VERSION_WITHOUT_AMOUNTS) {
+                throw new IllegalValueException(String.format(MESSAGE_UNSUPPORTED_VERSION, version));
+            }
+            buffer.getShort(); // reserved for flags
+            stringCount = buffer.getInt();
+            int loanCount = buffer.getInt();
+            if (stringCount < 0 || loanCount < 0) {
+                throw new IllegalValueException(MESSAGE_CORRUPTED);
+            }
+
+            stringOffsetsStart = buffer.position();
+            int stringDataLength = stringCount == 0 ? 0 : buffer.getInt(stringOffsetsStart + (stringCount - 1) * 4);
+            stringDataStart = stringOffsetsStart + stringCount * 4;
+            strings = new String[stringCount];
+            buffer.position(stringDataStart + stringDataLength);
+
+            LoanBook loanBook = new LoanBook();
+            for (int i = 0; i < loanCount; i++) {
+                Loan loan = readLoan();
+                if (loanBook.hasPerson(loan)) {
+                    throw new IllegalValueException(JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON);
+                }
+                loanBook.addPerson(loan);
+            }
+            return loanBook;
+        }
+
+        private Loan readLoan() throws IllegalValueException {
+            String name = getString(buffer.getInt());
+            int phoneIndex = buffer.getInt();
+            String phoneValue = phoneIndex == NO_STRING ? null : getString(phoneIndex);
+
+            int tagCount = buffer.getInt();
+            Set<Tag> tags = new HashSet<>();
+            for (int i = 0; i < tagCount; i++) {
+                String tagName = getString(buffer.getInt());
+                if (!Tag.isValidTagName(tagName)) {
+                    throw new IllegalValueException(Tag.MESSAGE_CONSTRAINTS);
+                }
+                tags.add(new Tag(tagName));
+            }
+
+            if (version == VERSION_WITHOUT_AMOUNTS) {
+                int transactionCount = readTransactionCount();
+                ArrayList<LoanTransaction> transactions = new ArrayList<>(
+                        readTransactions(buffer, transactionCount));
+                return JsonAdaptedLoan.toModelType(name, transactions, tags, phoneValue);
+            }
+
+            MoneyInt totalAmount = MoneyInt.fromCent(buffer.getLong());
+            MoneyInt remainingAmount = MoneyInt.fromCent(buffer.getLong());
+            int transactionCount = readTransactionCount();
+            ArrayList<LoanTransaction> transactions = new ArrayList<>(readTransactions(buffer, transactionCount));
+            Loan loan = JsonAdaptedLoan.toModelType(name, transactions, tags, phoneValue);
+            LoanAmount loanAmount = loan.getLoanAmount();
+            if (!loanAmount.getTotalAmount().equals(totalAmount)
+                    || !loanAmount.getRemainingAmount().equals(remainingAmount)) {
+                throw new IllegalValueException(JsonAdaptedLoan.SUMMARY_MISMATCH_MESSAGE);
+            }
+            return loan;
+        }
+
+        private int readTransactionCount() throws IllegalValueException {
+            int transactionCount = buffer.getInt();
+            if (transactionCount < 0 || transactionCount > buffer.remaining() / TRANSACTION_BYTES) {
+                throw new IllegalValueException(MESSAGE_CORRUPTED);
+            }
+            return transactionCount;
+        }
+
+        /**
+         * Decodes {@code transactionCount} transactions from the current position of {@code buffer}.
+         */
+        private static List<LoanTransaction> readTransactions(ByteBuffer buffer, int transactionCount)
+                throws IllegalValueException {
+            List<LoanTransaction> transactions = new ArrayList<>(transactionCount);
+            for (int i = 0; i < transactionCount; i++) {
+                byte type = buffer.get();
+                MoneyInt amount = MoneyInt.fromCent(buffer.getLong());
+                LoanDate date = LoanDate.fromEpochDay(buffer.getInt());
+                if (type == TYPE_ADD) {
+                    transactions.add(new AddLoanTransaction(amount, date));
+                } else if (type == TYPE_REPAY) {
+                    transactions.add(new RepayLoanTransaction(amount, date));
+                } else {
+                    throw new IllegalValueException("Unknown LoanTransaction type: " + type);
+                }
+            }
+            return transactions;
+        }
+
+        /**
+         * Returns the string at {@code index} of the string table, decoding it on first use.
+         */
+        private String getString(int index) throws IllegalValueException {
+            if (index < 0 || index >= stringCount) {
+                throw new IllegalValueException(MESSAGE_CORRUPTED);
+            }
+            if (strings[index] == null) {
+                int start = index == 0 ? 0 : buffer.getInt(stringOffsetsStart + (index - 1) * 4);
+                int end = buffer.getInt(stringOffsetsStart + index * 4);
+                byte[] bytes = new byte[end - start];
+                buffer.get(stringDataStart + start, bytes);
+                strings[index] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return strings[index];
+        }
+    }
+}
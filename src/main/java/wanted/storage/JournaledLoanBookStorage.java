@@ -0,0 +1,355 @@
+package wanted.storage;
+
+import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import wanted.commons.core.LogsCenter;
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.commons.util.FileUtil;
+import wanted.commons.util.JsonUtil;
+import wanted.model.LoanBook;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.Name;
+
+/**
+ * A class to access LoanBook data stored as a snapshot plus an append-only journal of the changes made
+ * since that snapshot.
+ * <p>
+ * Saving compares the loan book with the one last read or saved, and appends one compact record per changed
+ * loan to the journal, so the cost of a save depends on what changed rather than on the size of the loan book.
+ * Once the journal would hold more than {@code compactionThreshold} records, the save writes a fresh snapshot
+ * instead and deletes the journal, as does {@link #flush()}. Reading replays the journal over the snapshot.
+ * <p>
+ * A crash during compaction can leave the journal next to the fresh snapshot, and the journal is then replayed over
+ * loans that already contain its changes. So before writing the snapshot, compaction appends the pending changes
+ * and the full loan order to the journal. Records put whole loans or remove them by name, so each loan ends up as
+ * its last record left it whichever snapshot the journal is replayed over, and the final order record puts the
+ * loans back in order. A journal that is damaged, or that was not written since the loans were last read or
+ * saved, cannot be brought up to date this way. It is atomically replaced instead with one that clears the loans
+ * and puts them all back, which leaves the same loans over either snapshot.
+ */
+public class JournaledLoanBookStorage implements LoanBookStorage {
+
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    public static final String JOURNAL_FILE_EXTENSION = ".journal";
+
+    private static final Logger logger = LogsCenter.getLogger(JournaledLoanBookStorage.class);
+
+    private final LoanBookStorage snapshotStorage;
+    private final int compactionThreshold;
+
+    // The loans as last read from or saved to savedFilePath, i.e. what its snapshot and journal hold together
+    private List<Loan> savedLoans;
+    private Path savedFilePath;
+    private int journalRecordCount;
+    private boolean isJournalDamaged;
+
+    /**
+     * Creates a {@code JournaledLoanBookStorage} with the default compaction threshold.
+     */
+    public JournaledLoanBookStorage(Path filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a {@code JournaledLoanBookStorage} that keeps its snapshot at {@code filePath}.
+     *
+     * @param compactionThreshold Maximum number of records in the journal. 0 writes a snapshot on every save.
+     */
+    public JournaledLoanBookStorage(Path filePath, int compactionThreshold) {
+        this(new JsonLoanBookStorage(filePath), compactionThreshold);
+    }
+
+    /**
+     * Creates a {@code JournaledLoanBookStorage} that reads and writes its snapshots with {@code snapshotStorage}.
+     *
+     * @param compactionThreshold Maximum number of records in the journal. 0 writes a snapshot on every save.
+     */
+    public JournaledLoanBookStorage(LoanBookStorage snapshotStorage, int compactionThreshold) {
+        requireNonNull(snapshotStorage);
+        checkArgument(compactionThreshold >= 0, "The compaction threshold cannot be negative");
+        this.snapshotStorage = snapshotStorage;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Returns the path of the journal kept next to the snapshot at {@code filePath}.
+     */
+    public static Path getJournalFilePath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + JOURNAL_FILE_EXTENSION);
+    }
+
+    @Override
+    public Path getLoanBookFilePath() {
+        return snapshotStorage.getLoanBookFilePath();
+    }
+
+    @Override
+    public List<Path> getLoanBookBackupFilePaths() {
+        return snapshotStorage.getLoanBookBackupFilePaths();
+    }
+
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook() throws DataLoadingException {
+        return readLoanBook(getLoanBookFilePath());
+    }
+
+    /**
+     * Similar to {@link #readLoanBook()}.
+     *
+     * @param filePath location of the snapshot. Cannot be null.
+     * @throws DataLoadingException if loading the snapshot or replaying the journal failed.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        Optional<ReadOnlyLoanBook> snapshot = snapshotStorage.readLoanBook(filePath);
+        Path journalFilePath = getJournalFilePath(filePath);
+        if (!FileUtil.isFileExists(journalFilePath)) {
+            snapshot.ifPresent(loanBook -> markSaved(new ArrayList<>(loanBook.getPersonList()), filePath, 0));
+            return snapshot;
+        }
+
+        LinkedHashMap<Name, Loan> loans = toLoansByName(snapshot);
+        int recordCount = replayJournal(journalFilePath, loans);
+        markSaved(new ArrayList<>(loans.values()), filePath, recordCount);
+        return Optional.of(toLoanBook(loans));
+    }
+
+    /**
+     * Similar to {@link #readLoanBook(Path)}, but recovers what it can of the snapshot with
+     * {@link LoanBookStorage#recoverLoanBook(Path)}. The snapshot then no longer matches the loans read, so the
+     * next save writes a fresh snapshot.
+     *
+     * @param filePath location of the snapshot. Cannot be null.
+     * @throws DataLoadingException if recovering the snapshot or replaying the journal failed.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> recoverLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        Optional<ReadOnlyLoanBook> snapshot = snapshotStorage.recoverLoanBook(filePath);
+        savedLoans = null;
+        Path journalFilePath = getJournalFilePath(filePath);
+        if (!FileUtil.isFileExists(journalFilePath)) {
+            return snapshot;
+        }
+
+        LinkedHashMap<Name, Loan> loans = toLoansByName(snapshot);
+        replayJournal(journalFilePath, loans);
+        return Optional.of(toLoanBook(loans));
+    }
+
+    private static LinkedHashMap<Name, Loan> toLoansByName(Optional<ReadOnlyLoanBook> snapshot) {
+        LinkedHashMap<Name, Loan> loans = new LinkedHashMap<>();
+        snapshot.ifPresent(loanBook -> loanBook.getPersonList().forEach(loan -> loans.put(loan.getName(), loan)));
+        return loans;
+    }
+
+    private static LoanBook toLoanBook(LinkedHashMap<Name, Loan> loans) {
+        LoanBook loanBook = new LoanBook();
+        loanBook.setPersons(new ArrayList<>(loans.values()));
+        return loanBook;
+    }
+
+    /**
+     * Applies the records in the journal at {@code journalFilePath} to {@code loans} and returns how many there were.
+     * An incomplete last record, as left by a crash in the middle of an append, is skipped.
+     */
+    private int replayJournal(Path journalFilePath, LinkedHashMap<Name, Loan> loans) throws DataLoadingException {
+        logger.info("Replaying journal " + journalFilePath);
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(journalFilePath);
+        } catch (IOException e) {
+            throw new DataLoadingException(e);
+        }
+
+        int recordCount = 0;
+        isJournalDamaged = false;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+
+            JsonAdaptedJournalRecord record;
+            try {
+                record = JsonUtil.fromJsonString(line, JsonAdaptedJournalRecord.class);
+            } catch (IOException e) {
+                if (i < lines.size() - 1) {
+                    throw new DataLoadingException(e);
+                }
+                logger.warning("Ignoring incomplete last record in " + journalFilePath);
+                isJournalDamaged = true;
+                break;
+            }
+
+            try {
+                record.applyTo(loans);
+            } catch (IllegalValueException ive) {
+                logger.info("Illegal values found in " + journalFilePath + ": " + ive.getMessage());
+                throw new DataLoadingException(ive);
+            }
+            recordCount++;
+        }
+        return recordCount;
+    }
+
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException {
+        saveLoanBook(loanBook, getLoanBookFilePath());
+    }
+
+    /**
+     * Similar to {@link #saveLoanBook(ReadOnlyLoanBook)}.
+     * Appends the changes since the last read or save to the journal, or writes a fresh snapshot if there is no
+     * such read or save for {@code filePath}, or if the journal is full. A journal that is already over the
+     * compaction threshold, e.g. one read with a threshold of 0, is compacted even if nothing changed.
+     *
+     * @param filePath location of the snapshot. Cannot be null.
+     */
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+        requireNonNull(loanBook);
+        requireNonNull(filePath);
+        saveLoanBook(loanBook, filePath, compactionThreshold);
+    }
+
+    /**
+     * Compacts the journal into a fresh snapshot, so that the snapshot alone holds the loans last read or saved,
+     * e.g. when the app exits. Does nothing if there is no journal.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (savedLoans != null && (journalRecordCount > 0 || isJournalDamaged)) {
+            LoanBook loanBook = new LoanBook();
+            loanBook.setPersons(savedLoans);
+            saveLoanBook(loanBook, savedFilePath, 0);
+        }
+        snapshotStorage.flush();
+    }
+
+    private void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath, int compactionThreshold) throws IOException {
+        List<Loan> loans = new ArrayList<>(loanBook.getPersonList());
+        if (savedLoans == null || !filePath.equals(savedFilePath) || isJournalDamaged) {
+            Path journalFilePath = getJournalFilePath(filePath);
+            if (FileUtil.isFileExists(journalFilePath)) {
+                // Holds the loans until the snapshot is written, so that a crash before then loses nothing
+                savedLoans = null;
+                List<JsonAdaptedJournalRecord> records = new ArrayList<>(loans.size() + 1);
+                records.add(JsonAdaptedJournalRecord.clear());
+                loans.forEach(loan -> records.add(JsonAdaptedJournalRecord.put(loan)));
+                FileUtil.writeToFile(journalFilePath, toJournalEntry(records));
+            }
+            compact(loanBook, loans, filePath);
+            return;
+        }
+
+        List<JsonAdaptedJournalRecord> records = getChanges(savedLoans, loans);
+        if (records.isEmpty() && journalRecordCount <= compactionThreshold) {
+            return;
+        }
+        if (journalRecordCount + records.size() > compactionThreshold) {
+            if (journalRecordCount > 0) {
+                // Brings the journal up to date, so that it leaves the same loans if a crash keeps it around
+                records.add(JsonAdaptedJournalRecord.order(loans));
+                appendToJournal(records, filePath);
+                markSaved(loans, filePath, journalRecordCount + records.size());
+            }
+            compact(loanBook, loans, filePath);
+            return;
+        }
+
+        appendToJournal(records, filePath);
+        markSaved(loans, filePath, journalRecordCount + records.size());
+    }
+
+    private static void appendToJournal(List<JsonAdaptedJournalRecord> records, Path filePath) throws IOException {
+        FileUtil.appendToFile(getJournalFilePath(filePath), toJournalEntry(records));
+    }
+
+    private static String toJournalEntry(List<JsonAdaptedJournalRecord> records) throws IOException {
+        StringBuilder journalEntry = new StringBuilder();
+        for (JsonAdaptedJournalRecord record : records) {
+            journalEntry.append(JsonUtil.toCompactJsonString(record)).append('\n');
+        }
+        return journalEntry.toString();
+    }
+
+    /**
+     * Writes {@code loanBook} as a fresh snapshot and deletes the journal it supersedes, which must leave the same
+     * loans when replayed over that snapshot, or not exist.
+     */
+    private void compact(ReadOnlyLoanBook loanBook, List<Loan> loans, Path filePath) throws IOException {
+        logger.fine("Writing a new snapshot to " + filePath);
+        snapshotStorage.saveLoanBook(loanBook, filePath);
+        Files.deleteIfExists(getJournalFilePath(filePath));
+        isJournalDamaged = false;
+        markSaved(loans, filePath, 0);
+    }
+
+    private void markSaved(List<Loan> loans, Path filePath, int recordCount) {
+        savedLoans = loans;
+        savedFilePath = filePath;
+        journalRecordCount = recordCount;
+    }
+
+    /**
+     * Returns the records that turn {@code savedLoans} into {@code loans} when replayed.
+     * Loans are immutable, so a loan needs a record only if it is no longer the same object.
+     */
+    private static List<JsonAdaptedJournalRecord> getChanges(List<Loan> savedLoans, List<Loan> loans) {
+        Set<Name> names = new HashSet<>();
+        for (Loan loan : loans) {
+            names.add(loan.getName());
+        }
+
+        List<JsonAdaptedJournalRecord> records = new ArrayList<>();
+        Map<Name, Loan> savedLoansByName = new HashMap<>();
+        List<Name> replayedOrder = new ArrayList<>(loans.size());
+        for (Loan savedLoan : savedLoans) {
+            savedLoansByName.put(savedLoan.getName(), savedLoan);
+            if (names.contains(savedLoan.getName())) {
+                replayedOrder.add(savedLoan.getName());
+            } else {
+                records.add(JsonAdaptedJournalRecord.remove(savedLoan.getName()));
+            }
+        }
+
+        for (Loan loan : loans) {
+            Loan savedLoan = savedLoansByName.get(loan.getName());
+            if (savedLoan == null) {
+                replayedOrder.add(loan.getName());
+            }
+            if (savedLoan != loan) {
+                records.add(JsonAdaptedJournalRecord.put(loan));
+            }
+        }
+
+        // Replaying puts leaves existing loans in place and appends new ones, which may not be the order we want
+        for (int i = 0; i < loans.size(); i++) {
+            if (!loans.get(i).getName().equals(replayedOrder.get(i))) {
+                records.add(JsonAdaptedJournalRecord.order(loans));
+                break;
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,118 @@
+package wanted.storage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.model.loan.Loan;
+import wanted.model.loan.Name;
+
+/**
+ * Jackson-friendly version of one change recorded in a loan book journal.
+ * <p>
+ * A record either puts a loan (replacing the loan with the same name in place, or appending it),
+ * removes the loan with a given name, reorders the loans by name, or removes all loans.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class JsonAdaptedJournalRecord {
+
+    public static final String OP_PUT = "put";
+    public static final String OP_REMOVE = "remove";
+    public static final String OP_ORDER = "order";
+    public static final String OP_CLEAR = "clear";
+    public static final String MESSAGE_INVALID_RECORD = "Journal record is invalid: %s";
+
+    private final String op;
+    private final JsonAdaptedLoan loan;
+    private final String name;
+    private final List<String> names;
+
+    /**
+     * Constructs a {@code JsonAdaptedJournalRecord} with the given record details.
+     */
+    @JsonCreator
+    public JsonAdaptedJournalRecord(@JsonProperty("op") String op,
+                                    @JsonProperty("loan") JsonAdaptedLoan loan,
+                                    @JsonProperty("name") String name,
+                                    @JsonProperty("names") List<String> names) {
+        this.op = op;
+        this.loan = loan;
+        this.name = name;
+        this.names = names;
+    }
+
+    /**
+     * Returns a record that puts {@code loan} into the loan book.
+     */
+    public static JsonAdaptedJournalRecord put(Loan loan) {
+        return new JsonAdaptedJournalRecord(OP_PUT, new JsonAdaptedLoan(loan), null, null);
+    }
+
+    /**
+     * Returns a record that removes the loan named {@code name} from the loan book.
+     */
+    public static JsonAdaptedJournalRecord remove(Name name) {
+        return new JsonAdaptedJournalRecord(OP_REMOVE, null, name.fullName, null);
+    }
+
+    /**
+     * Returns a record that orders the loans in the loan book as in {@code loans}.
+     */
+    public static JsonAdaptedJournalRecord order(List<Loan> loans) {
+        List<String> names = new ArrayList<>(loans.size());
+        for (Loan loan : loans) {
+            names.add(loan.getName().fullName);
+        }
+        return new JsonAdaptedJournalRecord(OP_ORDER, null, null, names);
+    }
+
+    /**
+     * Returns a record that removes all loans from the loan book.
+     */
+    public static JsonAdaptedJournalRecord clear() {
+        return new JsonAdaptedJournalRecord(OP_CLEAR, null, null, null);
+    }
+
+    /**
+     * Applies this record to {@code loans}, the loans of a loan book keyed by name in order.
+     * Putting a loan whose name is already present keeps its position, as {@code LinkedHashMap} does.
+     *
+     * @throws IllegalValueException if this record is malformed or holds an invalid loan.
+     */
+    public void applyTo(LinkedHashMap<Name, Loan> loans) throws IllegalValueException {
+        if (OP_PUT.equals(op) && loan != null) {
+            Loan modelLoan = loan.toModelType();
+            loans.put(modelLoan.getName(), modelLoan);
+        } else if (OP_REMOVE.equals(op) && name != null) {
+            loans.remove(toName(name));
+        } else if (OP_ORDER.equals(op) && names != null) {
+            LinkedHashMap<Name, Loan> ordered = new LinkedHashMap<>();
+            for (String loanName : names) {
+                Loan orderedLoan = loans.remove(toName(loanName));
+                if (orderedLoan != null) {
+                    ordered.put(orderedLoan.getName(), orderedLoan);
+                }
+            }
+            // Loans that the record does not mention keep their relative order after the others
+            ordered.putAll(loans);
+            loans.clear();
+            loans.putAll(ordered);
+        } else if (OP_CLEAR.equals(op)) {
+            loans.clear();
+        } else {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_RECORD, op));
+        }
+    }
+
+    private static Name toName(String name) throws IllegalValueException {
+        if (!Name.isValidName(name)) {
+            throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+        }
+        return new Name(name);
+    }
+}
@@ -8,7 +8,10 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import wanted.commons.core.datatypes.MoneyInt;
 import wanted.commons.exceptions.IllegalValueException;
+import wanted.logic.parser.ParserUtil;
+import wanted.logic.parser.exceptions.ParseException;
 import wanted.model.loan.Loan;
 import wanted.model.loan.LoanAmount;
 import wanted.model.loan.Name;
@@ -25,27 +28,54 @@ class JsonAdaptedLoan {
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Loan's %s field is missing!";
     public static final String LOAN_EXCESS_REPAYMENT_MESSAGE = "Loan transactions violate the constraint that "
             + "the remaining loan amount should never be negative.";
+    public static final String LOAN_AMOUNT_TOO_LARGE_MESSAGE = "Loan's total amount is too large.";
+    public static final String SUMMARY_MISMATCH_MESSAGE = "Loan's saved totals do not match its transactions.";
+    public static final String CHECKSUM_MISMATCH_MESSAGE = "Loan's saved checksum does not match its details, "
+            + "so the loan has been damaged.";
 
     private final String name;
+    private final String totalAmount;
+    private final String remainingAmount;
+    private final Integer transactionCount;
+    private final Long checksum;
     private final String phoneValue;
     private final List<JsonAdaptedLoanTransaction> transactions = new ArrayList<>();
     private final List<JsonAdaptedTag> tags = new ArrayList<>();
 
+    /**
+     * Constructs a {@code JsonAdaptedLoan} with the given loan details, without saved totals.
+     */
+    public JsonAdaptedLoan(String name, List<JsonAdaptedLoanTransaction> transactions, List<JsonAdaptedTag> tags,
+            String phoneValue) {
+        this(name, null, null, null, transactions, tags, null, phoneValue);
+    }
+
     /**
      * Constructs a {@code JsonAdaptedLoan} with the given loan details.
+     * The totals and number of transactions, if given, summarise the transactions so that they can be shown
+     * without reading the transactions. The checksum, if given, is checked against the other details when they
+     * are converted, see {@link LoanChecksum}.
      */
     @JsonCreator
     public JsonAdaptedLoan(@JsonProperty("name") String name,
+                           @JsonProperty("totalAmount") String totalAmount,
+                           @JsonProperty("remainingAmount") String remainingAmount,
+                           @JsonProperty("transactionCount") Integer transactionCount,
                            @JsonProperty("transactions") List<JsonAdaptedLoanTransaction> transactions,
                            @JsonProperty("tags") List<JsonAdaptedTag> tags,
+                           @JsonProperty("checksum") Long checksum,
                            @JsonProperty("phone") String phoneValue) {
         this.name = name;
+        this.totalAmount = totalAmount;
+        this.remainingAmount = remainingAmount;
+        this.transactionCount = transactionCount;
         if (transactions != null) {
             this.transactions.addAll(transactions);
         }
         if (tags != null) {
             this.tags.addAll(tags);
         }
+        this.checksum = checksum;
         this.phoneValue = phoneValue;
     }
 
@@ -54,6 +84,10 @@ class JsonAdaptedLoan {
      */
     public JsonAdaptedLoan(Loan source) {
         name = source.getName().fullName;
+        LoanAmount loanAmount = source.getLoanAmount();
+        totalAmount = loanAmount.getTotalAmount().getStringRepresentationWithFixedDecimalPoint();
+        remainingAmount = loanAmount.getRemainingAmount().getStringRepresentationWithFixedDecimalPoint();
+        transactionCount = loanAmount.getTransactionsCount();
 
         transactions.addAll(source.getLoanAmount().getTransactionHistoryCopy().stream()
                 .map(JsonAdaptedLoanTransaction::new)
@@ -64,6 +98,7 @@ class JsonAdaptedLoan {
                 .toList());
 
         phoneValue = source.getPhone() == null ? null : source.getPhone().getValue();
+        checksum = computeChecksum();
     }
 
     /**
@@ -72,36 +107,146 @@ class JsonAdaptedLoan {
      * @throws IllegalValueException if there were any data constraints violated in the adapted loan.
      */
     public Loan toModelType() throws IllegalValueException {
-        if (name == null) {
-            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, Name.class.getSimpleName()));
-        }
-        if (!Name.isValidName(name)) {
-            throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+        if (checksum != null) {
+            verifyChecksum(checksum, computeChecksum());
         }
-        final Name modelName = new Name(name);
 
         final ArrayList<LoanTransaction> modelTransactions = new ArrayList<>();
         for (JsonAdaptedLoanTransaction transaction : transactions) {
             modelTransactions.add(transaction.toModelType());
         }
 
-        final List<Tag> personTags = new ArrayList<>();
+        final Set<Tag> modelTags = new HashSet<>();
         for (JsonAdaptedTag tag : tags) {
-            personTags.add(tag.toModelType());
+            modelTags.add(tag.toModelType());
         }
-        final Set<Tag> modelTags = new HashSet<>(personTags);
 
-        final Phone phone;
-        if (phoneValue == null || !Phone.isValidPhone(phoneValue)) {
-            phone = null;
-        } else {
-            phone = new Phone(phoneValue);
+        Loan loan = toModelType(name, modelTransactions, modelTags, phoneValue);
+        verifySummary(loan, totalAmount, remainingAmount, transactionCount);
+        return loan;
+    }
+
+    private long computeChecksum() {
+        LoanChecksum computed = new LoanChecksum().add(name).add(totalAmount).add(remainingAmount)
+                .add(transactionCount);
+        for (JsonAdaptedLoanTransaction transaction : transactions) {
+            transaction.addTo(computed);
+        }
+        computed.add(tags.size());
+        for (JsonAdaptedTag tag : tags) {
+            computed.add(tag.getTagName());
+        }
+        return computed.add(phoneValue).getValue();
+    }
+
+    /**
+     * Checks that the checksum saved with a loan matches the one computed from its details.
+     *
+     * @throws IllegalValueException if they do not match.
+     */
+    static void verifyChecksum(long savedChecksum, long computedChecksum) throws IllegalValueException {
+        if (savedChecksum != computedChecksum) {
+            throw new IllegalValueException(CHECKSUM_MISMATCH_MESSAGE);
+        }
+    }
+
+    /**
+     * Checks that the saved totals and number of transactions of a loan, if all are given, match {@code loan}.
+     *
+     * @throws IllegalValueException if they do not match.
+     */
+    static void verifySummary(Loan loan, String totalAmount, String remainingAmount, Integer transactionCount)
+            throws IllegalValueException {
+        if (!hasSummary(totalAmount, remainingAmount, transactionCount)) {
+            return;
+        }
+        LoanAmount loanAmount = loan.getLoanAmount();
+        if (!parseSavedAmount(totalAmount).equals(loanAmount.getTotalAmount())
+                || !parseSavedAmount(remainingAmount).equals(loanAmount.getRemainingAmount())
+                || transactionCount != loanAmount.getTransactionsCount()) {
+            throw new IllegalValueException(SUMMARY_MISMATCH_MESSAGE);
+        }
+    }
+
+    /**
+     * Returns true if all of the saved totals and the number of transactions of a loan are given.
+     */
+    static boolean hasSummary(String totalAmount, String remainingAmount, Integer transactionCount) {
+        return totalAmount != null && remainingAmount != null && transactionCount != null;
+    }
+
+    /**
+     * Returns a {@code LoanAmount} with the given saved totals and number of transactions, whose transactions
+     * are only loaded with {@code loader} when they are needed.
+     *
+     * @throws IllegalValueException if the totals or the number of transactions are not valid.
+     */
+    static LoanAmount toLoanAmountSummary(String totalAmount, String remainingAmount, int transactionCount,
+            LoanAmount.TransactionHistoryLoader loader) throws IllegalValueException {
+        try {
+            return LoanAmount.withLazyHistory(parseSavedAmount(totalAmount), parseSavedAmount(remainingAmount),
+                    transactionCount, loader);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalValueException(SUMMARY_MISMATCH_MESSAGE);
         }
+    }
 
+    private static MoneyInt parseSavedAmount(String amount) throws IllegalValueException {
+        try {
+            return ParserUtil.parseMoneyAmount(amount);
+        } catch (ParseException e) {
+            throw new IllegalValueException(ParserUtil.MESSAGE_INVALID_MONEY_AMOUNT);
+        }
+    }
+
+    /**
+     * Returns the model's {@code Loan} object with the given details, as read from a json file.
+     * The transactions and tags are already converted, so this also suits readers that do not build a
+     * {@code JsonAdaptedLoan} first.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the given details.
+     */
+    static Loan toModelType(String name, ArrayList<LoanTransaction> modelTransactions, Set<Tag> modelTags,
+            String phoneValue) throws IllegalValueException {
+        final Name modelName = toModelName(name);
+        final Phone phone = toModelPhone(phoneValue);
         try {
             return new Loan(modelName, new LoanAmount(modelTransactions), modelTags, phone);
         } catch (ExcessRepaymentException e) {
             throw new IllegalValueException(LOAN_EXCESS_REPAYMENT_MESSAGE);
+        } catch (ArithmeticException e) {
+            throw new IllegalValueException(LOAN_AMOUNT_TOO_LARGE_MESSAGE);
+        }
+    }
+
+    /**
+     * Returns the model's {@code Loan} object with the given details and an already built {@code LoanAmount},
+     * e.g. one whose transactions are loaded lazily.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the given details.
+     */
+    static Loan toModelType(String name, LoanAmount loanAmount, Set<Tag> modelTags, String phoneValue)
+            throws IllegalValueException {
+        return new Loan(toModelName(name), loanAmount, modelTags, toModelPhone(phoneValue));
+    }
+
+    private static Name toModelName(String name) throws IllegalValueException {
+        if (name == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, Name.class.getSimpleName()));
+        }
+        if (!Name.isValidName(name)) {
+            throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+        }
+        return new Name(name);
+    }
+
+    /**
+     * Returns the phone with the given value, or null if there is none or it is not valid.
+     */
+    private static Phone toModelPhone(String phoneValue) {
+        if (phoneValue == null || !Phone.isValidPhone(phoneValue)) {
+            return null;
         }
+        return new Phone(phoneValue);
     }
 }
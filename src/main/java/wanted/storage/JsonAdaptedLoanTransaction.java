@@ -19,6 +19,8 @@ import wanted.model.tag.Tag;
 class JsonAdaptedLoanTransaction {
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Loan's %s field is missing!";
+    public static final String TYPE_ADD = "add";
+    public static final String TYPE_REPAY = "repay";
 
     private final String type;
     private final String amount;
@@ -40,15 +42,29 @@ class JsonAdaptedLoanTransaction {
      * Converts a given {@code LoanTransaction} into this class for Jackson use.
      */
     public JsonAdaptedLoanTransaction(LoanTransaction source) {
-        if (source instanceof AddLoanTransaction) {
-            this.type = "add";
-        } else if (source instanceof RepayLoanTransaction) {
-            this.type = "repay";
+        this.type = getType(source);
+        this.amount = source.getAmount().getStringRepresentationWithFixedDecimalPoint();
+        this.date = source.getDate().toString();
+    }
+
+    /**
+     * Returns the name that {@code transaction}'s type is saved as.
+     */
+    static String getType(LoanTransaction transaction) {
+        if (transaction instanceof AddLoanTransaction) {
+            return TYPE_ADD;
+        } else if (transaction instanceof RepayLoanTransaction) {
+            return TYPE_REPAY;
         } else {
             throw new RuntimeException("Unknown LoanTransaction type");
         }
-        this.amount = source.getAmount().getStringRepresentationWithFixedDecimalPoint();
-        this.date = source.getDate().toString();
+    }
+
+    /**
+     * Adds the values of this transaction to {@code checksum}, in the order they are saved in.
+     */
+    void addTo(LoanChecksum checksum) {
+        checksum.add(type).add(amount).add(date);
     }
 
     /**
@@ -79,9 +95,9 @@ class JsonAdaptedLoanTransaction {
             throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "type"));
         }
         switch (type) {
-        case "add":
+        case TYPE_ADD:
             return new AddLoanTransaction(modelAmount, modelDate);
-        case "repay":
+        case TYPE_REPAY:
             return new RepayLoanTransaction(modelAmount, modelDate);
         default:
             throw new IllegalValueException("Unknown LoanTransaction type: " + type);
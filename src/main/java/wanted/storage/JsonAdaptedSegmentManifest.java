@@ -0,0 +1,66 @@
+package wanted.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import wanted.commons.exceptions.IllegalValueException;
+
+/**
+ * Jackson-friendly version of the manifest of a segmented loan book.
+ * <p>
+ * The manifest names the file currently holding each segment. Segment files are never overwritten in place, so
+ * replacing the manifest is what makes a save take effect.
+ */
+class JsonAdaptedSegmentManifest {
+
+    public static final int VERSION = 1;
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Unsupported segmented loan book version: %d";
+    public static final String MESSAGE_NO_SEGMENTS = "The segmented loan book manifest lists no segments";
+
+    private final int version;
+    private final long generation;
+    private final List<String> segments = new ArrayList<>();
+
+    /**
+     * Constructs a {@code JsonAdaptedSegmentManifest} with the given manifest details.
+     */
+    @JsonCreator
+    public JsonAdaptedSegmentManifest(@JsonProperty("version") int version,
+                                      @JsonProperty("generation") long generation,
+                                      @JsonProperty("segments") List<String> segments) {
+        this.version = version;
+        this.generation = generation;
+        if (segments != null) {
+            this.segments.addAll(segments);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public List<String> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Checks that this manifest can be read by this version of the app.
+     *
+     * @throws IllegalValueException if the manifest is of another version, or lists no segment files.
+     */
+    public void validate() throws IllegalValueException {
+        if (version != VERSION) {
+            throw new IllegalValueException(String.format(MESSAGE_UNSUPPORTED_VERSION, version));
+        }
+        if (segments.isEmpty() || segments.contains(null)) {
+            throw new IllegalValueException(MESSAGE_NO_SEGMENTS);
+        }
+    }
+}
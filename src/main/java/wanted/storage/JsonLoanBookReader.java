@@ -0,0 +1,440 @@
+package wanted.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.commons.util.JsonUtil;
+import wanted.model.LoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.LoanAmount;
+import wanted.model.loan.transaction.LoanTransaction;
+import wanted.model.tag.Tag;
+
+/**
+ * Reads a LoanBook from the json format of {@link JsonSerializableLoanBook}, one token at a time.
+ * <p>
+ * Loans are read in batches of {@link #CONVERSION_BATCH_SIZE}, each of which is converted to model {@code Loan}s
+ * and validated in parallel as soon as it has been read. Only the loan book being built and the batch being read
+ * are held in memory, rather than the whole file as a {@code String} and a tree of {@code JsonAdaptedLoan}
+ * objects. Unknown fields are skipped, as they are by {@link JsonUtil}.
+ */
+class JsonLoanBookReader {
+
+    /** Number of loans read before they are converted together. */
+    static final int CONVERSION_BATCH_SIZE = 4096;
+
+    public static final String MESSAGE_UNREADABLE = "The rest of the file is not valid json: ";
+
+    /**
+     * Returns the loan book read from {@code in}.
+     *
+     * @throws IOException if {@code in} could not be read or does not hold a json object.
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    public static LoanBook read(InputStream in) throws IOException, IllegalValueException {
+        try (JsonParser parser = JsonUtil.createParser(in)) {
+            expect(parser, nextToken(parser), JsonToken.START_OBJECT);
+
+            LoanBook loanBook = null;
+            while (nextToken(parser) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = nextToken(parser);
+                if (field.equals("persons") && value != JsonToken.VALUE_NULL) {
+                    expect(parser, value, JsonToken.START_ARRAY);
+                    loanBook = readLoans(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (loanBook == null) {
+                throw new IllegalValueException(
+                        String.format(JsonAdaptedLoan.MISSING_FIELD_MESSAGE_FORMAT, "persons"));
+            }
+            return loanBook;
+        }
+    }
+
+    /**
+     * Returns the loans that can be read from {@code in}, along with those that cannot, e.g. because they do not
+     * match their checksums, are not valid or duplicate an earlier loan. Unlike {@link #read}, every recovered
+     * loan has its transactions loaded and checked.
+     * <p>
+     * If the json becomes malformed part way through, the loans before that point are recovered and the rest of
+     * the file is reported as a single loan that could not be read.
+     *
+     * @throws IOException if {@code in} could not be read or its loans could not be found.
+     * @throws IllegalValueException if {@code in} holds no loans.
+     */
+    public static Recovery recover(InputStream in) throws IOException, IllegalValueException {
+        try (JsonParser parser = JsonUtil.createParser(in)) {
+            expect(parser, nextToken(parser), JsonToken.START_OBJECT);
+            while (nextToken(parser) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (nextToken(parser) == JsonToken.START_ARRAY && field.equals("persons")) {
+                    return recoverLoans(parser);
+                }
+                parser.skipChildren();
+            }
+            throw new IllegalValueException(String.format(JsonAdaptedLoan.MISSING_FIELD_MESSAGE_FORMAT, "persons"));
+        }
+    }
+
+    private static Recovery recoverLoans(JsonParser parser) {
+        LoanBook loanBook = new LoanBook();
+        List<QuarantinedLoan> quarantinedLoans = new ArrayList<>();
+        int index = 0;
+        try {
+            for (; nextToken(parser) != JsonToken.END_ARRAY; index++) {
+                JsonNode record = parser.readValueAsTree();
+                try {
+                    Loan loan = recoverLoan(record);
+                    if (loanBook.hasPerson(loan)) {
+                        throw new IllegalValueException(JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON);
+                    }
+                    loanBook.addPerson(loan);
+                } catch (IOException | IllegalValueException e) {
+                    quarantinedLoans.add(new QuarantinedLoan(index, e.getMessage(), record));
+                }
+            }
+        } catch (IOException e) {
+            quarantinedLoans.add(new QuarantinedLoan(index, MESSAGE_UNREADABLE + e.getMessage(), null));
+        }
+        return new Recovery(loanBook, quarantinedLoans);
+    }
+
+    private static Loan recoverLoan(JsonNode record) throws IOException, IllegalValueException {
+        try (JsonParser recordParser = record.traverse()) {
+            expect(recordParser, recordParser.nextToken(), JsonToken.START_OBJECT);
+            Loan loan = readUnconvertedLoan(recordParser).toModelType();
+            loan.getLoanAmount().getTransactionHistoryCopy();
+            return loan;
+        } catch (IllegalStateException e) {
+            // The transactions could not be loaded
+            throw new IllegalValueException(e.getMessage());
+        }
+    }
+
+    private static LoanBook readLoans(JsonParser parser) throws IOException, IllegalValueException {
+        LoanBook loanBook = new LoanBook();
+        List<ReadLoan> batch = new ArrayList<>();
+        while (nextToken(parser) != JsonToken.END_ARRAY) {
+            expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+            batch.add(readUnconvertedLoan(parser));
+            if (batch.size() == CONVERSION_BATCH_SIZE) {
+                ParallelLoanConverter.addAll(loanBook, batch, ReadLoan::toModelType);
+                batch.clear();
+            }
+        }
+        ParallelLoanConverter.addAll(loanBook, batch, ReadLoan::toModelType);
+        return loanBook;
+    }
+
+    /**
+     * Reads the loan whose {@code START_OBJECT} token is the current token.
+     */
+    static Loan readLoan(JsonParser parser) throws IOException, IllegalValueException {
+        return readUnconvertedLoan(parser).toModelType();
+    }
+
+    /**
+     * Reads the loan whose {@code START_OBJECT} token is the current token, without converting it.
+     */
+    private static ReadLoan readUnconvertedLoan(JsonParser parser) throws IOException {
+        String name = null;
+        String totalAmount = null;
+        String remainingAmount = null;
+        Integer transactionCount = null;
+        Long checksum = null;
+        String phone = null;
+        String phoneValue = null;
+        boolean hasPhoneValue = false;
+        ReadTransactions transactions = new ReadTransactions();
+        List<JsonAdaptedTag> tags = new ArrayList<>();
+
+        while (nextToken(parser) == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = nextToken(parser);
+            switch (field) {
+            case "name":
+                name = readString(parser);
+                break;
+            case "totalAmount":
+                totalAmount = readString(parser);
+                break;
+            case "remainingAmount":
+                remainingAmount = readString(parser);
+                break;
+            case "transactionCount":
+                if (value != JsonToken.VALUE_NULL) {
+                    expect(parser, value, JsonToken.VALUE_NUMBER_INT);
+                    transactionCount = parser.getIntValue();
+                }
+                break;
+            case "checksum":
+                if (value != JsonToken.VALUE_NULL) {
+                    expect(parser, value, JsonToken.VALUE_NUMBER_INT);
+                    checksum = parser.getLongValue();
+                }
+                break;
+            case "phone":
+                phone = readString(parser);
+                break;
+            case "phoneValue":
+                // The name JsonAdaptedLoan saves phones under, which takes precedence as it does there
+                phoneValue = readString(parser);
+                hasPhoneValue = true;
+                break;
+            case "transactions":
+                if (value == JsonToken.START_ARRAY) {
+                    readTransactions(parser, transactions);
+                } else {
+                    expect(parser, value, JsonToken.VALUE_NULL);
+                }
+                break;
+            case "tags":
+                if (value == JsonToken.START_ARRAY) {
+                    while (nextToken(parser) != JsonToken.END_ARRAY) {
+                        tags.add(new JsonAdaptedTag(readString(parser)));
+                    }
+                } else {
+                    expect(parser, value, JsonToken.VALUE_NULL);
+                }
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+
+        return new ReadLoan(name, totalAmount, remainingAmount, transactionCount, transactions, tags, checksum,
+                hasPhoneValue ? phoneValue : phone);
+    }
+
+    private static void readTransactions(JsonParser parser, ReadTransactions transactions) throws IOException {
+        while (nextToken(parser) != JsonToken.END_ARRAY) {
+            expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+            String type = null;
+            String amount = null;
+            String date = null;
+            while (nextToken(parser) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                nextToken(parser);
+                switch (field) {
+                case "type":
+                    type = readString(parser);
+                    break;
+                case "amount":
+                    amount = readString(parser);
+                    break;
+                case "date":
+                    date = readString(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+                }
+            }
+            transactions.add(type, amount, date);
+        }
+    }
+
+    /**
+     * Moves to the next token, which must exist since every value read is part of an enclosing object.
+     */
+    static JsonToken nextToken(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of input");
+        }
+        return token;
+    }
+
+    /**
+     * Returns the current scalar value as a {@code String}, or null if it is a json {@code null}.
+     */
+    static String readString(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            throw new JsonParseException(parser, "Expected a value but found " + parser.currentToken());
+        }
+        return parser.getValueAsString();
+    }
+
+    static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+
+    /**
+     * A loan as read from a json file, before it is converted to a model {@code Loan}.
+     * <p>
+     * If the file saved the loan's totals, number of transactions and checksum, and the checksum matches, its
+     * transactions are only converted when they are first needed, see {@link LoanAmount#withLazyHistory}. The
+     * checksum shows that the loan is as this app saved it, so the saved totals can be trusted until then.
+     * Otherwise the transactions are converted up front and checked against the saved totals, if any.
+     */
+    private record ReadLoan(String name, String totalAmount, String remainingAmount, Integer transactionCount,
+            ReadTransactions transactions, List<JsonAdaptedTag> tags, Long checksum, String phoneValue) {
+
+        Loan toModelType() throws IllegalValueException {
+            if (checksum != null) {
+                JsonAdaptedLoan.verifyChecksum(checksum, computeChecksum());
+            }
+
+            if (checksum == null || !JsonAdaptedLoan.hasSummary(totalAmount, remainingAmount, transactionCount)) {
+                ArrayList<LoanTransaction> modelTransactions = new ArrayList<>(transactions.load());
+                Loan loan = JsonAdaptedLoan.toModelType(name, modelTransactions, toModelTags(), phoneValue);
+                JsonAdaptedLoan.verifySummary(loan, totalAmount, remainingAmount, transactionCount);
+                return loan;
+            }
+
+            if (transactionCount != transactions.size()) {
+                throw new IllegalValueException(JsonAdaptedLoan.SUMMARY_MISMATCH_MESSAGE);
+            }
+            LoanAmount loanAmount = JsonAdaptedLoan.toLoanAmountSummary(
+                    totalAmount, remainingAmount, transactionCount, transactions);
+            return JsonAdaptedLoan.toModelType(name, loanAmount, toModelTags(), phoneValue);
+        }
+
+        private long computeChecksum() {
+            LoanChecksum computed = new LoanChecksum().add(name).add(totalAmount).add(remainingAmount)
+                    .add(transactionCount);
+            transactions.addTo(computed);
+            computed.add(tags.size());
+            for (JsonAdaptedTag tag : tags) {
+                computed.add(tag.getTagName());
+            }
+            return computed.add(phoneValue).getValue();
+        }
+
+        private Set<Tag> toModelTags() throws IllegalValueException {
+            Set<Tag> modelTags = new HashSet<>();
+            for (JsonAdaptedTag tag : tags) {
+                modelTags.add(tag.toModelType());
+            }
+            return modelTags;
+        }
+    }
+
+    /**
+     * The transactions of a loan as read from a json file, before they are converted.
+     * <p>
+     * Their values are packed into a single string, each followed by {@link #SEPARATOR}, so that a loan whose
+     * transactions are loaded lazily holds one object for them until then, rather than several per transaction.
+     * Values that cannot be packed, i.e. nulls and values containing the separator, are kept as
+     * {@code JsonAdaptedLoanTransaction}s instead.
+     */
+    private static class ReadTransactions implements LoanAmount.TransactionHistoryLoader {
+        /** The same as the checksum's, so that the packed values can be added to a checksum at once. */
+        private static final char SEPARATOR = LoanChecksum.END_OF_VALUE;
+
+        private StringBuilder builder = new StringBuilder();
+        private String packed;
+        private List<JsonAdaptedLoanTransaction> unpacked;
+        private int size;
+
+        void add(String type, String amount, String date) {
+            size++;
+            if (unpacked == null && canPack(type) && canPack(amount) && canPack(date)) {
+                builder.append(type).append(SEPARATOR).append(amount).append(SEPARATOR).append(date).append(SEPARATOR);
+                return;
+            }
+            if (unpacked == null) {
+                unpacked = unpack();
+                builder = null;
+            }
+            unpacked.add(new JsonAdaptedLoanTransaction(type, amount, date));
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Adds the values of the transactions to {@code checksum}, in the order they were read in.
+         */
+        void addTo(LoanChecksum checksum) {
+            if (unpacked == null) {
+                checksum.addValues(getPacked());
+                return;
+            }
+            for (JsonAdaptedLoanTransaction transaction : unpacked) {
+                transaction.addTo(checksum);
+            }
+        }
+
+        private static boolean canPack(String value) {
+            return value != null && value.indexOf(SEPARATOR) == -1;
+        }
+
+        private List<JsonAdaptedLoanTransaction> unpack() {
+            if (unpacked != null) {
+                return unpacked;
+            }
+
+            String values = getPacked();
+            List<JsonAdaptedLoanTransaction> transactions = new ArrayList<>(size);
+            int start = 0;
+            while (start < values.length()) {
+                int typeEnd = values.indexOf(SEPARATOR, start);
+                int amountEnd = values.indexOf(SEPARATOR, typeEnd + 1);
+                int dateEnd = values.indexOf(SEPARATOR, amountEnd + 1);
+                transactions.add(new JsonAdaptedLoanTransaction(values.substring(start, typeEnd),
+                        values.substring(typeEnd + 1, amountEnd), values.substring(amountEnd + 1, dateEnd)));
+                start = dateEnd + 1;
+            }
+            return transactions;
+        }
+
+        /**
+         * Returns the packed values, trimming the builder they were packed into once reading is done.
+         */
+        private synchronized String getPacked() {
+            if (packed == null) {
+                packed = builder.toString();
+                builder = null;
+            }
+            return packed;
+        }
+
+        @Override
+        public List<LoanTransaction> load() throws IllegalValueException {
+            List<LoanTransaction> transactions = new ArrayList<>(size);
+            for (JsonAdaptedLoanTransaction transaction : unpack()) {
+                transactions.add(transaction.toModelType());
+            }
+            return transactions;
+        }
+    }
+
+    /**
+     * A loan that could not be recovered: its position in the file, why it could not be recovered, and the json
+     * it was read from, which is null if the json itself could not be read.
+     */
+    record QuarantinedLoan(int index, String reason, JsonNode record) {}
+
+    /**
+     * The loans recovered from a file, and those that could not be.
+     */
+    record Recovery(LoanBook loanBook, List<QuarantinedLoan> quarantinedLoans) {
+
+        /**
+         * Returns true if the json of every loan in the file could be read, i.e. it is kept by the quarantined
+         * loans if not by the loan book.
+         */
+        boolean isComplete() {
+            return quarantinedLoans.stream().allMatch(quarantinedLoan -> quarantinedLoan.record() != null);
+        }
+    }
+}
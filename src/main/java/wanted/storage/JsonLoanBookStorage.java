@@ -1,11 +1,20 @@
 package wanted.storage;
 
 import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import wanted.commons.core.LogsCenter;
 import wanted.commons.exceptions.DataLoadingException;
@@ -16,15 +25,82 @@ import wanted.model.ReadOnlyLoanBook;
 
 /**
  * A class to access LoanBook data stored as a json file on the hard disk.
+ * <p>
+ * Files whose name ends with {@code .gz} are saved gzip-compressed. Reading detects compressed files from their
+ * content, so a file can be read whatever its name.
+ * <p>
+ * Each loan is saved with a checksum, see {@link LoanChecksum}, so that a damaged loan fails the whole read.
+ * {@link #recoverLoanBook(Path)} then reads the other loans, and moves the damaged ones into a quarantine file.
  */
 public class JsonLoanBookStorage implements LoanBookStorage {
 
+    public static final int DEFAULT_BACKUP_COUNT = 3;
+    public static final String GZIP_FILE_EXTENSION = ".gz";
+    public static final String QUARANTINE_FILE_EXTENSION = ".quarantine.json";
+    public static final String DAMAGED_FILE_EXTENSION = ".damaged";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger logger = LogsCenter.getLogger(JsonLoanBookStorage.class);
 
     private Path filePath;
+    private final int backupCount;
+    private final boolean isCompact;
 
     public JsonLoanBookStorage(Path filePath) {
+        this(filePath, DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * Creates a {@code JsonLoanBookStorage} that keeps up to {@code backupCount} previous versions of each file
+     * it saves.
+     */
+    public JsonLoanBookStorage(Path filePath, int backupCount) {
+        this(filePath, backupCount, false);
+    }
+
+    /**
+     * Creates a {@code JsonLoanBookStorage} that keeps up to {@code backupCount} previous versions of each file
+     * it saves.
+     *
+     * @param isCompact whether to save files without the whitespace that makes them readable.
+     */
+    public JsonLoanBookStorage(Path filePath, int backupCount, boolean isCompact) {
+        checkArgument(backupCount >= 0, "The number of backups cannot be negative");
         this.filePath = filePath;
+        this.backupCount = backupCount;
+        this.isCompact = isCompact;
+    }
+
+    /**
+     * Returns the path of the gzip-compressed file that stands in for the json file at {@code jsonFilePath},
+     * i.e. the same path with {@code .gz} appended.
+     */
+    public static Path getGzipFilePath(Path jsonFilePath) {
+        return jsonFilePath.resolveSibling(jsonFilePath.getFileName() + GZIP_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns true if files saved at {@code filePath} are gzip-compressed.
+     */
+    public static boolean isGzipFilePath(Path filePath) {
+        return filePath.getFileName().toString().endsWith(GZIP_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the path of the file that loans which could not be recovered from the file at {@code filePath}
+     * are moved into.
+     */
+    public static Path getQuarantineFilePath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + QUARANTINE_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the path that the file at {@code filePath} is copied to when part of it could not be read at all,
+     * and so could not be quarantined loan by loan.
+     */
+    public static Path getDamagedFilePath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + DAMAGED_FILE_EXTENSION);
     }
 
     public Path getLoanBookFilePath() {
@@ -45,20 +121,74 @@ public class JsonLoanBookStorage implements LoanBookStorage {
     public Optional<ReadOnlyLoanBook> readLoanBook(Path filePath) throws DataLoadingException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializableLoanBook> jsonAddressBook = JsonUtil.readJsonFile(
-                filePath, JsonSerializableLoanBook.class);
-        if (!jsonAddressBook.isPresent()) {
+        if (!Files.exists(filePath)) {
             return Optional.empty();
         }
 
-        try {
-            return Optional.of(jsonAddressBook.get().toModelType());
+        try (InputStream in = openDecompressed(Files.newInputStream(filePath))) {
+            return Optional.of(JsonLoanBookReader.read(in));
+        } catch (IOException e) {
+            logger.warning("Error reading from json file " + filePath + ": " + e);
+            throw new DataLoadingException(e);
         } catch (IllegalValueException ive) {
             logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
             throw new DataLoadingException(ive);
         }
     }
 
+    /**
+     * Returns the loans that can be read from the file at {@code filePath}. The loans that cannot be read are
+     * saved to the {@link #getQuarantineFilePath quarantine file}, along with the reason for each. If part of the
+     * file is not valid json, the whole file is also copied to the {@link #getDamagedFilePath damaged file}.
+     *
+     * @throws DataLoadingException if no loans could be found, or the quarantine file could not be written.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> recoverLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+
+        JsonLoanBookReader.Recovery recovery;
+        try (InputStream in = openDecompressed(Files.newInputStream(filePath))) {
+            recovery = JsonLoanBookReader.recover(in);
+        } catch (IOException e) {
+            logger.warning("Error recovering from json file " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("No loans to recover in " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+
+        List<JsonLoanBookReader.QuarantinedLoan> quarantinedLoans = recovery.quarantinedLoans();
+        if (!quarantinedLoans.isEmpty()) {
+            try {
+                quarantine(filePath, recovery);
+            } catch (IOException e) {
+                logger.warning("Error quarantining loans from json file " + filePath + ": " + e);
+                throw new DataLoadingException(e);
+            }
+        }
+
+        logger.warning("Recovered " + recovery.loanBook().getPersonList().size() + " loans from " + filePath + ", "
+                + quarantinedLoans.size() + " could not be recovered");
+        for (JsonLoanBookReader.QuarantinedLoan quarantinedLoan : quarantinedLoans) {
+            logger.warning("Loan " + quarantinedLoan.index() + " quarantined: " + quarantinedLoan.reason());
+        }
+        return Optional.of(recovery.loanBook());
+    }
+
+    private void quarantine(Path filePath, JsonLoanBookReader.Recovery recovery) throws IOException {
+        Path quarantineFilePath = getQuarantineFilePath(filePath);
+        FileUtil.rotateBackups(quarantineFilePath, backupCount);
+        JsonUtil.saveJsonFile(Map.of("loans", recovery.quarantinedLoans()), quarantineFilePath);
+        if (!recovery.isComplete()) {
+            Files.copy(filePath, getDamagedFilePath(filePath), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     @Override
     public void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException {
         saveLoanBook(loanBook, filePath);
@@ -73,8 +203,37 @@ public class JsonLoanBookStorage implements LoanBookStorage {
         requireNonNull(loanBook);
         requireNonNull(filePath);
 
-        FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new JsonSerializableLoanBook(loanBook), filePath);
+        FileUtil.createParentDirsOfFile(filePath);
+        FileUtil.rotateBackups(filePath, backupCount);
+        if (!isGzipFilePath(filePath)) {
+            FileUtil.writeToFile(filePath, out -> JsonLoanBookWriter.write(loanBook, out, isCompact));
+            return;
+        }
+
+        FileUtil.writeToFile(filePath, out -> {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            JsonLoanBookWriter.write(loanBook, gzipOut, isCompact);
+            gzipOut.finish();
+        });
+    }
+
+    /**
+     * Returns a stream of the content of {@code in}, decompressing it if it starts with the gzip magic number.
+     */
+    static InputStream openDecompressed(InputStream in) throws IOException {
+        InputStream bufferedIn = new BufferedInputStream(in);
+        bufferedIn.mark(2);
+        int magic = bufferedIn.read() | (bufferedIn.read() << 8);
+        bufferedIn.reset();
+        if (magic == GZIPInputStream.GZIP_MAGIC) {
+            return new GZIPInputStream(bufferedIn, GZIP_BUFFER_SIZE);
+        }
+        return bufferedIn;
+    }
+
+    @Override
+    public List<Path> getLoanBookBackupFilePaths() {
+        return FileUtil.getBackupFilePaths(filePath, backupCount);
     }
 
 }
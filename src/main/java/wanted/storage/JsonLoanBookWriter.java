@@ -0,0 +1,93 @@
+package wanted.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import wanted.commons.util.JsonUtil;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.LoanAmount;
+import wanted.model.loan.transaction.LoanTransaction;
+import wanted.model.tag.Tag;
+
+/**
+ * Writes a LoanBook in the json format of {@link JsonSerializableLoanBook}, one token at a time.
+ * <p>
+ * Loans are written straight from the model, without first copying them into {@code JsonAdaptedLoan} objects
+ * or building the whole file as a {@code String}. The pretty-printed output is the same as that of
+ * {@link JsonUtil#toJsonString(Object)}; the compact output leaves out all whitespace.
+ */
+class JsonLoanBookWriter {
+
+    /**
+     * Writes {@code loanBook} to {@code out}. Does not close {@code out}.
+     *
+     * @param isCompact whether to leave out the whitespace that makes the output readable.
+     */
+    public static void write(ReadOnlyLoanBook loanBook, OutputStream out, boolean isCompact) throws IOException {
+        try (JsonGenerator generator = JsonUtil.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!isCompact) {
+                generator.useDefaultPrettyPrinter();
+            }
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("persons");
+            for (Loan loan : loanBook.getPersonList()) {
+                writeLoan(generator, loan);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes {@code loan} with the fields of {@link JsonAdaptedLoan}, in the same order.
+     */
+    static void writeLoan(JsonGenerator generator, Loan loan) throws IOException {
+        LoanChecksum checksum = new LoanChecksum();
+        generator.writeStartObject();
+        writeStringField(generator, checksum, "name", loan.getName().fullName);
+
+        LoanAmount loanAmount = loan.getLoanAmount();
+        writeStringField(generator, checksum, "totalAmount",
+                loanAmount.getTotalAmount().getStringRepresentationWithFixedDecimalPoint());
+        writeStringField(generator, checksum, "remainingAmount",
+                loanAmount.getRemainingAmount().getStringRepresentationWithFixedDecimalPoint());
+        generator.writeNumberField("transactionCount", loanAmount.getTransactionsCount());
+        checksum.add(loanAmount.getTransactionsCount());
+
+        generator.writeArrayFieldStart("transactions");
+        for (int i = 0; i < loanAmount.getTransactionsCount(); i++) {
+            LoanTransaction transaction = loanAmount.getTransaction(i);
+            generator.writeStartObject();
+            writeStringField(generator, checksum, "type", JsonAdaptedLoanTransaction.getType(transaction));
+            writeStringField(generator, checksum, "amount",
+                    transaction.getAmount().getStringRepresentationWithFixedDecimalPoint());
+            writeStringField(generator, checksum, "date", transaction.getDate().toString());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("tags");
+        checksum.add(loan.getTags().size());
+        for (Tag tag : loan.getTags()) {
+            generator.writeString(tag.tagName);
+            checksum.add(tag.tagName);
+        }
+        generator.writeEndArray();
+
+        String phoneValue = loan.getPhone() == null ? null : loan.getPhone().getValue();
+        generator.writeNumberField("checksum", checksum.add(phoneValue).getValue());
+        generator.writeStringField("phoneValue", phoneValue);
+        generator.writeEndObject();
+    }
+
+    private static void writeStringField(JsonGenerator generator, LoanChecksum checksum, String field, String value)
+            throws IOException {
+        generator.writeStringField(field, value);
+        checksum.add(value);
+    }
+}
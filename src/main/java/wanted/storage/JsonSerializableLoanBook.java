@@ -11,7 +11,6 @@ import com.fasterxml.jackson.annotation.JsonRootName;
 import wanted.commons.exceptions.IllegalValueException;
 import wanted.model.LoanBook;
 import wanted.model.ReadOnlyLoanBook;
-import wanted.model.loan.Loan;
 
 /**
  * An Immutable LoanBook that is serializable to JSON format.
@@ -43,19 +42,12 @@ class JsonSerializableLoanBook {
 
     /**
      * Converts this loan book into the model's {@code LoanBook} object.
+     * The loans are converted in parallel, see {@link ParallelLoanConverter}.
      *
      * @throws IllegalValueException if there were any data constraints violated.
      */
     public LoanBook toModelType() throws IllegalValueException {
-        LoanBook loanBook = new LoanBook();
-        for (JsonAdaptedLoan jsonAdaptedLoan : persons) {
-            Loan person = jsonAdaptedLoan.toModelType();
-            if (loanBook.hasPerson(person)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_PERSON);
-            }
-            loanBook.addPerson(person);
-        }
-        return loanBook;
+        return ParallelLoanConverter.toLoanBook(persons, JsonAdaptedLoan::toModelType);
     }
 
 }
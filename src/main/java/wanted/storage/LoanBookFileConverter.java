@@ -0,0 +1,68 @@
+package wanted.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import wanted.commons.core.LogsCenter;
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.util.FileUtil;
+import wanted.model.ReadOnlyLoanBook;
+
+/**
+ * Converts a loan book file from one storage format to another, e.g. from json to binary.
+ */
+public class LoanBookFileConverter {
+
+    public static final String CONVERTED_FILE_EXTENSION = ".converted";
+
+    private static final Logger logger = LogsCenter.getLogger(LoanBookFileConverter.class);
+
+    /**
+     * Saves the loan book read from {@code source} with {@code target}, and renames the source file and its
+     * journal, if any, by appending {@link #CONVERTED_FILE_EXTENSION}. Renaming them keeps a copy of the old data
+     * while making sure it is not converted again, which would overwrite newer changes.
+     * <p>
+     * Does nothing if {@code source} holds no loan book, or if {@code target}'s file already exists.
+     *
+     * @return true if the loan book was converted.
+     * @throws DataLoadingException if the loan book could not be read from {@code source}.
+     * @throws IOException if the loan book could not be written to {@code target}.
+     */
+    public static boolean convert(LoanBookStorage source, LoanBookStorage target)
+            throws DataLoadingException, IOException {
+        requireNonNull(source);
+        requireNonNull(target);
+
+        Path sourceFilePath = source.getLoanBookFilePath();
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(sourceFilePath);
+        boolean hasSourceFile = FileUtil.isFileExists(sourceFilePath) || FileUtil.isFileExists(journalFilePath);
+        if (!hasSourceFile || FileUtil.isFileExists(target.getLoanBookFilePath())) {
+            return false;
+        }
+
+        Optional<ReadOnlyLoanBook> loanBook = source.readLoanBook();
+        if (loanBook.isEmpty()) {
+            return false;
+        }
+
+        logger.info("Converting " + sourceFilePath + " to " + target.getLoanBookFilePath());
+        target.saveLoanBook(loanBook.get());
+        target.flush();
+        markConverted(sourceFilePath);
+        markConverted(journalFilePath);
+        return true;
+    }
+
+    private static void markConverted(Path filePath) throws IOException {
+        if (FileUtil.isFileExists(filePath)) {
+            Path convertedFilePath = filePath.resolveSibling(filePath.getFileName() + CONVERTED_FILE_EXTENSION);
+            Files.move(filePath, convertedFilePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
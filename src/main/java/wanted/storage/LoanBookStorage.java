@@ -2,6 +2,7 @@ package wanted.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 
 import wanted.commons.exceptions.DataLoadingException;
@@ -31,6 +32,29 @@ public interface LoanBookStorage {
      */
     Optional<ReadOnlyLoanBook> readLoanBook(Path filePath) throws DataLoadingException;
 
+    /**
+     * Returns the LoanBook data that can still be read from the data file when {@link #readLoanBook()} fails,
+     * e.g. because some of its loans are damaged.
+     *
+     * @throws DataLoadingException if no data could be recovered.
+     * @see #recoverLoanBook(Path)
+     */
+    default Optional<ReadOnlyLoanBook> recoverLoanBook() throws DataLoadingException {
+        return recoverLoanBook(getLoanBookFilePath());
+    }
+
+    /**
+     * Returns the LoanBook data that can still be read from the file at {@code filePath}.
+     * Storages that can leave out the loans they cannot read keep those loans in a separate file, so that they
+     * are not lost when the data file is next saved. Other storages read the file as
+     * {@link #readLoanBook(Path)} does.
+     *
+     * @throws DataLoadingException if no data could be recovered.
+     */
+    default Optional<ReadOnlyLoanBook> recoverLoanBook(Path filePath) throws DataLoadingException {
+        return readLoanBook(filePath);
+    }
+
     /**
      * Saves the given {@link ReadOnlyLoanBook} to the storage.
      * @param loanBook cannot be null.
@@ -43,4 +67,28 @@ public interface LoanBookStorage {
      */
     void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException;
 
+    /**
+     * Returns the files holding previous versions of the data file, newest first.
+     * Only files that exist are returned; they can be read with {@link #readLoanBook(Path)}.
+     */
+    default List<Path> getLoanBookBackupFilePaths() {
+        return List.of();
+    }
+
+    /**
+     * Blocks until every save requested so far has been written to the file.
+     * Storages that write all of it to the file before {@code saveLoanBook} returns have nothing to do.
+     *
+     * @throws IOException if there was any problem writing to the file.
+     */
+    default void flush() throws IOException {}
+
+    /**
+     * Returns true if a save that has returned has since failed to be written, and the next call to
+     * {@code saveLoanBook} will report it. Storages that write before {@code saveLoanBook} returns never have one.
+     */
+    default boolean hasPendingFailure() {
+        return false;
+    }
+
 }
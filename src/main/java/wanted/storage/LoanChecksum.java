@@ -0,0 +1,61 @@
+package wanted.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Computes the CRC32C checksum saved with each loan in a json file, so that a loan damaged on disk is detected
+ * when it is read.
+ * <p>
+ * The checksum covers the values of a loan's fields rather than the bytes of the file, so it does not depend
+ * on how the file is formatted. Values are added in a fixed order: the name, the total and remaining amounts,
+ * the number of transactions, the type, amount and date of each transaction, the number of tags, each tag and
+ * the phone. Each value is added as its UTF-8 bytes followed by a zero byte; a missing value is added as a one
+ * byte instead.
+ */
+class LoanChecksum {
+
+    /** Marks the end of a value. Also the character that separates packed values, see {@link #addValues}. */
+    static final char END_OF_VALUE = '\u0000';
+
+    private static final byte MISSING_VALUE = 1;
+
+    private final CRC32C crc = new CRC32C();
+
+    /**
+     * Adds {@code value}, which may be null.
+     */
+    LoanChecksum add(String value) {
+        if (value == null) {
+            crc.update(MISSING_VALUE);
+            return this;
+        }
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        crc.update(END_OF_VALUE);
+        return this;
+    }
+
+    /**
+     * Adds {@code value}, which may be null, in decimal.
+     */
+    LoanChecksum add(Integer value) {
+        return add(value == null ? null : value.toString());
+    }
+
+    /**
+     * Adds several values at once, given as a single string in which each value is followed by
+     * {@link #END_OF_VALUE}. This is the same as adding each of them in turn, as {@code END_OF_VALUE} is
+     * encoded as a zero byte.
+     */
+    LoanChecksum addValues(String values) {
+        crc.update(values.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    /**
+     * Returns the checksum of the values added so far.
+     */
+    long getValue() {
+        return crc.getValue();
+    }
+}
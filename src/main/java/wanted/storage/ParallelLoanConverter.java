@@ -0,0 +1,107 @@
+package wanted.storage;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.model.LoanBook;
+import wanted.model.loan.Loan;
+
+/**
+ * Converts loans read from a file into model loans on the common fork-join pool.
+ * <p>
+ * Converting a loan validates its name and tags and replays its transaction history, independently of every
+ * other loan, so the conversions are split across the pool. Adding the converted loans to the loan book, which
+ * checks that they are unique, is then done in order on the calling thread. A loan book is thus built, and
+ * fails, exactly as it would be if its loans were converted one at a time.
+ */
+class ParallelLoanConverter {
+
+    /** Number of loans below which a task converts its loans itself instead of splitting them further. */
+    static final int SEQUENTIAL_THRESHOLD = 64;
+
+    /**
+     * Converts one source into a model loan.
+     */
+    @FunctionalInterface
+    interface Converter<T> {
+        Loan convert(T source) throws IllegalValueException;
+    }
+
+    /**
+     * Returns a loan book holding the loans converted from {@code sources}, in the same order.
+     *
+     * @throws IllegalValueException if a source could not be converted, or if there are duplicate loans.
+     */
+    public static <T> LoanBook toLoanBook(List<T> sources, Converter<T> converter) throws IllegalValueException {
+        LoanBook loanBook = new LoanBook();
+        addAll(loanBook, sources, converter);
+        return loanBook;
+    }
+
+    /**
+     * Adds the loans converted from {@code sources} to the end of {@code loanBook}, in the same order.
+     *
+     * @throws IllegalValueException if a source could not be converted, or if there are duplicate loans.
+     */
+    public static <T> void addAll(LoanBook loanBook, List<T> sources, Converter<T> converter)
+            throws IllegalValueException {
+        Loan[] loans = new Loan[sources.size()];
+        IllegalValueException[] failures = new IllegalValueException[sources.size()];
+        ForkJoinPool.commonPool().invoke(new ConversionTask<>(sources, converter, loans, failures, 0, loans.length));
+
+        for (int i = 0; i < loans.length; i++) {
+            if (failures[i] != null) {
+                throw failures[i];
+            }
+            if (loanBook.hasPerson(loans[i])) {
+                throw new IllegalValueException(JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON);
+            }
+            loanBook.addPerson(loans[i]);
+        }
+    }
+
+    /**
+     * Converts the sources in {@code [from, to)}, storing each loan, or the reason it could not be converted,
+     * at the index of its source. Stops at the first source in its range that could not be converted, as
+     * none of the later ones would be used.
+     */
+    private static class ConversionTask<T> extends RecursiveAction {
+        private final List<T> sources;
+        private final Converter<T> converter;
+        private final Loan[] loans;
+        private final IllegalValueException[] failures;
+        private final int from;
+        private final int to;
+
+        ConversionTask(List<T> sources, Converter<T> converter, Loan[] loans, IllegalValueException[] failures,
+                int from, int to) {
+            this.sources = sources;
+            this.converter = converter;
+            this.loans = loans;
+            this.failures = failures;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ConversionTask<>(sources, converter, loans, failures, from, middle),
+                        new ConversionTask<>(sources, converter, loans, failures, middle, to));
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                try {
+                    loans[i] = converter.convert(sources.get(i));
+                } catch (IllegalValueException ive) {
+                    failures[i] = ive;
+                    return;
+                }
+            }
+        }
+    }
+}
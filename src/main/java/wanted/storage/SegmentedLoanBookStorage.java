@@ -0,0 +1,483 @@
+package wanted.storage;
+
+import static java.util.Objects.requireNonNull;
+import static wanted.commons.util.AppUtil.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import wanted.commons.core.LogsCenter;
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.commons.util.FileUtil;
+import wanted.commons.util.JsonUtil;
+import wanted.model.LoanBook;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.Name;
+
+/**
+ * A class to access LoanBook data stored as a directory of segment files on the hard disk.
+ * <p>
+ * Loans are bucketed by a hash of their name into a fixed number of segments, each saved as its own json file,
+ * and a small manifest names the file currently holding each segment. A save only writes the segments whose
+ * loans changed since the last read or save, e.g. a single repayment rewrites one segment. Changed segments are
+ * written to new files and take effect together when the manifest is replaced, after which the files they
+ * replace are deleted. Loading reads all segments in parallel, and deletes any segment files that the manifest does
+ * not name, as left by a save that stopped before replacing the manifest.
+ * <p>
+ * Each loan is saved with an order key so that the order of the loan book survives bucketing. Keys are spaced
+ * apart and kept across saves where possible, so adding or removing a loan does not touch other segments.
+ */
+public class SegmentedLoanBookStorage implements LoanBookStorage {
+
+    public static final int DEFAULT_SEGMENT_COUNT = 16;
+    public static final String MANIFEST_FILE_NAME = "manifest.json";
+    public static final String SEGMENT_DIRECTORY_EXTENSION = ".segments";
+    public static final String MESSAGE_INVALID_SEGMENT_FILE = "Invalid segment file name: %s";
+    public static final String MESSAGE_ORDER_MISMATCH = "Segment %s does not have one order key per loan";
+
+    static final long ORDER_GAP = 1024;
+
+    private static final String SEGMENT_FILE_NAME_FORMAT = "segment-%d-%d.json";
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("segment-\\d+-\\d+\\.json");
+
+    private static final Logger logger = LogsCenter.getLogger(SegmentedLoanBookStorage.class);
+
+    private final Path filePath;
+    private final int segmentCount;
+
+    /** The segments at {@code filePath} as last read or saved, or null if they are not known. */
+    private SavedSegments savedSegments;
+
+    public SegmentedLoanBookStorage(Path filePath) {
+        this(filePath, DEFAULT_SEGMENT_COUNT);
+    }
+
+    /**
+     * Creates a {@code SegmentedLoanBookStorage} whose manifest is at {@code filePath}, and which saves loans into
+     * {@code segmentCount} segments in the same directory.
+     */
+    public SegmentedLoanBookStorage(Path filePath, int segmentCount) {
+        requireNonNull(filePath);
+        checkArgument(segmentCount > 0, "The number of segments must be positive");
+        this.filePath = filePath;
+        this.segmentCount = segmentCount;
+    }
+
+    /**
+     * Returns the path of the manifest of the segments that stand in for the json file at {@code jsonFilePath},
+     * i.e. {@link #MANIFEST_FILE_NAME} in a directory named after the json file, with its {@code .json}
+     * extension, if any, replaced by {@link #SEGMENT_DIRECTORY_EXTENSION}.
+     */
+    public static Path getManifestFilePath(Path jsonFilePath) {
+        String fileName = jsonFilePath.getFileName().toString();
+        if (fileName.endsWith(".json")) {
+            fileName = fileName.substring(0, fileName.length() - ".json".length());
+        }
+        return jsonFilePath.resolveSibling(fileName + SEGMENT_DIRECTORY_EXTENSION).resolve(MANIFEST_FILE_NAME);
+    }
+
+    @Override
+    public Path getLoanBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook() throws DataLoadingException {
+        return readLoanBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readLoanBook()}.
+     *
+     * @param filePath location of the manifest. Cannot be null.
+     * @throws DataLoadingException if loading the data from storage failed.
+     */
+    @Override
+    public Optional<ReadOnlyLoanBook> readLoanBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        Optional<JsonAdaptedSegmentManifest> manifest = JsonUtil.readJsonFile(
+                filePath, JsonAdaptedSegmentManifest.class);
+        if (manifest.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            manifest.get().validate();
+            List<List<Entry>> segments = readSegments(filePath, manifest.get().getSegments());
+            LoanBook loanBook = toLoanBook(segments);
+            deleteOrphanSegments(filePath, manifest.get().getSegments());
+            if (filePath.equals(this.filePath)) {
+                savedSegments = new SavedSegments(manifest.get().getGeneration(), manifest.get().getSegments(),
+                        segments);
+            }
+            return Optional.of(loanBook);
+        } catch (IOException e) {
+            logger.warning("Error reading from segments of " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in segments of " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+    }
+
+    /**
+     * Reads the segment files named {@code fileNames}, next to the manifest at {@code filePath}, in parallel.
+     */
+    private static List<List<Entry>> readSegments(Path filePath, List<String> fileNames)
+            throws IOException, IllegalValueException {
+        List<Callable<List<Entry>>> tasks = new ArrayList<>();
+        for (String fileName : fileNames) {
+            Path segmentFilePath = getSegmentFilePath(filePath, fileName);
+            tasks.add(() -> readSegment(segmentFilePath));
+        }
+
+        int threadCount = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "LoanBook segment reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<List<Entry>> segments = new ArrayList<>();
+            for (Future<List<Entry>> result : executor.invokeAll(tasks)) {
+                segments.add(result.get());
+            }
+            return segments;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading segments");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            } else if (e.getCause() instanceof IllegalValueException ive) {
+                throw ive;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Path getSegmentFilePath(Path filePath, String fileName) throws IllegalValueException {
+        if (!SEGMENT_FILE_NAME.matcher(fileName).matches()) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_SEGMENT_FILE, fileName));
+        }
+        return filePath.resolveSibling(fileName);
+    }
+
+    private static List<Entry> readSegment(Path segmentFilePath) throws IOException, IllegalValueException {
+        List<Loan> loans = new ArrayList<>();
+        List<Long> orders = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(segmentFilePath);
+                JsonParser parser = JsonUtil.createParser(in)) {
+            JsonLoanBookReader.expect(parser, JsonLoanBookReader.nextToken(parser), JsonToken.START_OBJECT);
+            while (JsonLoanBookReader.nextToken(parser) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = JsonLoanBookReader.nextToken(parser);
+                if (field.equals("persons")) {
+                    JsonLoanBookReader.expect(parser, value, JsonToken.START_ARRAY);
+                    while (JsonLoanBookReader.nextToken(parser) != JsonToken.END_ARRAY) {
+                        JsonLoanBookReader.expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+                        loans.add(JsonLoanBookReader.readLoan(parser));
+                    }
+                } else if (field.equals("order")) {
+                    JsonLoanBookReader.expect(parser, value, JsonToken.START_ARRAY);
+                    while (JsonLoanBookReader.nextToken(parser) != JsonToken.END_ARRAY) {
+                        JsonLoanBookReader.expect(parser, parser.currentToken(), JsonToken.VALUE_NUMBER_INT);
+                        orders.add(parser.getLongValue());
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        if (loans.size() != orders.size()) {
+            throw new IllegalValueException(String.format(MESSAGE_ORDER_MISMATCH, segmentFilePath.getFileName()));
+        }
+        List<Entry> entries = new ArrayList<>(loans.size());
+        for (int i = 0; i < loans.size(); i++) {
+            entries.add(new Entry(orders.get(i), loans.get(i)));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the loan book holding the loans of all {@code segments}, ordered by their order keys.
+     */
+    private static LoanBook toLoanBook(List<List<Entry>> segments) throws IllegalValueException {
+        List<Entry> entries = new ArrayList<>();
+        segments.forEach(entries::addAll);
+        entries.sort(Comparator.comparingLong(Entry::order));
+
+        LoanBook loanBook = new LoanBook();
+        for (Entry entry : entries) {
+            if (loanBook.hasPerson(entry.loan())) {
+                throw new IllegalValueException(JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON);
+            }
+            loanBook.addPerson(entry.loan());
+        }
+        return loanBook;
+    }
+
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException {
+        saveLoanBook(loanBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveLoanBook(ReadOnlyLoanBook)}.
+     *
+     * @param filePath location of the manifest. Cannot be null.
+     */
+    @Override
+    public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+        requireNonNull(loanBook);
+        requireNonNull(filePath);
+
+        SavedSegments previous = filePath.equals(this.filePath) && savedSegments != null
+                ? savedSegments
+                : readSavedManifest(filePath);
+        long generation = previous.generation() + 1;
+
+        List<Loan> loans = loanBook.getPersonList();
+        long[] orders = assignOrders(loans, previous.getOrders());
+        List<List<Entry>> segments = new ArrayList<>();
+        for (int i = 0; i < segmentCount; i++) {
+            segments.add(new ArrayList<>());
+        }
+        for (int i = 0; i < loans.size(); i++) {
+            segments.get(getSegmentIndex(loans.get(i).getName())).add(new Entry(orders[i], loans.get(i)));
+        }
+
+        FileUtil.createParentDirsOfFile(filePath);
+        List<String> fileNames = new ArrayList<>();
+        int writtenCount = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            if (previous.isUnchanged(i, segments.get(i), segmentCount)) {
+                fileNames.add(previous.fileNames().get(i));
+                continue;
+            }
+            String fileName = String.format(SEGMENT_FILE_NAME_FORMAT, i, generation);
+            List<Entry> entries = segments.get(i);
+            FileUtil.writeToFile(filePath.resolveSibling(fileName), out -> writeSegment(entries, out));
+            fileNames.add(fileName);
+            writtenCount++;
+        }
+
+        JsonAdaptedSegmentManifest manifest = new JsonAdaptedSegmentManifest(
+                JsonAdaptedSegmentManifest.VERSION, generation, fileNames);
+        FileUtil.writeToFile(filePath, JsonUtil.toJsonString(manifest));
+        logger.fine("Saved " + writtenCount + " of " + segmentCount + " segments of " + filePath);
+
+        deleteUnusedSegments(filePath, previous.fileNames(), fileNames);
+        if (filePath.equals(this.filePath)) {
+            savedSegments = new SavedSegments(generation, fileNames, segments);
+        }
+    }
+
+    /**
+     * Returns what is known of the segments at {@code filePath} without reading them, i.e. their generation and
+     * files, so that a save neither reuses their file names nor leaves them behind.
+     */
+    private static SavedSegments readSavedManifest(Path filePath) {
+        try {
+            Optional<JsonAdaptedSegmentManifest> manifest = JsonUtil.readJsonFile(
+                    filePath, JsonAdaptedSegmentManifest.class);
+            if (manifest.isPresent()) {
+                return new SavedSegments(manifest.get().getGeneration(), manifest.get().getSegments(), null);
+            }
+        } catch (DataLoadingException e) {
+            logger.warning("Segments of " + filePath + " will be replaced as their manifest could not be read");
+        }
+        return new SavedSegments(0, List.of(), null);
+    }
+
+    private static void writeSegment(List<Entry> entries, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JsonUtil.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("persons");
+            for (Entry entry : entries) {
+                JsonLoanBookWriter.writeLoan(generator, entry.loan());
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("order");
+            for (Entry entry : entries) {
+                generator.writeNumber(entry.order());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Deletes the segment files next to the manifest at {@code filePath} that it does not name, i.e. those written
+     * by a save that stopped before replacing the manifest.
+     */
+    private static void deleteOrphanSegments(Path filePath, List<String> fileNames) {
+        List<String> directoryFileNames = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(filePath.toAbsolutePath().getParent())) {
+            for (Path file : files) {
+                directoryFileNames.add(file.getFileName().toString());
+            }
+        } catch (IOException e) {
+            logger.warning("Segments of " + filePath + " could not be listed: " + e);
+            return;
+        }
+        deleteUnusedSegments(filePath, directoryFileNames, fileNames);
+    }
+
+    private static void deleteUnusedSegments(Path filePath, List<String> previousFileNames, List<String> fileNames) {
+        Set<String> usedFileNames = new HashSet<>(fileNames);
+        for (String fileName : previousFileNames) {
+            if (usedFileNames.contains(fileName) || !SEGMENT_FILE_NAME.matcher(fileName).matches()) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(filePath.resolveSibling(fileName));
+            } catch (IOException e) {
+                logger.warning("Unused segment " + fileName + " could not be deleted: " + e);
+            }
+        }
+    }
+
+    private int getSegmentIndex(Name name) {
+        return Math.floorMod(name.fullName.hashCode(), segmentCount);
+    }
+
+    /**
+     * Returns strictly increasing order keys for {@code loans}, keeping the keys in {@code previousOrders} of as
+     * many of them as it can.
+     * <p>
+     * A loan keeps its previous key if it is greater than that of the loans before it. Loans without a key are
+     * spread evenly between the kept keys around them, or spaced {@link #ORDER_GAP} apart at the ends. If two
+     * kept keys are too close to fit the loans between them, the later key is given up as well.
+     */
+    static long[] assignOrders(List<Loan> loans, Map<Name, Long> previousOrders) {
+        int size = loans.size();
+        long[] orders = new long[size];
+        boolean[] isKept = new boolean[size];
+        long lastKept = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            Long previousOrder = previousOrders.get(loans.get(i).getName());
+            if (previousOrder != null && previousOrder > lastKept) {
+                orders[i] = previousOrder;
+                isKept[i] = true;
+                lastKept = previousOrder;
+            }
+        }
+
+        int start = 0;
+        while (start < size) {
+            if (isKept[start]) {
+                start++;
+                continue;
+            }
+            boolean hasLower = start > 0;
+            long lower = hasLower ? orders[start - 1] : 0;
+            int end = nextKept(isKept, start);
+            while (end < size) {
+                long upper = orders[end];
+                long from = hasLower ? lower : upper - ORDER_GAP * (end - start + 1);
+                if (upper - from > end - start) {
+                    for (int i = start; i < end; i++) {
+                        orders[i] = from + (upper - from) * (i - start + 1) / (end - start + 1);
+                    }
+                    break;
+                }
+                isKept[end] = false;
+                end = nextKept(isKept, end + 1);
+            }
+            if (end == size) {
+                long from = hasLower ? lower : -ORDER_GAP;
+                for (int i = start; i < end; i++) {
+                    orders[i] = from + ORDER_GAP * (i - start + 1);
+                }
+            }
+            start = end;
+        }
+        return orders;
+    }
+
+    private static int nextKept(boolean[] isKept, int from) {
+        int index = from;
+        while (index < isKept.length && !isKept[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * A loan as saved in a segment, with the key that orders it within the whole loan book.
+     */
+    private record Entry(long order, Loan loan) {
+        /**
+         * Returns true if {@code other} saves the same data as this entry. Loans are immutable, so this is
+         * usually decided by identity.
+         */
+        boolean isSavedAs(Entry other) {
+            return order == other.order && (loan == other.loan
+                    || (loan.equals(other.loan) && Objects.equals(loan.getPhone(), other.loan.getPhone())));
+        }
+    }
+
+    /**
+     * The segments of a loan book as last read or saved, whose {@code segments} are null if only their manifest
+     * is known.
+     */
+    private record SavedSegments(long generation, List<String> fileNames, List<List<Entry>> segments) {
+        Map<Name, Long> getOrders() {
+            Map<Name, Long> orders = new HashMap<>();
+            if (segments != null) {
+                segments.forEach(entries -> entries.forEach(entry -> orders.put(entry.loan().getName(),
+                        entry.order())));
+            }
+            return orders;
+        }
+
+        boolean isUnchanged(int index, List<Entry> entries, int segmentCount) {
+            if (segments == null || segments.size() != segmentCount) {
+                return false;
+            }
+            List<Entry> savedEntries = segments.get(index);
+            if (savedEntries.size() != entries.size()) {
+                return false;
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                if (!savedEntries.get(i).isSavedAs(entries.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
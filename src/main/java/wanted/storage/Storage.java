@@ -29,4 +29,10 @@ public interface Storage extends LoanBookStorage, UserPrefsStorage {
     @Override
     void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException;
 
+    @Override
+    void flush() throws IOException;
+
+    @Override
+    boolean hasPendingFailure();
+
 }
@@ -2,6 +2,7 @@ package wanted.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -53,6 +54,11 @@ public class StorageManager implements Storage {
         return loanBookStorage.getLoanBookFilePath();
     }
 
+    @Override
+    public List<Path> getLoanBookBackupFilePaths() {
+        return loanBookStorage.getLoanBookBackupFilePaths();
+    }
+
     @Override
     public Optional<ReadOnlyLoanBook> readLoanBook() throws DataLoadingException {
         return readLoanBook(loanBookStorage.getLoanBookFilePath());
@@ -64,6 +70,12 @@ public class StorageManager implements Storage {
         return loanBookStorage.readLoanBook(filePath);
     }
 
+    @Override
+    public Optional<ReadOnlyLoanBook> recoverLoanBook(Path filePath) throws DataLoadingException {
+        logger.fine("Attempting to recover data from file: " + filePath);
+        return loanBookStorage.recoverLoanBook(filePath);
+    }
+
     @Override
     public void saveLoanBook(ReadOnlyLoanBook loanBook) throws IOException {
         saveLoanBook(loanBook, loanBookStorage.getLoanBookFilePath());
@@ -75,4 +87,15 @@ public class StorageManager implements Storage {
         loanBookStorage.saveLoanBook(loanBook, filePath);
     }
 
+    @Override
+    public void flush() throws IOException {
+        logger.fine("Waiting for pending writes to data file: " + loanBookStorage.getLoanBookFilePath());
+        loanBookStorage.flush();
+    }
+
+    @Override
+    public boolean hasPendingFailure() {
+        return loanBookStorage.hasPendingFailure();
+    }
+
 }
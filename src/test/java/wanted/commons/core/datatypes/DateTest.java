@@ -3,6 +3,7 @@ package wanted.commons.core.datatypes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -13,12 +14,85 @@ public class DateTest {
         assertEquals("2025-01-01", new Date("2025-01-01").getDate());
     }
 
+    @Test
+    public void constructor_invalidDate_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new Date("1 Jan 2025"));
+        assertThrows(IllegalArgumentException.class, () -> new Date("01-01-2025"));
+        assertThrows(IllegalArgumentException.class, () -> new Date("2025-02-29"));
+        assertThrows(IllegalArgumentException.class, () -> new Date("+6000000-01-01"));
+    }
+
+    @Test
+    public void isValidDate() {
+        // null date
+        assertThrows(NullPointerException.class, () -> Date.isValidDate(null));
+
+        // invalid dates
+        assertFalse(Date.isValidDate("")); // empty string
+        assertFalse(Date.isValidDate("2025-1-01")); // single digit month
+        assertFalse(Date.isValidDate("2025-13-01")); // no such month
+        assertFalse(Date.isValidDate("2025-00-01")); // no such month
+        assertFalse(Date.isValidDate("2025-04-31")); // no such day
+        assertFalse(Date.isValidDate("2023-02-29")); // not a leap year
+        assertFalse(Date.isValidDate("2025-01-0a")); // non-digit
+        assertFalse(Date.isValidDate("2025/01/01")); // wrong separator
+        assertFalse(Date.isValidDate("+6000000-01-01")); // epoch day too large
+        assertFalse(Date.isValidDate("-6000000-01-01")); // epoch day too small
+
+        // valid dates
+        assertTrue(Date.isValidDate("2024-02-29")); // leap year
+        assertTrue(Date.isValidDate("2000-02-29")); // leap year divisible by 400
+        assertTrue(Date.isValidDate("1970-01-01"));
+        assertTrue(Date.isValidDate("9999-12-31"));
+    }
+
+    @Test
+    public void fromEpochDay_roundTrips() {
+        Date date = new Date("2024-02-29");
+        assertEquals(19782, date.getEpochDay());
+        assertEquals(date, Date.fromEpochDay(19782));
+        assertEquals("2024-02-29", Date.fromEpochDay(19782).getDate());
+        assertEquals("1969-12-31", Date.fromEpochDay(-1).toString());
+    }
+
+    @Test
+    public void compareTo() {
+        Date date = new Date("2025-01-01");
+        assertTrue(date.compareTo(new Date("2025-01-02")) < 0);
+        assertTrue(date.compareTo(new Date("2024-12-31")) > 0);
+        assertEquals(0, date.compareTo(new Date("2025-01-01")));
+    }
+
+    @Test
+    public void daysBetween() {
+        Date date = new Date("2024-02-28");
+        assertEquals(2, date.daysBetween(new Date("2024-03-01"))); // across a leap day
+        assertEquals(-366, date.daysBetween(new Date("2023-02-27")));
+        assertEquals(0, date.daysBetween(date));
+    }
+
+    @Test
+    public void isWithin() {
+        Date start = new Date("2025-01-01");
+        Date end = new Date("2025-01-31");
+
+        // inclusive bounds -> returns true
+        assertTrue(start.isWithin(start, end));
+        assertTrue(end.isWithin(start, end));
+        assertTrue(new Date("2025-01-15").isWithin(start, end));
+
+        // outside the range -> returns false
+        assertFalse(new Date("2024-12-31").isWithin(start, end));
+        assertFalse(new Date("2025-02-01").isWithin(start, end));
+    }
+
     @Test
     public void equals() {
-        final Date date = new Date("1 Jan 2025");
+        final Date date = new Date("2025-01-01");
 
         // same values -> returns true
-        assertTrue(date.equals(new Date("1 Jan 2025")));
+        assertTrue(date.equals(new Date("2025-01-01")));
+        assertTrue(date.equals(Date.fromEpochDay(date.getEpochDay())));
 
         // same object -> returns true
         assertTrue(date.equals(date));
@@ -27,18 +101,15 @@ public class DateTest {
         assertFalse(date.equals(null));
 
         // different types -> returns false
-        assertFalse(date.equals("1 Jan 2025"));
+        assertFalse(date.equals("2025-01-01"));
 
         // different dates -> returns false
-        assertFalse(date.equals(new Date("1 Feb 2025")));
-
-        // same date but different formats -> returns false
-        assertFalse(date.equals(new Date("01-01-2025")));
+        assertFalse(date.equals(new Date("2025-02-01")));
     }
 
     @Test
     public void toStringMethod() {
-        final Date date = new Date("1 Jan 2025");
+        final Date date = new Date("2025-01-01");
         String expected = date.getDate(); //removed Date.class.getCanonicalName() + getDate() for the time being
         assertEquals(expected, date.toString());
     }
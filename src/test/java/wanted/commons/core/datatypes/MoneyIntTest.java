@@ -2,6 +2,8 @@ package wanted.commons.core.datatypes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static wanted.testutil.Assert.assertThrows;
 
@@ -13,6 +15,7 @@ public class MoneyIntTest {
         assertThrows(IllegalArgumentException.class, () -> MoneyInt.fromDollarAndCent(-1, 10));
         assertThrows(IllegalArgumentException.class, () -> MoneyInt.fromDollarAndCent(10, -1));
         assertThrows(IllegalArgumentException.class, () -> MoneyInt.fromDollarAndCent(10, 100));
+        assertThrows(IllegalArgumentException.class, () -> MoneyInt.fromDollarAndCent(MoneyInt.MAX_DOLLAR + 1, 0));
     }
 
     @Test
@@ -22,6 +25,30 @@ public class MoneyIntTest {
         assertEquals(1000, MoneyInt.fromDollarAndCent(10, 0).getValueTimesOneHundred());
         assertEquals(1050, MoneyInt.fromDollarAndCent(10, 50).getValueTimesOneHundred());
         assertEquals(123456, MoneyInt.fromDollarAndCent(1234, 56).getValueTimesOneHundred());
+        assertEquals(5_000_000_000_01L, MoneyInt.fromDollarAndCent(5_000_000_000L, 1).getValueTimesOneHundred());
+    }
+
+    @Test
+    public void fromCent_smallValues_shared() {
+        assertSame(MoneyInt.ZERO, MoneyInt.fromCent(0));
+        assertSame(MoneyInt.fromCent(1050), MoneyInt.fromDollarAndCent(10, 50));
+        assertNotSame(MoneyInt.fromCent(100_000_000), MoneyInt.fromCent(100_000_000));
+    }
+
+    @Test
+    public void plus() {
+        assertEquals(MoneyInt.fromCent(1234), MoneyInt.fromCent(1200).plus(MoneyInt.fromCent(34)));
+        assertEquals(MoneyInt.fromCent(4_294_967_295L),
+                MoneyInt.fromCent(Integer.MAX_VALUE).plus(MoneyInt.fromCent(Integer.MAX_VALUE + 1L)));
+        assertThrows(ArithmeticException.class, () ->
+                MoneyInt.fromCent(Long.MAX_VALUE).plus(MoneyInt.fromCent(1)));
+    }
+
+    @Test
+    public void minus() {
+        assertEquals(MoneyInt.fromCent(1200), MoneyInt.fromCent(1234).minus(MoneyInt.fromCent(34)));
+        assertEquals(MoneyInt.ZERO, MoneyInt.fromCent(1234).minus(MoneyInt.fromCent(1234)));
+        assertThrows(IllegalArgumentException.class, () -> MoneyInt.fromCent(34).minus(MoneyInt.fromCent(35)));
     }
 
     @Test
@@ -76,5 +103,6 @@ public class MoneyIntTest {
         assertTrue(moneyInt.compareTo(less) > 0);
         assertTrue(moneyInt.compareTo(greater) < 0);
         assertEquals(0, moneyInt.compareTo(equal));
+        assertTrue(MoneyInt.fromCent(Long.MAX_VALUE).compareTo(MoneyInt.ZERO) > 0);
     }
 }
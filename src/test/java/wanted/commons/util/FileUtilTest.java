@@ -1,13 +1,22 @@
 package wanted.commons.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static wanted.testutil.Assert.assertThrows;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class FileUtilTest {
 
+    @TempDir
+    public Path testFolder;
+
     @Test
     public void isValidPath() {
         // valid path
@@ -20,4 +29,48 @@ public class FileUtilTest {
         assertThrows(NullPointerException.class, () -> FileUtil.isValidPath(null));
     }
 
+    @Test
+    public void writeToFile_existingFile_replacedWithoutTempFileLeft() throws Exception {
+        Path file = testFolder.resolve("dir").resolve("file.txt");
+        FileUtil.createParentDirsOfFile(file);
+
+        FileUtil.writeToFile(file, "first");
+        assertEquals("first", FileUtil.readFromFile(file));
+
+        FileUtil.writeToFile(file, "second, longer \u00e9");
+        assertEquals("second, longer \u00e9", FileUtil.readFromFile(file));
+        assertFalse(Files.exists(FileUtil.getTempFilePath(file)));
+    }
+
+    @Test
+    public void writeToFile_staleTempFile_overwritten() throws Exception {
+        Path file = testFolder.resolve("file.txt");
+        Files.writeString(FileUtil.getTempFilePath(file), "left over from a crash, and longer than the content");
+
+        FileUtil.writeToFile(file, "content");
+        assertEquals("content", FileUtil.readFromFile(file));
+    }
+
+    @Test
+    public void writeToFile_contentWriterFails_fileUnchangedAndTempFileDeleted() throws Exception {
+        Path file = testFolder.resolve("file.txt");
+        FileUtil.writeToFile(file, "content");
+
+        assertThrows(IOException.class, () -> FileUtil.writeToFile(file, out -> {
+            out.write("partial".getBytes());
+            throw new IOException("Failed while writing");
+        }));
+        assertEquals("content", FileUtil.readFromFile(file));
+        assertFalse(Files.exists(FileUtil.getTempFilePath(file)));
+    }
+
+    @Test
+    public void appendToFile_missingThenExistingFile_contentAppended() throws Exception {
+        Path file = testFolder.resolve("file.txt");
+
+        FileUtil.appendToFile(file, "first\n");
+        FileUtil.appendToFile(file, "second \u00e9\n");
+        assertEquals("first\nsecond \u00e9\n", FileUtil.readFromFile(file));
+    }
+
 }
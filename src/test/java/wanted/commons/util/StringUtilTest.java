@@ -1,5 +1,6 @@
 package wanted.commons.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static wanted.testutil.Assert.assertThrows;
@@ -123,6 +124,53 @@ public class StringUtilTest {
         assertTrue(StringUtil.containsWordIgnoreCase("AAA bBb ccc  bbb", "bbB"));
     }
 
+    //---------------- Tests for toWord --------------------------------------
+
+    @Test
+    public void toWord_invalidWords_throwsException() {
+        assertThrows(NullPointerException.class, () -> StringUtil.toWord(null));
+        assertThrows(IllegalArgumentException.class, "Word parameter cannot be empty", () -> StringUtil.toWord(" "));
+        assertThrows(IllegalArgumentException.class, "Word parameter should be a single word", ()
+            -> StringUtil.toWord("aaa\tBBB"));
+    }
+
+    @Test
+    public void toWord_validWords_trimmed() {
+        assertEquals("aaa", StringUtil.toWord("  aaa\n"));
+        assertEquals("a\u0001b", StringUtil.toWord("a\u0001b")); // not whitespace to a regex
+    }
+
+    //---------------- Tests for foldCase --------------------------------------
+
+    @Test
+    public void foldCase() {
+        assertEquals("abc 1", StringUtil.foldCase("aBC 1"));
+        assertEquals("", StringUtil.foldCase(""));
+
+        // Strings equal ignoring case fold to the same string, even where lower-casing alone differs
+        assertTrue("\u212A".equalsIgnoreCase("k"));
+        assertEquals(StringUtil.foldCase("k"), StringUtil.foldCase("\u212A"));
+        assertThrows(NullPointerException.class, () -> StringUtil.foldCase(null));
+    }
+
+    //---------------- Tests for getEditDistance --------------------------------------
+
+    @Test
+    public void getEditDistance() {
+        assertEquals(0, StringUtil.getEditDistance("", ""));
+        assertEquals(3, StringUtil.getEditDistance("", "abc"));
+        assertEquals(3, StringUtil.getEditDistance("abc", ""));
+        assertEquals(0, StringUtil.getEditDistance("alex", "alex"));
+        assertEquals(1, StringUtil.getEditDistance("alx", "alex")); // insertion
+        assertEquals(1, StringUtil.getEditDistance("alexa", "alex")); // deletion
+        assertEquals(1, StringUtil.getEditDistance("alix", "alex")); // replacement
+        assertEquals(2, StringUtil.getEditDistance("laex", "alex")); // swapped characters count twice
+        assertEquals(3, StringUtil.getEditDistance("kitten", "sitting"));
+        assertEquals(1, StringUtil.getEditDistance("Alex", "alex")); // case sensitive
+        assertThrows(NullPointerException.class, () -> StringUtil.getEditDistance(null, "alex"));
+        assertThrows(NullPointerException.class, () -> StringUtil.getEditDistance("alex", null));
+    }
+
     //---------------- Tests for getDetails --------------------------------------
 
     /*
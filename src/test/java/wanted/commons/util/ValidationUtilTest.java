@@ -0,0 +1,94 @@
+package wanted.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ValidationUtilTest {
+
+    // Characters on both sides of each boundary the validators care about
+    private static final String ALPHABET = "aZ09 _-@.\t\n\r\u000B\f\u0085\u2028\u00e9\u0660";
+
+    @Test
+    public void isAlphanumeric() {
+        assertThrows(NullPointerException.class, () -> ValidationUtil.isAlphanumeric(null));
+
+        assertFalse(ValidationUtil.isAlphanumeric("")); // empty string
+        assertFalse(ValidationUtil.isAlphanumeric("ab c")); // space
+        assertFalse(ValidationUtil.isAlphanumeric("ab_c")); // underscore
+        assertFalse(ValidationUtil.isAlphanumeric("caf\u00e9")); // non-ASCII letter
+
+        assertTrue(ValidationUtil.isAlphanumeric("a"));
+        assertTrue(ValidationUtil.isAlphanumeric("friends2025"));
+    }
+
+    @Test
+    public void isAlphanumericWithSpaces() {
+        assertThrows(NullPointerException.class, () -> ValidationUtil.isAlphanumericWithSpaces(null));
+
+        assertFalse(ValidationUtil.isAlphanumericWithSpaces("")); // empty string
+        assertFalse(ValidationUtil.isAlphanumericWithSpaces(" ")); // spaces only
+        assertFalse(ValidationUtil.isAlphanumericWithSpaces(" peter")); // leading space
+        assertFalse(ValidationUtil.isAlphanumericWithSpaces("peter*")); // non-alphanumeric
+        assertFalse(ValidationUtil.isAlphanumericWithSpaces("peter\tjack")); // tab
+
+        assertTrue(ValidationUtil.isAlphanumericWithSpaces("peter jack "));
+        assertTrue(ValidationUtil.isAlphanumericWithSpaces("Capital Tan the 2nd"));
+    }
+
+    @Test
+    public void isDigits() {
+        assertThrows(NullPointerException.class, () -> ValidationUtil.isDigits(null, 3));
+
+        assertFalse(ValidationUtil.isDigits("", 3)); // empty string
+        assertFalse(ValidationUtil.isDigits("91", 3)); // too short
+        assertFalse(ValidationUtil.isDigits("9011p041", 3)); // alphabets within digits
+        assertFalse(ValidationUtil.isDigits("9312 1534", 3)); // spaces within digits
+        assertFalse(ValidationUtil.isDigits("\u0660\u0661\u0662", 3)); // non-ASCII digits
+
+        assertTrue(ValidationUtil.isDigits("911", 3));
+        assertTrue(ValidationUtil.isDigits("124293842033123", 3));
+        assertTrue(ValidationUtil.isDigits("", 0));
+    }
+
+    @Test
+    public void isNonBlankLine() {
+        assertThrows(NullPointerException.class, () -> ValidationUtil.isNonBlankLine(null));
+
+        assertFalse(ValidationUtil.isNonBlankLine("")); // empty string
+        assertFalse(ValidationUtil.isNonBlankLine(" Blk 456")); // leading space
+        assertFalse(ValidationUtil.isNonBlankLine("Blk 456\nDen Road")); // line break
+
+        assertTrue(ValidationUtil.isNonBlankLine("-"));
+        assertTrue(ValidationUtil.isNonBlankLine("Leng Inc; 1234 Market St; San Francisco CA 2349879; USA "));
+    }
+
+    @Test
+    public void validators_randomStrings_agreeWithRegex() {
+        Random random = new Random(8);
+        for (int i = 0; i < 20000; i++) {
+            String test = createRandomString(random);
+            assertEquals(test.matches("\\p{Alnum}+"), ValidationUtil.isAlphanumeric(test), test);
+            assertEquals(test.matches("[\\p{Alnum}][\\p{Alnum} ]*"),
+                    ValidationUtil.isAlphanumericWithSpaces(test), test);
+            assertEquals(test.matches("\\d{3,}"), ValidationUtil.isDigits(test, 3), test);
+            assertEquals(test.matches("[^\\s].*"), ValidationUtil.isNonBlankLine(test), test);
+        }
+    }
+
+    private static String createRandomString(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            // Bias towards alphanumeric characters so that valid strings are common
+            int index = random.nextInt(3) == 0 ? random.nextInt(ALPHABET.length()) : random.nextInt(4);
+            builder.append(ALPHABET.charAt(index));
+        }
+        return builder.toString();
+    }
+}
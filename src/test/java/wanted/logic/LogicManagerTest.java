@@ -67,6 +67,88 @@ public class LogicManagerTest {
         assertCommandSuccess(listCommand, ListCommand.MESSAGE_SUCCESS, model);
     }
 
+    @Test
+    public void execute_unchangedLoanBook_skipsSaving() throws Exception {
+        int[] saveCount = new int[1];
+        JsonLoanBookStorage loanBookStorage = new JsonLoanBookStorage(temporaryFolder.resolve("loanbook.json")) {
+            @Override
+            public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+                saveCount[0]++;
+                super.saveLoanBook(loanBook, filePath);
+            }
+        };
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        LogicManager logicManager = new LogicManager(model, new StorageManager(loanBookStorage, userPrefsStorage));
+
+        // The first command saves, as the storage may not hold the initial data yet
+        logicManager.execute(ListCommand.COMMAND_WORD);
+        assertEquals(1, saveCount[0]);
+
+        logicManager.execute(ListCommand.COMMAND_WORD);
+        assertEquals(1, saveCount[0]);
+        assertEquals(1, logicManager.getSkippedSaveCount());
+
+        logicManager.execute(AddCommand.COMMAND_WORD + NAME_DESC_AMY);
+        assertEquals(2, saveCount[0]);
+    }
+
+    @Test
+    public void execute_previousSaveFailed_savesAgain() throws Exception {
+        boolean[] isFailing = {true};
+        int[] saveCount = new int[1];
+        JsonLoanBookStorage loanBookStorage = new JsonLoanBookStorage(temporaryFolder.resolve("loanbook.json")) {
+            @Override
+            public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+                if (isFailing[0]) {
+                    throw DUMMY_IO_EXCEPTION;
+                }
+                saveCount[0]++;
+                super.saveLoanBook(loanBook, filePath);
+            }
+        };
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        logic = new LogicManager(model, new StorageManager(loanBookStorage, userPrefsStorage));
+
+        assertThrows(CommandException.class, () -> logic.execute(AddCommand.COMMAND_WORD + NAME_DESC_AMY));
+        isFailing[0] = false;
+        logic.execute(ListCommand.COMMAND_WORD);
+        assertEquals(1, saveCount[0]);
+    }
+
+    @Test
+    public void execute_pendingSaveFailure_reportedAndSavedAgain() throws Exception {
+        boolean[] hasPendingFailure = {false};
+        int[] saveCount = new int[1];
+        JsonLoanBookStorage loanBookStorage = new JsonLoanBookStorage(temporaryFolder.resolve("loanbook.json")) {
+            @Override
+            public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+                // Like AsyncLoanBookStorage, reports a failed write from the next save instead of saving
+                if (hasPendingFailure[0]) {
+                    hasPendingFailure[0] = false;
+                    throw DUMMY_IO_EXCEPTION;
+                }
+                saveCount[0]++;
+                super.saveLoanBook(loanBook, filePath);
+            }
+
+            @Override
+            public boolean hasPendingFailure() {
+                return hasPendingFailure[0];
+            }
+        };
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        logic = new LogicManager(model, new StorageManager(loanBookStorage, userPrefsStorage));
+
+        logic.execute(AddCommand.COMMAND_WORD + NAME_DESC_AMY);
+        assertEquals(1, saveCount[0]);
+
+        // The write of that save fails after it was accepted, which a command that changes nothing still reports
+        hasPendingFailure[0] = true;
+        assertThrows(CommandException.class, () -> logic.execute(ListCommand.COMMAND_WORD));
+        logic.execute(ListCommand.COMMAND_WORD);
+        assertEquals(2, saveCount[0]);
+    }
+
     @Test
     public void execute_storageThrowsIoException_throwsCommandException() {
         assertCommandFailureForExceptionFromStorage(DUMMY_IO_EXCEPTION, String.format(
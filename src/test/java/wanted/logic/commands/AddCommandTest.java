@@ -11,6 +11,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.junit.jupiter.api.Test;
 
@@ -133,6 +134,11 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public long getLoanBookModificationCount() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasPerson(Loan person) {
             throw new AssertionError("This method should not be called.");
@@ -157,6 +163,11 @@ public class AddCommandTest {
         public void updateFilteredPersonList(Predicate<Loan> predicate) {
             throw new AssertionError("This method should not be called.");
         }
+
+        @Override
+        public void updateRankedPersonList(ToIntFunction<Loan> scorer) {
+            throw new AssertionError("This method should not be called.");
+        }
     }
 
     /**
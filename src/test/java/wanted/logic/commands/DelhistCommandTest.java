@@ -41,13 +41,13 @@ public class DelhistCommandTest {
     static {
         try {
             sampleAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
-                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("1st Jan 2020")),
-                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2020")),
-                    new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("1st Jan 2020"))
+                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2020-01-01")),
+                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2020-01-01")),
+                    new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("2020-01-01"))
             )));
             sampleAmountFirstTransactionDeleted = new LoanAmount(new ArrayList<>(Arrays.asList(
-                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2020")),
-                    new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("1st Jan 2020"))
+                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2020-01-01")),
+                    new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("2020-01-01"))
             )));
         } catch (ExcessRepaymentException e) {
             throw new RuntimeException(e);
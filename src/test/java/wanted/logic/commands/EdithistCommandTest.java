@@ -3,6 +3,7 @@ package wanted.logic.commands;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.logic.Messages.MESSAGE_AMOUNT_TOO_LARGE;
 import static wanted.logic.Messages.MESSAGE_EXCESS_REPAYMENT_IN_HISTORY;
 import static wanted.logic.Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX;
 import static wanted.logic.Messages.MESSAGE_INVALID_TRANSACTION_DISPLAYED_INDEX;
@@ -51,9 +52,9 @@ public class EdithistCommandTest {
     static {
         try {
             sampleAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
-                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("1st Jan 2020")),
-                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2020")),
-                    new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("1st Jan 2020"))
+                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2020-01-01")),
+                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2020-01-01")),
+                    new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("2020-01-01"))
             )));
             boolean[] doesEditAmount = new boolean[]{true, false, true};
             boolean[] doesEditDate = new boolean[]{false, true, true};
@@ -62,16 +63,16 @@ public class EdithistCommandTest {
             for (int i = 0; i < 3; i++) {
                 sampleAmountFirstTransactionEdited[i] = new LoanAmount(new ArrayList<>(Arrays.asList(
                         new AddLoanTransaction(MoneyInt.fromCent(doesEditAmount[i] ? 300 : 500),
-                                new LoanDate(doesEditDate[i] ? "1st Jan 2010" : "1st Jan 2020")),
-                        new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2020")),
-                        new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("1st Jan 2020"))
+                                new LoanDate(doesEditDate[i] ? "2010-01-01" : "2020-01-01")),
+                        new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2020-01-01")),
+                        new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("2020-01-01"))
                 )));
                 editTransactionDescriptor[i] = new EditTransactionDescriptor();
                 if (doesEditAmount[i]) {
                     editTransactionDescriptor[i].setAmount(MoneyInt.fromCent(300));
                 }
                 if (doesEditDate[i]) {
-                    editTransactionDescriptor[i].setDate(new LoanDate("1st Jan 2010"));
+                    editTransactionDescriptor[i].setDate(new LoanDate("2010-01-01"));
                 }
             }
         } catch (ExcessRepaymentException e) {
@@ -177,6 +178,16 @@ public class EdithistCommandTest {
         assertThrows(CommandException.class, MESSAGE_UNCHANGED_AMOUNT, () -> edithistCommand.execute(sampleModel));
     }
 
+    @Test
+    public void execute_totalTooLarge_throwsCommandException() {
+        Model sampleModel = createSampleModel();
+        EditTransactionDescriptor descriptor = new EditTransactionDescriptor();
+        descriptor.setAmount(MoneyInt.fromDollarAndCent(MoneyInt.MAX_DOLLAR, 99));
+        EdithistCommand edithistCommand =
+                new EdithistCommand(INDEX_SECOND_PERSON, INDEX_SECOND_PERSON, descriptor);
+        assertThrows(CommandException.class, MESSAGE_AMOUNT_TOO_LARGE, () -> edithistCommand.execute(sampleModel));
+    }
+
     @Test
     public void execute_nullModel_throwsNullPointerException() {
         EdithistCommand edithistCommand =
@@ -9,6 +9,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import wanted.logic.Messages;
 import wanted.logic.commands.exceptions.CommandException;
 import wanted.model.Model;
 import wanted.model.ModelManager;
@@ -68,6 +69,53 @@ public class FindCommandTest {
         assertEquals("Alex", filtered.get(1).getName().fullName);
     }
 
+    @Test
+    public void execute_loanBookNotReordered() throws CommandException {
+        Model model = createSampleModel();
+        List<Loan> loans = List.copyOf(model.getLoanBook().getPersonList());
+        long modificationCount = model.getLoanBookModificationCount();
+
+        new FindCommand(new NameContainsKeywordsPredicate(List.of("Elisa"))).execute(model);
+        assertEquals(List.of("Elisa", "Alex", "Alex Yeoh", "Benedict"), getShownNames(model));
+
+        // Loans with the same score are shown in loan book order, not in the order of the previous find
+        new FindCommand(new NameContainsKeywordsPredicate(List.of("Bene"))).execute(model);
+        assertEquals(List.of("Benedict", "Alex", "Alex Yeoh", "Elisa"), getShownNames(model));
+
+        assertEquals(loans, model.getLoanBook().getPersonList());
+        assertEquals(modificationCount, model.getLoanBookModificationCount());
+    }
+
+    @Test
+    public void execute_typosAllowed_closestNamesFirst() throws CommandException {
+        Model model = createSampleModel();
+
+        CommandResult result = new FindCommand(new NameContainsKeywordsPredicate(List.of("alx", "yoeh")), 2)
+                .execute(model);
+        assertEquals(String.format(Messages.MESSAGE_PERSONS_FOUND_OVERVIEW, 2), result.getFeedbackToUser());
+        assertEquals(List.of("Alex Yeoh", "Alex", "Benedict", "Elisa"), getShownNames(model));
+
+        // A keyword matched exactly counts for more than one matched with a typo
+        model.addPerson(new PersonBuilder().withName("Alexa").build());
+        new FindCommand(new NameContainsKeywordsPredicate(List.of("ALEXA", "yeho")), 1).execute(model);
+        assertEquals(List.of("Alexa", "Alex", "Alex Yeoh", "Benedict", "Elisa"), getShownNames(model));
+    }
+
+    @Test
+    public void execute_typosAllowedEmptyKeyword_throwsIllegalArgumentException() {
+        FindCommand command = new FindCommand(new NameContainsKeywordsPredicate(List.of("")), 1);
+        Model model = createSampleModel();
+        assertThrows(IllegalArgumentException.class, () -> command.execute(model));
+    }
+
+    @Test
+    public void constructor_invalidEditDistance_throwsIllegalArgumentException() {
+        NameContainsKeywordsPredicate predicate = new NameContainsKeywordsPredicate(List.of("alex"));
+        assertThrows(IllegalArgumentException.class, () -> new FindCommand(predicate, -1));
+        assertThrows(IllegalArgumentException.class, () ->
+                new FindCommand(predicate, FindCommand.MAX_EDIT_DISTANCE + 1));
+    }
+
     @Test
     public void equals() {
         NameContainsKeywordsPredicate firstPredicate = new NameContainsKeywordsPredicate(List.of("alex"));
@@ -91,5 +139,13 @@ public class FindCommandTest {
 
         // different predicates -> returns false
         assertFalse(command1.equals(command2));
+
+        // different number of typos allowed -> returns false
+        assertFalse(command1.equals(new FindCommand(firstPredicate, 1)));
+        assertTrue(command1.equals(new FindCommand(firstPredicate, 0)));
+    }
+
+    private static List<String> getShownNames(Model model) {
+        return model.getFilteredPersonList().stream().map(loan -> loan.getName().fullName).toList();
     }
 }
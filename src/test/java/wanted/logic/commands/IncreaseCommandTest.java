@@ -1,9 +1,21 @@
 package wanted.logic.commands;
 
+import static wanted.logic.commands.CommandTestUtil.assertCommandFailure;
 import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalIndexes.INDEX_FIRST_PERSON;
 
 import org.junit.jupiter.api.Test;
 
+import wanted.commons.core.datatypes.MoneyInt;
+import wanted.logic.Messages;
+import wanted.model.Model;
+import wanted.model.ModelManager;
+import wanted.model.UserPrefs;
+import wanted.model.loan.Loan;
+import wanted.model.loan.LoanDate;
+import wanted.model.loan.Name;
+import wanted.testutil.LoanBookBuilder;
+
 public class IncreaseCommandTest {
     //TODO: check for negative amount value
     //TODO: execution of command success
@@ -12,4 +24,15 @@ public class IncreaseCommandTest {
     public void constructor_nullPerson_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> new AddCommand(null));
     }
+
+    @Test
+    public void execute_totalTooLarge_throwsCommandException() {
+        MoneyInt maxAmount = MoneyInt.fromDollarAndCent(MoneyInt.MAX_DOLLAR, 99);
+        LoanDate date = new LoanDate(CommandTestUtil.VALID_DATE_AMY);
+        Loan largeLoan = new Loan(new Name("Amy Bee")).addLoan(maxAmount, date);
+        Model model = new ModelManager(new LoanBookBuilder().withPerson(largeLoan).build(), new UserPrefs());
+
+        assertCommandFailure(new IncreaseCommand(INDEX_FIRST_PERSON, maxAmount, date), model,
+                Messages.MESSAGE_AMOUNT_TOO_LARGE);
+    }
 }
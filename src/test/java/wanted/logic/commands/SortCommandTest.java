@@ -31,7 +31,7 @@ public class SortCommandTest {
         LoanBook loanBook = (LoanBook) expectedModel.getLoanBook();
         ObservableList<Loan> oldList = loanBook.getPersonList();
         Comparator<Loan> comparator =
-                Comparator.nullsLast(Comparator.comparingInt(a -> (
+                Comparator.nullsLast(Comparator.comparingLong(a -> (
                         -a.getLoanAmount().getRemainingAmount().getValueTimesOneHundred())));
         List<Loan> sortedList = oldList.sorted(comparator);
         loanBook.setPersons(sortedList);
@@ -1,14 +1,17 @@
 package wanted.logic.parser;
 
 import static wanted.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static wanted.logic.parser.CliSyntax.PREFIX_TYPOS;
 import static wanted.logic.parser.CommandParserTestUtil.assertParseFailure;
-//import static wanted.logic.parser.CommandParserTestUtil.assertParseSuccess;
+import static wanted.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.util.Arrays;
 
-//import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
+import wanted.logic.Messages;
 import wanted.logic.commands.FindCommand;
-//import wanted.model.loan.NameContainsKeywordsPredicate;
+import wanted.model.loan.NameContainsKeywordsPredicate;
 
 /**
  * Unit tests for {@code FindCommandParser}.
@@ -27,4 +30,24 @@ public class FindCommandParserTest {
     public void parse_validArgs_returnsFindCommand() {
         //TODO: write FindCommandParserTest for valid arguments
     }
+
+    @Test
+    public void parse_typosAllowed_returnsFindCommand() {
+        NameContainsKeywordsPredicate predicate = new NameContainsKeywordsPredicate(Arrays.asList("Alice", "Bob"));
+        assertParseSuccess(parser, " Alice  Bob f/2", new FindCommand(predicate, 2));
+        assertParseSuccess(parser, " Alice Bob f/ 0 ", new FindCommand(predicate));
+        assertParseSuccess(parser, " Alice Bob", new FindCommand(predicate, 0));
+    }
+
+    @Test
+    public void parse_invalidTypos_throwsParseException() {
+        assertParseFailure(parser, " Alice f/4", FindCommand.MESSAGE_INVALID_EDIT_DISTANCE);
+        assertParseFailure(parser, " Alice f/-1", FindCommand.MESSAGE_INVALID_EDIT_DISTANCE);
+        assertParseFailure(parser, " Alice f/", FindCommand.MESSAGE_INVALID_EDIT_DISTANCE);
+        assertParseFailure(parser, " Alice f/01", FindCommand.MESSAGE_INVALID_EDIT_DISTANCE);
+        assertParseFailure(parser, " Alice f/\u0661", FindCommand.MESSAGE_INVALID_EDIT_DISTANCE); // Arabic-Indic one
+        assertParseFailure(parser, " Alice f/1 f/2", Messages.getErrorMessageForDuplicatePrefixes(PREFIX_TYPOS));
+        assertParseFailure(parser, " f/1",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
+    }
 }
@@ -8,8 +8,11 @@ import static wanted.testutil.Assert.assertThrows;
 import static wanted.testutil.TypicalPersons.ALICE;
 import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +78,79 @@ public class LoanBookTest {
         assertTrue(loanBook.hasPerson(editedAlice));
     }
 
+    @Test
+    public void getModificationCount_changes_incremented() {
+        long count = loanBook.getModificationCount();
+        loanBook.addPerson(ALICE);
+        assertTrue(loanBook.getModificationCount() > count);
+
+        count = loanBook.getModificationCount();
+        loanBook.setPerson(ALICE, new PersonBuilder(ALICE).withTags(VALID_TAG_HUSBAND).build());
+        assertTrue(loanBook.getModificationCount() > count);
+
+        count = loanBook.getModificationCount();
+        loanBook.resetData(getTypicalLoanBook());
+        assertTrue(loanBook.getModificationCount() > count);
+
+        count = loanBook.getModificationCount();
+        List<Loan> reversed = new ArrayList<>(loanBook.getPersonList());
+        Collections.reverse(reversed);
+        loanBook.reorderPersons(reversed);
+        assertTrue(loanBook.getModificationCount() > count);
+
+        count = loanBook.getModificationCount();
+        loanBook.removePerson(ALICE);
+        assertTrue(loanBook.getModificationCount() > count);
+    }
+
+    @Test
+    public void getModificationCount_reorderIntoSameOrder_unchanged() {
+        loanBook.resetData(getTypicalLoanBook());
+        long count = loanBook.getModificationCount();
+        loanBook.reorderPersons(new ArrayList<>(loanBook.getPersonList()));
+        assertEquals(count, loanBook.getModificationCount());
+    }
+
+    @Test
+    public void getNamesContaining_afterChanges_upToDate() {
+        loanBook.resetData(getTypicalLoanBook());
+        assertEquals(List.of(ALICE.getName()), loanBook.getNamesContaining("ALICE"));
+
+        Loan renamed = new PersonBuilder(ALICE).withName("Alicia Pauline").build();
+        loanBook.setPerson(ALICE, renamed);
+        assertEquals(List.of(), loanBook.getNamesContaining("alice"));
+        assertEquals(List.of(renamed.getName()), loanBook.getNamesContaining("alicia"));
+
+        loanBook.removePerson(renamed);
+        assertEquals(List.of(), loanBook.getNamesContaining("alicia"));
+
+        loanBook.addPerson(ALICE);
+        assertEquals(List.of(ALICE.getName()), loanBook.getNamesContaining("pauline"));
+
+        loanBook.resetData(new LoanBook());
+        assertEquals(List.of(), loanBook.getNamesContaining("pauline"));
+    }
+
+    @Test
+    public void getNamesWithWordWithin_afterChanges_upToDate() {
+        loanBook.resetData(getTypicalLoanBook());
+        assertEquals(Map.of(ALICE.getName(), 1), loanBook.getNamesWithWordWithin("alce", 1));
+
+        // Kept in sync once built
+        Loan renamed = new PersonBuilder(ALICE).withName("Alicia Pauline").build();
+        loanBook.setPerson(ALICE, renamed);
+        assertEquals(Map.of(renamed.getName(), 1), loanBook.getNamesWithWordWithin("alicja", 1));
+        assertEquals(Map.of(), loanBook.getNamesWithWordWithin("alice", 0));
+
+        loanBook.removePerson(renamed);
+        assertEquals(Map.of(), loanBook.getNamesWithWordWithin("alicia", 0));
+        loanBook.addPerson(ALICE);
+        assertEquals(Map.of(ALICE.getName(), 0), loanBook.getNamesWithWordWithin("alice", 0));
+
+        loanBook.resetData(new LoanBook());
+        assertEquals(Map.of(), loanBook.getNamesWithWordWithin("alice", 1));
+    }
+
     @Test
     public void getPersonList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> loanBook.getPersonList().remove(0));
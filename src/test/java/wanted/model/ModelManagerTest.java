@@ -7,10 +7,12 @@ import static wanted.model.Model.PREDICATE_SHOW_ALL_PERSONS;
 import static wanted.testutil.Assert.assertThrows;
 import static wanted.testutil.TypicalPersons.ALICE;
 import static wanted.testutil.TypicalPersons.BENSON;
+import static wanted.testutil.TypicalPersons.CARL;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +95,26 @@ public class ModelManagerTest {
         assertThrows(UnsupportedOperationException.class, () -> modelManager.getFilteredPersonList().remove(0));
     }
 
+    @Test
+    public void updateRankedPersonList_loanBookNotReordered() {
+        modelManager.addPerson(ALICE);
+        modelManager.addPerson(BENSON);
+        modelManager.addPerson(CARL);
+
+        long modificationCount = modelManager.getLoanBookModificationCount();
+        modelManager.updateRankedPersonList(loan -> loan.equals(BENSON) ? 1 : 0);
+        assertEquals(List.of(BENSON, ALICE, CARL), modelManager.getFilteredPersonList());
+        assertEquals(List.of(ALICE, BENSON, CARL), modelManager.getLoanBook().getPersonList());
+        assertEquals(modificationCount, modelManager.getLoanBookModificationCount());
+
+        // Loans with the same score are in loan book order, whatever the order before
+        modelManager.updateRankedPersonList(loan -> loan.equals(CARL) ? 1 : 0);
+        assertEquals(List.of(CARL, ALICE, BENSON), modelManager.getFilteredPersonList());
+
+        modelManager.updateRankedPersonList(null);
+        assertEquals(List.of(ALICE, BENSON, CARL), modelManager.getFilteredPersonList());
+    }
+
     @Test
     public void equals() {
         LoanBook loanBook = new LoanBookBuilder().withPerson(ALICE).withPerson(BENSON).build();
@@ -124,6 +146,11 @@ public class ModelManagerTest {
         // resets modelManager to initial state for upcoming tests
         modelManager.updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
 
+        // different ranking -> returns false
+        modelManager.updateRankedPersonList(loan -> loan.equals(BENSON) ? 1 : 0);
+        assertFalse(modelManager.equals(new ModelManager(loanBook, userPrefs)));
+        modelManager.updateRankedPersonList(null);
+
         // different userPrefs -> returns false
         UserPrefs differentUserPrefs = new UserPrefs();
         differentUserPrefs.setLoanBookFilePath(Paths.get("differentFilePath"));
@@ -0,0 +1,150 @@
+package wanted.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static wanted.testutil.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+public class RankedListTest {
+
+    private final ObservableList<String> source = FXCollections.observableArrayList("b", "aa", "c", "aaa", "a", "d");
+    private final RankedList<String> rankedList = new RankedList<>(source);
+
+    @Test
+    public void setScorer_positiveScoresFirst_othersInSourceOrder() {
+        assertEquals(source, rankedList);
+
+        // "a" and "aa" have the same score and keep their source order
+        rankedList.setScorer(RankedListTest::countA);
+        assertEquals(List.of("aaa", "aa", "a", "b", "c", "d"), rankedList);
+
+        rankedList.setScorer(string -> string.equals("c") ? 1 : -1);
+        assertEquals(List.of("c", "b", "aa", "aaa", "a", "d"), rankedList);
+
+        rankedList.setScorer(null);
+        assertEquals(source, rankedList);
+    }
+
+    @Test
+    public void getSourceIndexAndGetViewIndex_success() {
+        rankedList.setScorer(RankedListTest::countA);
+        assertEquals(3, rankedList.getSourceIndex(0));
+        assertEquals(5, rankedList.getSourceIndex(5));
+        assertEquals(0, rankedList.getViewIndex(3));
+        assertEquals(2, rankedList.getViewIndex(4));
+        assertEquals(4, rankedList.getViewIndex(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> rankedList.getSourceIndex(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> rankedList.getViewIndex(-1));
+    }
+
+    @Test
+    public void sourceChanged_ranked_scoredAgain() {
+        List<List<String>> shownLists = new ArrayList<>();
+        rankedList.addListener((ListChangeListener<String>) c -> shownLists.add(List.copyOf(c.getList())));
+        rankedList.setScorer(RankedListTest::countA);
+
+        source.add(1, "aaaa");
+        source.remove("aa");
+        assertEquals(List.of("aaaa", "aaa", "a", "b", "c", "d"), rankedList);
+        assertEquals(List.of(List.of("aaa", "aa", "a", "b", "c", "d"), List.of("aaaa", "aaa", "aa", "a", "b", "c", "d"),
+                List.of("aaaa", "aaa", "a", "b", "c", "d")), shownLists);
+    }
+
+    @Test
+    public void sourceChanged_replacedWithSameScore_passedOnAtItsPosition() {
+        rankedList.setScorer(RankedListTest::countA);
+        List<String> changes = new ArrayList<>();
+        rankedList.addListener((ListChangeListener<String>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + " " + c.getRemoved());
+            }
+        });
+
+        source.set(4, "ab");
+        source.set(0, "e");
+        assertEquals(List.of("aaa", "aa", "ab", "e", "c", "d"), rankedList);
+        assertEquals(List.of("2-3 [a]", "3-4 [b]"), changes);
+
+        // A new score can change the rank, so the whole view is replaced
+        source.set(2, "aaaa");
+        assertEquals(List.of("aaaa", "aaa", "aa", "ab", "e", "d"), rankedList);
+        assertEquals("0-6 [aaa, aa, ab, e, c, d]", changes.get(2));
+    }
+
+    @Test
+    public void sourceChanged_partlyRanked_unrankedMatchesRemovedInSourceOrder() {
+        ObservableList<String> unsortedSource = FXCollections.observableArrayList("b", "a", "c", "aaa", "aa", "d");
+        RankedList<String> partlyRankedList = new RankedList<>(unsortedSource);
+        List<List<String>> removedLists = new ArrayList<>();
+        partlyRankedList.addListener((ListChangeListener<String>) c -> {
+            c.next();
+            removedLists.add(List.copyOf(c.getRemoved()));
+        });
+        partlyRankedList.setScorer(RankedListTest::countA);
+
+        // Only "aaa" has been looked at, so "a" and "aa" are not ranked yet
+        assertEquals("aaa", partlyRankedList.get(0));
+        unsortedSource.add("e");
+        assertEquals(List.of("aaa", "a", "aa", "b", "c", "d"), removedLists.get(1));
+        assertEquals(List.of("aaa", "aa", "a", "b", "c", "d", "e"), partlyRankedList);
+    }
+
+    @Test
+    public void sourceChanged_notRanked_passedOn() {
+        List<String> shown = new ArrayList<>(rankedList);
+        rankedList.addListener((ListChangeListener<String>) c -> {
+            shown.clear();
+            shown.addAll(c.getList());
+        });
+
+        source.add("e");
+        source.remove("b");
+        assertEquals(source, rankedList);
+        assertEquals(source, shown);
+    }
+
+    @Test
+    public void get_manyElements_sameAsSorting() {
+        Random random = new Random(4);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(random.nextInt(50));
+        }
+        ObservableList<Integer> numbers = FXCollections.observableArrayList(values);
+        RankedList<Integer> rankedNumbers = new RankedList<>(numbers);
+        ToIntFunction<Integer> scorer = value -> value % 10 == 0 ? -1 : value % 7;
+        rankedNumbers.setScorer(scorer);
+
+        // A stable sort keeps equal scores in source order; non-positive scores all count as zero
+        List<Integer> expected = new ArrayList<>(values);
+        expected.sort(Comparator.comparingInt((Integer value) -> Math.max(0, scorer.applyAsInt(value))).reversed());
+
+        // Looking at a position in the middle first ranks the elements before it
+        assertEquals(expected.get(500), rankedNumbers.get(500));
+        assertEquals(expected, rankedNumbers);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, rankedNumbers.getViewIndex(rankedNumbers.getSourceIndex(i)));
+        }
+    }
+
+    @Test
+    public void modify_throwsUnsupportedOperationException() {
+        rankedList.setScorer(RankedListTest::countA);
+        assertThrows(UnsupportedOperationException.class, () -> rankedList.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> rankedList.add("e"));
+    }
+
+    private static int countA(String string) {
+        return (int) string.chars().filter(c -> c == 'a').count();
+    }
+}
@@ -18,4 +18,16 @@ public class UserPrefsTest {
         assertThrows(NullPointerException.class, () -> userPrefs.setLoanBookFilePath(null));
     }
 
+    @Test
+    public void setJournalCompactionThreshold_negative_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setJournalCompactionThreshold(-1));
+    }
+
+    @Test
+    public void setLoanBookFileFormat_nullFormat_throwsNullPointerException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(NullPointerException.class, () -> userPrefs.setLoanBookFileFormat(null));
+    }
+
 }
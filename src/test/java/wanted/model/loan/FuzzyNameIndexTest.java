@@ -0,0 +1,107 @@
+package wanted.model.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static wanted.testutil.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import wanted.commons.util.StringUtil;
+
+public class FuzzyNameIndexTest {
+
+    private static final Name ALEX_YEOH = new Name("Alex Yeoh");
+    private static final Name ALEXA = new Name("Alexa");
+    private static final Name BERNICE = new Name("Bernice Yu");
+    private static final Name YU_YU = new Name("Yu Yu");
+
+    @Test
+    public void findNamesWithWordWithin_closestWordOfEachName() {
+        FuzzyNameIndex index = createIndex(ALEX_YEOH, ALEXA, BERNICE, YU_YU);
+        assertEquals(Map.of(ALEX_YEOH, 0, ALEXA, 1), index.findNamesWithWordWithin("alex", 1));
+        assertEquals(Map.of(ALEX_YEOH, 1), index.findNamesWithWordWithin("alx", 1));
+        assertEquals(Map.of(ALEX_YEOH, 1, ALEXA, 2), index.findNamesWithWordWithin("alx", 2));
+        assertEquals(Map.of(BERNICE, 0, YU_YU, 0), index.findNamesWithWordWithin("yu", 0));
+        assertEquals(Map.of(BERNICE, 1, YU_YU, 1, ALEX_YEOH, 2), index.findNamesWithWordWithin("ye", 2));
+        assertEquals(Map.of(), index.findNamesWithWordWithin("Alex", 0)); // words are case-folded
+    }
+
+    @Test
+    public void remove_namesNoLongerFound() {
+        FuzzyNameIndex index = createIndex(ALEX_YEOH, ALEXA, BERNICE, YU_YU);
+        index.remove(YU_YU);
+        index.remove(YU_YU);
+        assertEquals(Map.of(BERNICE, 0), index.findNamesWithWordWithin("yu", 0));
+
+        // Names are still found once most words are unused and the tree is rebuilt
+        index.remove(ALEXA);
+        index.remove(ALEX_YEOH);
+        assertEquals(Map.of(BERNICE, 1), index.findNamesWithWordWithin("bernie", 1));
+        index.add(YU_YU);
+        assertEquals(Map.of(BERNICE, 0, YU_YU, 0), index.findNamesWithWordWithin("yu", 0));
+
+        index.clear();
+        assertEquals(Map.of(), index.findNamesWithWordWithin("yu", 3));
+    }
+
+    @Test
+    public void findNamesWithWordWithin_manyNames_sameAsComparingAll() {
+        Random random = new Random(7);
+        List<Name> names = new ArrayList<>();
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (int i = 0; i < 1500; i++) {
+            Name name = new Name(randomWord(random) + " " + randomWord(random));
+            if (!names.contains(name)) {
+                names.add(name);
+                index.add(name);
+            }
+        }
+        for (int i = 0; i < names.size(); i += 4) {
+            index.remove(names.get(i));
+        }
+
+        for (int i = 0; i < 30; i++) {
+            String word = randomWord(random);
+            int maxEditDistance = i % 4;
+            Map<Name, Integer> expected = new HashMap<>();
+            for (int j = 0; j < names.size(); j++) {
+                for (String nameWord : StringUtil.foldCase(names.get(j).fullName).split(" ")) {
+                    int editDistance = StringUtil.getEditDistance(word, nameWord);
+                    if (j % 4 != 0 && editDistance <= maxEditDistance) {
+                        expected.merge(names.get(j), editDistance, Math::min);
+                    }
+                }
+            }
+            assertEquals(expected, index.findNamesWithWordWithin(word, maxEditDistance));
+        }
+    }
+
+    @Test
+    public void findNamesWithWordWithin_invalidArguments_throwsException() {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        assertThrows(NullPointerException.class, () -> index.findNamesWithWordWithin(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.findNamesWithWordWithin("alex", -1));
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    private static FuzzyNameIndex createIndex(Name... names) {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (Name name : names) {
+            index.add(name);
+        }
+        return index;
+    }
+}
@@ -8,6 +8,7 @@ import static wanted.testutil.Assert.assertThrows;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,9 +31,9 @@ public class LoanAmountTest {
         }
         {
             LoanAmount loanAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
-                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")),
-                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2nd Jan 2024")),
-                    new RepayLoanTransaction(MoneyInt.fromCent(1250), new LoanDate("3rd Jan 2024"))
+                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-02")),
+                    new RepayLoanTransaction(MoneyInt.fromCent(1250), new LoanDate("2024-01-03"))
             )));
 
             assertEquals(MoneyInt.fromCent(1500), loanAmount.getTotalAmount());
@@ -43,9 +44,9 @@ public class LoanAmountTest {
         // affect the created LoanAmount object.
         {
             ArrayList<LoanTransaction> transactions = new ArrayList<>(Arrays.asList(
-                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")),
-                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2nd Jan 2024")),
-                    new RepayLoanTransaction(MoneyInt.fromCent(1250), new LoanDate("3rd Jan 2024"))
+                    new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                    new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-02")),
+                    new RepayLoanTransaction(MoneyInt.fromCent(1250), new LoanDate("2024-01-03"))
             ));
             LoanAmount loanAmount = new LoanAmount(transactions);
             transactions.clear();
@@ -54,12 +55,28 @@ public class LoanAmountTest {
         }
     }
 
+    @Test
+    public void constructor_totalsBeyondIntRange_success() throws Exception {
+        MoneyInt twentyMillion = MoneyInt.fromDollarAndCent(20_000_000, 0);
+        LoanAmount loanAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
+                new AddLoanTransaction(twentyMillion, new LoanDate("2024-01-01")),
+                new AddLoanTransaction(twentyMillion, new LoanDate("2024-01-02")),
+                new RepayLoanTransaction(MoneyInt.fromDollarAndCent(10_000_000, 0), new LoanDate("2024-01-03"))
+        )));
+
+        assertEquals(MoneyInt.fromDollarAndCent(40_000_000, 0), loanAmount.getTotalAmount());
+        assertEquals(MoneyInt.fromDollarAndCent(30_000_000, 0), loanAmount.getRemainingAmount());
+        assertEquals(MoneyInt.fromDollarAndCent(60_000_000, 0), loanAmount
+                .appendTransaction(new AddLoanTransaction(twentyMillion, new LoanDate("2024-01-04")))
+                .getTotalAmount());
+    }
+
     @Test
     public void constructor_null_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> new LoanAmount(null));
         assertThrows(NullPointerException.class, () ->
                 new LoanAmount(new ArrayList<>(Arrays.asList(
-                        new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")),
+                        new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
                         null
                 ))));
     }
@@ -68,19 +85,88 @@ public class LoanAmountTest {
     public void constructor_invalidTransactions_throwsExcessRepaymentException() {
         // Balance gets negative at the end
         assertThrows(ExcessRepaymentException.class, () -> new LoanAmount(new ArrayList<>(Arrays.asList(
-                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")),
-                new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2nd Jan 2024")),
-                new RepayLoanTransaction(MoneyInt.fromCent(2000), new LoanDate("3rd Jan 2024"))
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-02")),
+                new RepayLoanTransaction(MoneyInt.fromCent(2000), new LoanDate("2024-01-03"))
         ))));
 
         // Balance gets negative in the middle, even though it gets positive at the end
         assertThrows(ExcessRepaymentException.class, () -> new LoanAmount(new ArrayList<>(Arrays.asList(
-                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")),
-                new RepayLoanTransaction(MoneyInt.fromCent(1001), new LoanDate("2nd Jan 2024")),
-                new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("3rd Jan 2024"))
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                new RepayLoanTransaction(MoneyInt.fromCent(1001), new LoanDate("2024-01-02")),
+                new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-03"))
         ))));
     }
 
+    @Test
+    public void withLazyHistory_historyLoadedOnFirstUse() throws Exception {
+        LoanAmount expected = TypicalLoanAmount.NON_EMPTY_LOAN_AMOUNT_NOT_FULLY_REPAID;
+        int[] loadCount = {0};
+        LoanAmount loanAmount = LoanAmount.withLazyHistory(expected.getTotalAmount(), expected.getRemainingAmount(),
+                expected.getTransactionsCount(), () -> {
+                    loadCount[0]++;
+                    return expected.getTransactionHistoryCopy();
+                });
+
+        // Totals are known without loading the history
+        assertEquals(expected.getTotalAmount(), loanAmount.getTotalAmount());
+        assertEquals(expected.getRemainingAmount(), loanAmount.getRemainingAmount());
+        assertEquals(expected.getTransactionsCount(), loanAmount.getTransactionsCount());
+        assertFalse(loanAmount.isRepaid());
+        assertFalse(loanAmount.isTransactionHistoryLoaded());
+
+        assertEquals(expected, loanAmount);
+        assertEquals(expected.getTransactionHistoryCopy(), loanAmount.getTransactionHistoryCopy());
+        assertTrue(loanAmount.isTransactionHistoryLoaded());
+        assertEquals(1, loadCount[0]);
+    }
+
+    @Test
+    public void withLazyHistory_noTransactions_emptyLoanAmount() {
+        LoanAmount loanAmount = LoanAmount.withLazyHistory(MoneyInt.ZERO, MoneyInt.ZERO, 0, () -> {
+            throw new AssertionError("An empty history does not need loading");
+        });
+        assertEquals(TypicalLoanAmount.EMPTY_LOAN_AMOUNT, loanAmount);
+    }
+
+    @Test
+    public void withLazyHistory_invalidSummary_throwsIllegalArgumentException() {
+        MoneyInt hundred = MoneyInt.fromCent(10000);
+        assertThrows(IllegalArgumentException.class, () ->
+                LoanAmount.withLazyHistory(hundred, hundred, -1, List::of));
+        assertThrows(IllegalArgumentException.class, () ->
+                LoanAmount.withLazyHistory(MoneyInt.ZERO, hundred, 1, List::of));
+        assertThrows(IllegalArgumentException.class, () ->
+                LoanAmount.withLazyHistory(hundred, MoneyInt.ZERO, 0, List::of));
+    }
+
+    @Test
+    public void withLazyHistory_historyDoesNotMatchSummary_throwsIllegalStateException() {
+        LoanAmount expected = TypicalLoanAmount.NON_EMPTY_LOAN_AMOUNT_NOT_FULLY_REPAID;
+
+        // Different totals
+        LoanAmount loanAmount = LoanAmount.withLazyHistory(expected.getTotalAmount(), MoneyInt.ZERO,
+                expected.getTransactionsCount(), expected::getTransactionHistoryCopy);
+        assertThrows(IllegalStateException.class, LoanAmount.MESSAGE_INCONSISTENT_HISTORY, () ->
+                loanAmount.getTransaction(0));
+
+        // Different number of transactions
+        LoanAmount longer = LoanAmount.withLazyHistory(expected.getTotalAmount(), expected.getRemainingAmount(),
+                expected.getTransactionsCount() + 1, expected::getTransactionHistoryCopy);
+        assertThrows(IllegalStateException.class, LoanAmount.MESSAGE_INCONSISTENT_HISTORY, () ->
+                longer.getTransaction(0));
+    }
+
+    @Test
+    public void withLazyHistory_loaderFails_throwsIllegalStateException() {
+        MoneyInt hundred = MoneyInt.fromCent(10000);
+        LoanAmount loanAmount = LoanAmount.withLazyHistory(hundred, hundred, 1, () -> {
+            throw new IllegalArgumentException("The cent value cannot be negative");
+        });
+        assertThrows(IllegalStateException.class, LoanAmount.MESSAGE_INCONSISTENT_HISTORY, () ->
+                loanAmount.getTransaction(0));
+    }
+
     @Test
     public void etTransactionsCount() {
         assertEquals(0, TypicalLoanAmount.EMPTY_LOAN_AMOUNT.getTransactionsCount());
@@ -109,9 +195,9 @@ public class LoanAmountTest {
 
     @Test
     public void appendTransaction_success() throws Exception {
-        LoanTransaction transaction1 = new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024"));
-        LoanTransaction transaction2 = new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2nd Jan 2024"));
-        LoanTransaction transaction3 = new RepayLoanTransaction(MoneyInt.fromCent(1200), new LoanDate("3rd Jan 2024"));
+        LoanTransaction transaction1 = new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01"));
+        LoanTransaction transaction2 = new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-02"));
+        LoanTransaction transaction3 = new RepayLoanTransaction(MoneyInt.fromCent(1200), new LoanDate("2024-01-03"));
         LoanAmount originalLoanAmount = new LoanAmount(new ArrayList<>(List.of(transaction1)));
         LoanAmount newLoanAmount = originalLoanAmount
                 .appendTransaction(transaction2)
@@ -125,16 +211,166 @@ public class LoanAmountTest {
         assertEquals(new ArrayList<>(List.of(transaction1)), originalLoanAmount.getTransactionHistoryCopy());
     }
 
+    @Test
+    public void appendTransaction_branchFromOlderLoanAmount_branchesAreIndependent() throws Exception {
+        LoanTransaction transaction1 = new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01"));
+        LoanTransaction transaction2 = new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-02"));
+        LoanTransaction transaction3 = new RepayLoanTransaction(MoneyInt.fromCent(300), new LoanDate("2024-01-03"));
+        LoanAmount base = new LoanAmount().appendTransaction(transaction1);
+
+        LoanAmount firstBranch = base.appendTransaction(transaction2);
+        LoanAmount secondBranch = base.appendTransaction(transaction3);
+
+        assertEquals(new ArrayList<>(List.of(transaction1)), base.getTransactionHistoryCopy());
+        assertEquals(new ArrayList<>(List.of(transaction1, transaction2)), firstBranch.getTransactionHistoryCopy());
+        assertEquals(new ArrayList<>(List.of(transaction1, transaction3)), secondBranch.getTransactionHistoryCopy());
+        assertEquals(MoneyInt.fromCent(1500), firstBranch.getRemainingAmount());
+        assertEquals(MoneyInt.fromCent(700), secondBranch.getRemainingAmount());
+    }
+
+    @Test
+    public void appendTransaction_totalsMatchFullReplay() throws Exception {
+        LoanAmount appended = new LoanAmount();
+        ArrayList<LoanTransaction> transactions = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            LoanTransaction transaction = i % 3 == 0
+                    ? new RepayLoanTransaction(MoneyInt.fromCent(i), new LoanDate("2024-01-01"))
+                    : new AddLoanTransaction(MoneyInt.fromCent(i), new LoanDate("2024-01-01"));
+            appended = appended.appendTransaction(transaction);
+            transactions.add(transaction);
+        }
+
+        LoanAmount replayed = new LoanAmount(transactions);
+        assertEquals(replayed.getTotalAmount(), appended.getTotalAmount());
+        assertEquals(replayed.getRemainingAmount(), appended.getRemainingAmount());
+        assertEquals(replayed, appended);
+    }
+
     @Test
     public void appendTransactions_excessiveRepayment_throwsExcessRepaymentException() {
         LoanAmount loanAmount = TypicalLoanAmount.NON_EMPTY_LOAN_AMOUNT_NOT_FULLY_REPAID;
         RepayLoanTransaction transaction = new RepayLoanTransaction(
                 MoneyInt.fromCent(loanAmount.getRemainingAmount().getValueTimesOneHundred() + 1),
-                new LoanDate("1st Jan 2024"));
+                new LoanDate("2024-01-01"));
 
         assertThrows(ExcessRepaymentException.class, () -> loanAmount.appendTransaction(transaction));
     }
 
+    @Test
+    public void replaceTransaction_valid_success() throws Exception {
+        LoanAmount loanAmount = TypicalLoanAmount.NON_EMPTY_LOAN_AMOUNT_NOT_FULLY_REPAID;
+        LoanTransaction newTransaction = new AddLoanTransaction(MoneyInt.fromCent(5000), new LoanDate("2024-01-01"));
+
+        ArrayList<LoanTransaction> expectedHistory = loanAmount.getTransactionHistoryCopy();
+        expectedHistory.set(0, newTransaction);
+
+        assertEquals(new LoanAmount(expectedHistory), loanAmount.replaceTransaction(0, newTransaction));
+    }
+
+    @Test
+    public void replaceTransaction_laterBalanceNegative_throwsExcessRepaymentException() throws Exception {
+        LoanAmount loanAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                new RepayLoanTransaction(MoneyInt.fromCent(800), new LoanDate("2024-01-02")),
+                new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-03"))
+        )));
+
+        // balance right after the replaced transaction stays non-negative, but the next one does not
+        assertThrows(ExcessRepaymentException.class, () -> loanAmount.replaceTransaction(0,
+                new AddLoanTransaction(MoneyInt.fromCent(700), new LoanDate("2024-01-01"))));
+        // balance right after the replaced transaction gets negative
+        assertThrows(ExcessRepaymentException.class, () -> loanAmount.replaceTransaction(1,
+                new RepayLoanTransaction(MoneyInt.fromCent(1001), new LoanDate("2024-01-02"))));
+    }
+
+    @Test
+    public void deleteTransaction_valid_success() throws Exception {
+        LoanAmount loanAmount = TypicalLoanAmount.NON_EMPTY_LOAN_AMOUNT_NOT_FULLY_REPAID;
+
+        ArrayList<LoanTransaction> expectedHistory = loanAmount.getTransactionHistoryCopy();
+        expectedHistory.remove(4);
+
+        assertEquals(new LoanAmount(expectedHistory), loanAmount.deleteTransaction(4));
+    }
+
+    @Test
+    public void deleteTransaction_laterBalanceNegative_throwsExcessRepaymentException() throws Exception {
+        LoanAmount loanAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                new AddLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-02")),
+                new RepayLoanTransaction(MoneyInt.fromCent(1200), new LoanDate("2024-01-03"))
+        )));
+
+        assertThrows(ExcessRepaymentException.class, () -> loanAmount.deleteTransaction(0));
+    }
+
+    @Test
+    public void replaceAndDeleteTransaction_randomHistories_matchFullReplay() throws Exception {
+        Random random = new Random(2103);
+        for (int round = 0; round < 200; round++) {
+            LoanAmount loanAmount = new LoanAmount();
+            // appending after the first edit also exercises the balance index of an already queried history
+            for (int phase = 0; phase < 2; phase++) {
+                loanAmount = appendRandomTransactions(random, loanAmount, 1 + random.nextInt(40));
+
+                int index = random.nextInt(loanAmount.getTransactionsCount());
+                LoanTransaction newTransaction = createRandomTransaction(random);
+
+                ArrayList<LoanTransaction> replacedHistory = loanAmount.getTransactionHistoryCopy();
+                replacedHistory.set(index, newTransaction);
+                assertSameOutcome(replacedHistory, loanAmount, amount -> amount.replaceTransaction(index,
+                        newTransaction));
+
+                ArrayList<LoanTransaction> deletedHistory = loanAmount.getTransactionHistoryCopy();
+                deletedHistory.remove(index);
+                assertSameOutcome(deletedHistory, loanAmount, amount -> amount.deleteTransaction(index));
+            }
+        }
+    }
+
+    private static LoanAmount appendRandomTransactions(Random random, LoanAmount loanAmount, int count) {
+        int targetCount = loanAmount.getTransactionsCount() + count;
+        while (loanAmount.getTransactionsCount() < targetCount) {
+            try {
+                loanAmount = loanAmount.appendTransaction(createRandomTransaction(random));
+            } catch (ExcessRepaymentException e) {
+                // skip transactions that would make the history invalid
+            }
+        }
+        return loanAmount;
+    }
+
+    private static LoanTransaction createRandomTransaction(Random random) {
+        MoneyInt amount = MoneyInt.fromCent(random.nextInt(1000));
+        LoanDate date = new LoanDate("2024-01-01");
+        return random.nextBoolean()
+                ? new AddLoanTransaction(amount, date)
+                : new RepayLoanTransaction(amount, date);
+    }
+
+    /**
+     * Asserts that {@code edit} on {@code loanAmount} gives the same result as replaying {@code expectedHistory}.
+     */
+    private static void assertSameOutcome(ArrayList<LoanTransaction> expectedHistory, LoanAmount loanAmount,
+            LoanAmountEdit edit) throws Exception {
+        LoanAmount expected;
+        try {
+            expected = new LoanAmount(expectedHistory);
+        } catch (ExcessRepaymentException e) {
+            assertThrows(ExcessRepaymentException.class, () -> edit.apply(loanAmount));
+            return;
+        }
+        LoanAmount actual = edit.apply(loanAmount);
+        assertEquals(expected, actual);
+        assertEquals(expected.getTotalAmount(), actual.getTotalAmount());
+        assertEquals(expected.getRemainingAmount(), actual.getRemainingAmount());
+    }
+
+    @FunctionalInterface
+    private interface LoanAmountEdit {
+        LoanAmount apply(LoanAmount loanAmount) throws ExcessRepaymentException;
+    }
+
     @Test
     public void isRepaid() {
         assertTrue(TypicalLoanAmount.EMPTY_LOAN_AMOUNT.isRepaid());
@@ -145,16 +381,16 @@ public class LoanAmountTest {
     @Test
     public void equalsMethod() throws Exception {
         LoanAmount loanAmount = new LoanAmount(new ArrayList<>(Arrays.asList(
-                new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("1st Jan 2024")),
-                new RepayLoanTransaction(MoneyInt.fromCent(500), new LoanDate("1st Jan 2024")),
-                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024"))
+                new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("2024-01-01")),
+                new RepayLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-01")),
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01"))
         )));
 
         // same values -> returns true
         assertTrue(loanAmount.equals(new LoanAmount()
-                .appendTransaction(new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("1st Jan 2024")))
-                .appendTransaction(new RepayLoanTransaction(MoneyInt.fromCent(500), new LoanDate("1st Jan 2024")))
-                .appendTransaction(new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")))
+                .appendTransaction(new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("2024-01-01")))
+                .appendTransaction(new RepayLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-01")))
+                .appendTransaction(new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")))
         ));
 
         // same object -> returns true
@@ -168,24 +404,24 @@ public class LoanAmountTest {
 
         // different values -> returns false
         assertFalse(loanAmount.equals(new LoanAmount(new ArrayList<>(List.of(
-                new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("1st Jan 2024")))))));
+                new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("2024-01-01")))))));
         assertFalse(loanAmount.equals(new LoanAmount(new ArrayList<>(Arrays.asList(
-                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")),
-                new RepayLoanTransaction(MoneyInt.fromCent(500), new LoanDate("1st Jan 2024")),
-                new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("1st Jan 2024"))
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")),
+                new RepayLoanTransaction(MoneyInt.fromCent(500), new LoanDate("2024-01-01")),
+                new AddLoanTransaction(MoneyInt.fromCent(1500), new LoanDate("2024-01-01"))
         )))));
     }
 
     @Test
     public void compareToMethod() throws Exception {
         LoanAmount loanAmount = new LoanAmount(new ArrayList<>(List.of(
-                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("1st Jan 2024")))));
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")))));
         LoanAmount less = new LoanAmount(new ArrayList<>(List.of(
-                new AddLoanTransaction(MoneyInt.fromCent(900), new LoanDate("1st Jan 2024")))));
+                new AddLoanTransaction(MoneyInt.fromCent(900), new LoanDate("2024-01-01")))));
         LoanAmount greater = new LoanAmount(new ArrayList<>(List.of(
-                new AddLoanTransaction(MoneyInt.fromCent(1001), new LoanDate("1st Jan 2024")))));
+                new AddLoanTransaction(MoneyInt.fromCent(1001), new LoanDate("2024-01-01")))));
         LoanAmount equal = new LoanAmount(new ArrayList<>(List.of(
-                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2nd Feb 2222")))));
+                new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2222-02-02")))));
         assertTrue(loanAmount.compareTo(less) > 0);
         assertTrue(loanAmount.compareTo(greater) < 0);
         assertEquals(0, loanAmount.compareTo(equal));
@@ -1,5 +1,6 @@
 package wanted.model.loan;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static wanted.testutil.Assert.assertThrows;
@@ -16,7 +17,8 @@ public class LoanDateTest {
     @Test
     public void constructor_invalidLoanDate_throwsIllegalArgumentException() {
         String invalidLoanDate = "";
-        assertThrows(IllegalArgumentException.class, () -> new Email(invalidLoanDate));
+        assertThrows(IllegalArgumentException.class, () -> new LoanDate(invalidLoanDate));
+        assertThrows(IllegalArgumentException.class, () -> new LoanDate("1st Jan 2024"));
     }
 
     @Test
@@ -34,6 +36,36 @@ public class LoanDateTest {
         assertTrue(LoanDate.isValidLoanDate("2023-12-19"));
     }
 
+    @Test
+    public void toEpochDay_validLoanDate_roundTrips() {
+        LoanDate date = new LoanDate("2024-02-29");
+        assertEquals(19782, date.toEpochDay());
+        assertEquals(date, LoanDate.fromEpochDay(19782));
+        assertEquals(new LoanDate("1970-01-01"), LoanDate.fromEpochDay(0));
+    }
+
+    @Test
+    public void compareTo() {
+        LoanDate date = new LoanDate("2025-01-26");
+        assertTrue(date.compareTo(new LoanDate("2025-01-27")) < 0);
+        assertTrue(date.compareTo(new LoanDate("2024-01-27")) > 0);
+        assertEquals(0, date.compareTo(new LoanDate("2025-01-26")));
+    }
+
+    @Test
+    public void daysBetween() {
+        LoanDate date = new LoanDate("2025-01-26");
+        assertEquals(6, date.daysBetween(new LoanDate("2025-02-01")));
+        assertEquals(-26, date.daysBetween(new LoanDate("2024-12-31")));
+    }
+
+    @Test
+    public void isWithin() {
+        LoanDate date = new LoanDate("2025-01-26");
+        assertTrue(date.isWithin(new LoanDate("2025-01-01"), new LoanDate("2025-01-26")));
+        assertFalse(date.isWithin(new LoanDate("2025-01-27"), new LoanDate("2025-12-31")));
+    }
+
     @Test
     public void equals() {
         LoanDate date = new LoanDate("2025-01-26");
@@ -3,6 +3,7 @@ package wanted.model.loan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -56,6 +57,14 @@ public class NameContainsKeywordsPredicateTest {
         // Mixed-case keywords
         predicate = new NameContainsKeywordsPredicate(Arrays.asList("aLIce", "bOB"));
         assertTrue(predicate.test(new PersonBuilder().withName("Alice Bob").build()));
+
+        // Keywords with leading and trailing spaces, and a name with extra spaces
+        predicate = new NameContainsKeywordsPredicate(Arrays.asList(" bob "));
+        assertTrue(predicate.test(new PersonBuilder().withName("Alice   Bob").build()));
+
+        // Invalid keyword after a matching one
+        predicate = new NameContainsKeywordsPredicate(Arrays.asList("Alice", "Bob Carol"));
+        assertTrue(predicate.test(new PersonBuilder().withName("Alice").build()));
     }
 
     @Test
@@ -76,6 +85,24 @@ public class NameContainsKeywordsPredicateTest {
                 .build()));
     }
 
+    @Test
+    public void testName_sameAsTestingLoan() {
+        NameContainsKeywordsPredicate predicate = new NameContainsKeywordsPredicate(Arrays.asList("alice", "Carol"));
+        assertTrue(predicate.testName(new Name("Alice Bob")));
+        assertFalse(predicate.testName(new Name("Alicia Bob")));
+    }
+
+    @Test
+    public void test_invalidKeywordReached_throwsIllegalArgumentException() {
+        NameContainsKeywordsPredicate emptyKeyword = new NameContainsKeywordsPredicate(Arrays.asList("Bob", " "));
+        assertThrows(IllegalArgumentException.class, "Word parameter cannot be empty", () ->
+                emptyKeyword.test(new PersonBuilder().withName("Alice").build()));
+
+        NameContainsKeywordsPredicate multipleWords = new NameContainsKeywordsPredicate(Arrays.asList("Bob Carol"));
+        assertThrows(IllegalArgumentException.class, "Word parameter should be a single word", () ->
+                multipleWords.test(new PersonBuilder().withName("Alice").build()));
+    }
+
     @Test
     public void toStringMethod() {
         List<String> keywords = List.of("keyword1", "keyword2");
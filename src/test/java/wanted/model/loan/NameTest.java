@@ -38,6 +38,18 @@ public class NameTest {
         assertTrue(Name.isValidName("David Roger Jackson Ray Jr 2nd")); // long names
     }
 
+    @Test
+    public void containsFoldedWord() {
+        Name name = new Name("Alex  yEOH 2");
+        assertTrue(name.containsFoldedWord("alex"));
+        assertTrue(name.containsFoldedWord("yeoh"));
+        assertTrue(name.containsFoldedWord("2"));
+        assertFalse(name.containsFoldedWord("Alex")); // not case-folded
+        assertFalse(name.containsFoldedWord("ale"));
+        assertFalse(name.containsFoldedWord(""));
+        assertThrows(NullPointerException.class, () -> name.containsFoldedWord(null));
+    }
+
     @Test
     public void equals() {
         Name name = new Name("Valid Name");
@@ -0,0 +1,108 @@
+package wanted.model.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static wanted.testutil.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class NameTrigramIndexTest {
+
+    private static final Name ALEX_YEOH = new Name("Alex Yeoh");
+    private static final Name ALEXANDRA = new Name("Alexandra");
+    private static final Name BERNICE = new Name("Bernice Yu");
+    private static final Name LEX = new Name("Le X");
+
+    @Test
+    public void findNamesContaining_ignoresCase() {
+        NameTrigramIndex index = createIndex(ALEX_YEOH, ALEXANDRA, BERNICE, LEX);
+        assertEquals(List.of(ALEX_YEOH, ALEXANDRA), index.findNamesContaining("ALEX"));
+        assertEquals(List.of(ALEX_YEOH), index.findNamesContaining("x yeoh"));
+        assertEquals(List.of(), index.findNamesContaining("alexy"));
+        assertEquals(List.of(), index.findNamesContaining("zzz"));
+    }
+
+    @Test
+    public void findNamesContaining_foldsCaseLikeFind() {
+        // The long s is upper-cased to S, so it is folded to s as a find keyword is
+        Name samuel = new Name("Samuel");
+        NameTrigramIndex index = createIndex(samuel, ALEXANDRA);
+        assertEquals(List.of(samuel), index.findNamesContaining("\u017Fam"));
+        assertEquals(List.of(samuel), index.findNamesContaining("\u017F"));
+    }
+
+    @Test
+    public void findNamesContaining_repeatedTrigrams_success() {
+        Name anana = new Name("Ananana");
+        NameTrigramIndex index = createIndex(anana, new Name("Anan"));
+        assertEquals(List.of(anana), index.findNamesContaining("nanan"));
+        assertEquals(List.of(anana), index.findNamesContaining("anana"));
+    }
+
+    @Test
+    public void findNamesContaining_shorterThanTrigram_matchesAllNames() {
+        NameTrigramIndex index = createIndex(ALEX_YEOH, ALEXANDRA, BERNICE, LEX);
+        assertEquals(List.of(ALEX_YEOH, ALEXANDRA, LEX), index.findNamesContaining("x"));
+        assertEquals(List.of(BERNICE), index.findNamesContaining("yu"));
+        assertEquals(List.of(ALEX_YEOH, ALEXANDRA, BERNICE, LEX), index.findNamesContaining(""));
+    }
+
+    @Test
+    public void remove_namesNoLongerFound() {
+        NameTrigramIndex index = createIndex(ALEX_YEOH, ALEXANDRA, BERNICE, LEX);
+        index.remove(ALEX_YEOH);
+        index.remove(ALEX_YEOH);
+        assertEquals(List.of(ALEXANDRA), index.findNamesContaining("alex"));
+        assertEquals(3, index.size());
+
+        // Names keep the order they were added in when the index is rebuilt
+        index.remove(ALEXANDRA);
+        index.remove(LEX);
+        index.add(ALEX_YEOH);
+        assertEquals(List.of(BERNICE, ALEX_YEOH), index.findNamesContaining("e"));
+        assertEquals(List.of(ALEX_YEOH), index.findNamesContaining("ale"));
+
+        index.clear();
+        assertEquals(List.of(), index.findNamesContaining("e"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void findNamesContaining_manyNames_sameAsScan() {
+        List<Name> names = new ArrayList<>();
+        NameTrigramIndex index = new NameTrigramIndex();
+        for (int i = 0; i < 2000; i++) {
+            Name name = new Name("Person " + Integer.toString(i * 7919, 36));
+            names.add(name);
+            index.add(name);
+        }
+        for (int i = 0; i < 2000; i += 3) {
+            index.remove(names.get(i));
+        }
+
+        for (String substring : List.of("son 1", "a", "zz", "rson", "2b", "n 9z")) {
+            List<Name> expected = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                if (i % 3 != 0 && names.get(i).fullName.toLowerCase().contains(substring)) {
+                    expected.add(names.get(i));
+                }
+            }
+            assertEquals(expected, index.findNamesContaining(substring));
+        }
+    }
+
+    @Test
+    public void findNamesContaining_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new NameTrigramIndex().findNamesContaining(null));
+    }
+
+    private static NameTrigramIndex createIndex(Name... names) {
+        NameTrigramIndex index = new NameTrigramIndex();
+        for (Name name : names) {
+            index.add(name);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,41 @@
+package wanted.model.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import wanted.commons.core.datatypes.MoneyInt;
+import wanted.model.loan.transaction.AddLoanTransaction;
+import wanted.model.loan.transaction.RepayLoanTransaction;
+
+public class TransactionHistoryTest {
+    private static final AddLoanTransaction ADD = new AddLoanTransaction(MoneyInt.fromCent(1000),
+            new LoanDate("2024-01-01"));
+    private static final RepayLoanTransaction REPAY = new RepayLoanTransaction(MoneyInt.fromCent(400),
+            new LoanDate("2024-01-02"));
+
+    @Test
+    public void equals() {
+        TransactionHistory history = TransactionHistory.empty().append(ADD, 1000).append(REPAY, 600);
+
+        // same entries in a different log -> returns true, with the same hash code
+        TransactionHistory sameEntries = TransactionHistory.empty().append(ADD, 1000).append(REPAY, 600);
+        assertEquals(history, sameEntries);
+        assertEquals(history.hashCode(), sameEntries.hashCode());
+
+        // view of the same log that ends earlier -> returns false
+        TransactionHistory prefix = TransactionHistory.empty().append(ADD, 1000);
+        assertNotEquals(prefix.append(REPAY, 600), prefix);
+
+        // different entries -> returns false
+        assertNotEquals(history, TransactionHistory.empty().append(ADD, 1000).append(ADD, 2000));
+        assertNotEquals(history, TransactionHistory.empty().append(REPAY, 0).append(ADD, 1000));
+
+        // same entries after an edit -> returns true, with the same hash code
+        TransactionHistory edited = TransactionHistory.empty().append(ADD, 1000).append(ADD, 2000)
+                .replace(1, REPAY, -1400);
+        assertEquals(history, edited);
+        assertEquals(history.hashCode(), edited.hashCode());
+    }
+}
@@ -102,6 +102,18 @@ public class UniqueLoanListTest {
         assertEquals(expectedUniqueLoanList, uniqueLoanList);
     }
 
+    @Test
+    public void setPerson_editedPersonHasDifferentIdentity_updatesIdentityIndex() {
+        uniqueLoanList.add(ALICE);
+        uniqueLoanList.setPerson(ALICE, BOB);
+        assertFalse(uniqueLoanList.contains(ALICE));
+        assertTrue(uniqueLoanList.contains(BOB));
+
+        // the old identity is free to be reused
+        uniqueLoanList.add(ALICE);
+        assertTrue(uniqueLoanList.contains(ALICE));
+    }
+
     @Test
     public void setPerson_editedPersonHasNonUniqueIdentity_throwsDuplicatePersonException() {
         uniqueLoanList.add(ALICE);
@@ -127,6 +139,20 @@ public class UniqueLoanListTest {
         assertEquals(expectedUniqueLoanList, uniqueLoanList);
     }
 
+    @Test
+    public void remove_personWithSameIdentityButDifferentFields_throwsPersonNotFoundException() {
+        uniqueLoanList.add(ALICE);
+        Loan editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_HUSBAND).build();
+        assertThrows(LoanNotFoundException.class, () -> uniqueLoanList.remove(editedAlice));
+    }
+
+    @Test
+    public void remove_existingPerson_noLongerContained() {
+        uniqueLoanList.add(ALICE);
+        uniqueLoanList.remove(ALICE);
+        assertFalse(uniqueLoanList.contains(ALICE));
+    }
+
     @Test
     public void setPersons_nullUniquePersonList_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniqueLoanList.setPersons((UniqueLoanList) null));
@@ -156,12 +182,37 @@ public class UniqueLoanListTest {
         assertEquals(expectedUniqueLoanList, uniqueLoanList);
     }
 
+    @Test
+    public void setPersons_list_replacesIdentityIndex() {
+        uniqueLoanList.add(ALICE);
+        uniqueLoanList.setPersons(Collections.singletonList(BOB));
+        assertFalse(uniqueLoanList.contains(ALICE));
+        assertTrue(uniqueLoanList.contains(BOB));
+    }
+
     @Test
     public void setPersons_listWithDuplicatePersons_throwsDuplicatePersonException() {
         List<Loan> listWithDuplicatePersons = Arrays.asList(ALICE, ALICE);
         assertThrows(DuplicateLoanException.class, () -> uniqueLoanList.setPersons(listWithDuplicatePersons));
     }
 
+    @Test
+    public void setPersons_listWithSameIdentityPersons_throwsDuplicatePersonException() {
+        Loan editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_HUSBAND).build();
+        List<Loan> listWithDuplicatePersons = Arrays.asList(ALICE, BOB, editedAlice);
+        assertThrows(DuplicateLoanException.class, () -> uniqueLoanList.setPersons(listWithDuplicatePersons));
+    }
+
+    @Test
+    public void reorderPersons_permutation_reordersListAndKeepsIdentities() {
+        uniqueLoanList.add(ALICE);
+        uniqueLoanList.add(BOB);
+        uniqueLoanList.reorderPersons(Arrays.asList(BOB, ALICE));
+        assertEquals(Arrays.asList(BOB, ALICE), uniqueLoanList.asUnmodifiableObservableList());
+        assertTrue(uniqueLoanList.contains(ALICE));
+        assertTrue(uniqueLoanList.contains(BOB));
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, ()
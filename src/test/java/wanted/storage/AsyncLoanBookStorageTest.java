@@ -0,0 +1,160 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalPersons.HOON;
+import static wanted.testutil.TypicalPersons.IDA;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import wanted.model.LoanBook;
+import wanted.model.ReadOnlyLoanBook;
+
+public class AsyncLoanBookStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void saveLoanBook_burstOfSaves_coalescedIntoLatestSnapshot() throws Exception {
+        RecordingStorage recordingStorage = new RecordingStorage(testFolder.resolve("loanbook.json"));
+        ManualExecutor executor = new ManualExecutor();
+        AsyncLoanBookStorage storage = new AsyncLoanBookStorage(recordingStorage, executor);
+
+        LoanBook loanBook = getTypicalLoanBook();
+        storage.saveLoanBook(loanBook);
+        loanBook.addPerson(HOON);
+        storage.saveLoanBook(loanBook);
+        loanBook.addPerson(IDA);
+        storage.saveLoanBook(loanBook);
+        LoanBook expected = new LoanBook(loanBook);
+
+        // Changes made after the save are not part of the snapshot
+        loanBook.removePerson(HOON);
+
+        assertTrue(recordingStorage.saved.isEmpty());
+        executor.runAll();
+        assertEquals(1, recordingStorage.saved.size());
+        assertEquals(expected, new LoanBook(recordingStorage.saved.get(0)));
+    }
+
+    @Test
+    public void saveLoanBook_writeFailed_reportedByNextSave() throws Exception {
+        RecordingStorage recordingStorage = new RecordingStorage(testFolder.resolve("loanbook.json"));
+        recordingStorage.isFailing = true;
+        ManualExecutor executor = new ManualExecutor();
+        AsyncLoanBookStorage storage = new AsyncLoanBookStorage(recordingStorage, executor);
+
+        storage.saveLoanBook(getTypicalLoanBook());
+        assertFalse(storage.hasPendingFailure());
+        executor.runAll();
+        assertTrue(storage.hasPendingFailure());
+
+        // The save that reports the failure still schedules its loan book, which retries the write
+        LoanBook loanBook = getTypicalLoanBook();
+        loanBook.addPerson(HOON);
+        assertThrows(IOException.class, () -> storage.saveLoanBook(loanBook));
+        assertFalse(storage.hasPendingFailure());
+        recordingStorage.isFailing = false;
+        executor.runAll();
+        assertEquals(1, recordingStorage.saved.size());
+        assertEquals(loanBook, new LoanBook(recordingStorage.saved.get(0)));
+
+        // The failure is only reported once
+        storage.saveLoanBook(getTypicalLoanBook());
+        executor.runAll();
+        assertEquals(2, recordingStorage.saved.size());
+    }
+
+    @Test
+    public void flush_failedWrite_retried() throws Exception {
+        RecordingStorage recordingStorage = new RecordingStorage(testFolder.resolve("loanbook.json"));
+        recordingStorage.isFailing = true;
+        AsyncLoanBookStorage storage = new AsyncLoanBookStorage(recordingStorage, Runnable::run);
+
+        LoanBook loanBook = getTypicalLoanBook();
+        storage.saveLoanBook(loanBook);
+        assertThrows(IOException.class, storage::flush);
+
+        recordingStorage.isFailing = false;
+        storage.flush();
+        assertEquals(loanBook, new LoanBook(recordingStorage.saved.get(0)));
+    }
+
+    @Test
+    public void flush_backgroundWriter_writesPendingSaves() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        AsyncLoanBookStorage storage = new AsyncLoanBookStorage(new JsonLoanBookStorage(filePath));
+
+        LoanBook loanBook = getTypicalLoanBook();
+        for (int i = 0; i < 10; i++) {
+            storage.saveLoanBook(loanBook);
+        }
+        loanBook.addPerson(HOON);
+        storage.saveLoanBook(loanBook);
+        storage.flush();
+        assertEquals(loanBook, new LoanBook(new JsonLoanBookStorage(filePath).readLoanBook().get()));
+
+        // Reading waits for pending writes by itself
+        loanBook.addPerson(IDA);
+        storage.saveLoanBook(loanBook);
+        assertEquals(loanBook, new LoanBook(storage.readLoanBook().get()));
+    }
+
+    @Test
+    public void saveLoanBook_nullLoanBook_throwsNullPointerException() {
+        AsyncLoanBookStorage storage = new AsyncLoanBookStorage(
+                new RecordingStorage(testFolder.resolve("loanbook.json")), Runnable::run);
+        assertThrows(NullPointerException.class, () -> storage.saveLoanBook(null));
+    }
+
+    /**
+     * An {@code Executor} that only runs its tasks when asked to.
+     */
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove().run();
+            }
+        }
+    }
+
+    /**
+     * A {@code LoanBookStorage} that keeps the loan books it saves in memory.
+     */
+    private static class RecordingStorage extends JsonLoanBookStorage {
+        private final List<ReadOnlyLoanBook> saved = new ArrayList<>();
+        private boolean isFailing;
+
+        RecordingStorage(Path filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+            if (isFailing) {
+                throw new IOException("Write failed");
+            }
+            saved.add(loanBook);
+        }
+    }
+}
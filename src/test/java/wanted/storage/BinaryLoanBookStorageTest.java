@@ -0,0 +1,175 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalPersons.ALICE;
+import static wanted.testutil.TypicalPersons.HOON;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import wanted.commons.core.datatypes.MoneyInt;
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.util.FileUtil;
+import wanted.model.LoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.LoanAmount;
+import wanted.model.loan.LoanDate;
+import wanted.model.loan.Phone;
+import wanted.model.loan.transaction.AddLoanTransaction;
+import wanted.testutil.PersonBuilder;
+
+public class BinaryLoanBookStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void getBinaryFilePath() {
+        assertEquals(Paths.get("data", "loanbook.bin"),
+                BinaryLoanBookStorage.getBinaryFilePath(Paths.get("data", "loanbook.json")));
+        assertEquals(Paths.get("loanbook.bin"), BinaryLoanBookStorage.getBinaryFilePath(Paths.get("loanbook")));
+    }
+
+    @Test
+    public void readLoanBook_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinaryLoanBookStorage(testFolder.resolve("loanbook.bin")).readLoanBook().isPresent());
+    }
+
+    @Test
+    public void readAndSaveLoanBook_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("dir").resolve("loanbook.bin");
+        BinaryLoanBookStorage storage = new BinaryLoanBookStorage(filePath, 1);
+        LoanBook original = getTypicalLoanBook();
+        original.setPerson(ALICE, new PersonBuilder(ALICE).withPhone(new Phone("94351253")).build());
+        storage.saveLoanBook(original);
+        assertEquals(original, new LoanBook(storage.readLoanBook().get()));
+
+        LoanBook previous = new LoanBook(original);
+        original.addPerson(HOON);
+        original.removePerson(ALICE);
+        storage.saveLoanBook(original);
+        assertEquals(original, new LoanBook(storage.readLoanBook().get()));
+        assertEquals(List.of(FileUtil.getBackupFilePath(filePath, 1)), storage.getLoanBookBackupFilePaths());
+        assertEquals(previous, new LoanBook(storage.readLoanBook(FileUtil.getBackupFilePath(filePath, 1)).get()));
+    }
+
+    @Test
+    public void readLoanBook_sameAsJson() throws Exception {
+        LoanBook original = getTypicalLoanBook();
+        original.addPerson(new PersonBuilder().withPhone(null).build());
+        JsonLoanBookStorage jsonStorage = new JsonLoanBookStorage(testFolder.resolve("loanbook.json"));
+        BinaryLoanBookStorage binaryStorage = new BinaryLoanBookStorage(testFolder.resolve("loanbook.bin"));
+        jsonStorage.saveLoanBook(original);
+        binaryStorage.saveLoanBook(original);
+
+        assertEquals(jsonStorage.readLoanBook().get(), binaryStorage.readLoanBook().get());
+        assertTrue(Files.size(binaryStorage.getLoanBookFilePath()) < Files.size(jsonStorage.getLoanBookFilePath()));
+    }
+
+    @Test
+    public void readLoanBook_amountsDoNotMatchTransactions_throwDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.bin");
+        byte[] name = "Alice Pauline".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(BinaryLoanBookStorage.MAGIC);
+            out.writeShort(BinaryLoanBookStorage.VERSION);
+            out.writeShort(0);
+            out.writeInt(1); // strings
+            out.writeInt(1); // loans
+            out.writeInt(name.length);
+            out.write(name);
+            out.writeInt(0); // name
+            out.writeInt(-1); // no phone
+            out.writeInt(0); // tags
+            out.writeLong(1000); // total amount
+            out.writeLong(500); // remaining amount, which should also be 1000
+            out.writeInt(1); // transactions
+            out.writeByte(0);
+            out.writeLong(1000);
+            out.writeInt(new LoanDate("2024-01-01").toEpochDay());
+        }
+        Files.write(filePath, bytes.toByteArray());
+
+        // The file has no checksum, so the transactions are checked against the amounts when reading
+        assertThrows(DataLoadingException.class, () -> new BinaryLoanBookStorage(filePath).readLoanBook());
+    }
+
+    @Test
+    public void readLoanBook_versionWithoutAmounts_success() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.bin");
+        byte[] name = "Alice Pauline".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(BinaryLoanBookStorage.MAGIC);
+            out.writeShort(BinaryLoanBookStorage.VERSION_WITHOUT_AMOUNTS);
+            out.writeShort(0);
+            out.writeInt(1); // strings
+            out.writeInt(1); // loans
+            out.writeInt(name.length);
+            out.write(name);
+            out.writeInt(0); // name
+            out.writeInt(-1); // no phone
+            out.writeInt(0); // tags
+            out.writeInt(1); // transactions
+            out.writeByte(0);
+            out.writeLong(1000);
+            out.writeInt(new LoanDate("2024-01-01").toEpochDay());
+        }
+        Files.write(filePath, bytes.toByteArray());
+
+        Loan expected = new PersonBuilder().withName("Alice Pauline").withAmount(new LoanAmount(new ArrayList<>(
+                List.of(new AddLoanTransaction(MoneyInt.fromCent(1000), new LoanDate("2024-01-01")))))).build();
+        assertEquals(List.of(expected), new BinaryLoanBookStorage(filePath).readLoanBook().get().getPersonList());
+    }
+
+    @Test
+    public void readLoanBook_invalidFiles_throwDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.bin");
+        BinaryLoanBookStorage storage = new BinaryLoanBookStorage(filePath);
+        storage.saveLoanBook(getTypicalLoanBook());
+        byte[] valid = Files.readAllBytes(filePath);
+
+        // Not a binary loan book
+        Files.writeString(filePath, "{\"persons\": []}");
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+        Files.write(filePath, new byte[0]);
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // Unsupported version
+        byte[] newerVersion = valid.clone();
+        ByteBuffer.wrap(newerVersion).putShort(Integer.BYTES, (short) (BinaryLoanBookStorage.VERSION + 1));
+        Files.write(filePath, newerVersion);
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // Truncated
+        Files.write(filePath, Arrays.copyOf(valid, valid.length - 1));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // Negative string count
+        byte[] corrupted = valid.clone();
+        ByteBuffer.wrap(corrupted).putInt(8, -1);
+        Files.write(filePath, corrupted);
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+    }
+
+    @Test
+    public void constructor_negativeBackupCount_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BinaryLoanBookStorage(Paths.get("loanbook.bin"), -1));
+    }
+}
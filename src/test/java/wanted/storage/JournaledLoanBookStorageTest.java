@@ -0,0 +1,342 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalPersons.ALICE;
+import static wanted.testutil.TypicalPersons.BENSON;
+import static wanted.testutil.TypicalPersons.HOON;
+import static wanted.testutil.TypicalPersons.IDA;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.model.LoanBook;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+import wanted.testutil.PersonBuilder;
+
+public class JournaledLoanBookStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void constructor_negativeThreshold_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new JournaledLoanBookStorage(testFolder.resolve("loanbook.json"), -1));
+    }
+
+    @Test
+    public void readLoanBook_missingFiles_emptyResult() throws Exception {
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(testFolder.resolve("loanbook.json"));
+        assertFalse(storage.readLoanBook().isPresent());
+    }
+
+    @Test
+    public void readLoanBook_nullFilePath_throwsNullPointerException() {
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(testFolder.resolve("loanbook.json"));
+        assertThrows(NullPointerException.class, () -> storage.readLoanBook(null));
+    }
+
+    @Test
+    public void saveLoanBook_changes_appendedToJournal() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(filePath);
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+
+        // The first save has nothing to diff against, so it writes a snapshot
+        LoanBook original = getTypicalLoanBook();
+        storage.saveLoanBook(original);
+        String snapshot = Files.readString(filePath);
+        assertFalse(Files.exists(journalFilePath));
+
+        // Unchanged loan book -> nothing written
+        storage.saveLoanBook(original);
+        assertFalse(Files.exists(journalFilePath));
+
+        // Add, edit and remove loans
+        original.addPerson(HOON);
+        original.removePerson(ALICE);
+        original.setPerson(BENSON, new PersonBuilder(BENSON).withTags("colleague").build());
+        storage.saveLoanBook(original);
+        assertEquals(snapshot, Files.readString(filePath));
+        assertEquals(3, Files.readAllLines(journalFilePath).size());
+        assertEquals(original, readWithNewStorage(filePath));
+
+        // Reorder and rename loans
+        List<Loan> reversed = new ArrayList<>(original.getPersonList());
+        Collections.reverse(reversed);
+        original.reorderPersons(reversed);
+        original.setPerson(HOON, new PersonBuilder(HOON).withName("Hoon Meier The Second").build());
+        storage.saveLoanBook(original);
+        assertEquals(snapshot, Files.readString(filePath));
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void saveLoanBook_afterRead_continuesJournal() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        LoanBook original = getTypicalLoanBook();
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+
+        // A new session replays the journal and keeps appending to it
+        JournaledLoanBookStorage newStorage = new JournaledLoanBookStorage(filePath);
+        LoanBook readBack = new LoanBook(newStorage.readLoanBook().get());
+        readBack.addPerson(IDA);
+        newStorage.saveLoanBook(readBack);
+        assertEquals(2, Files.readAllLines(JournaledLoanBookStorage.getJournalFilePath(filePath)).size());
+        assertEquals(readBack, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void saveLoanBook_journalFull_compacts() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(filePath);
+        LoanBook original = getTypicalLoanBook();
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath, 2);
+        storage.saveLoanBook(original);
+
+        original.addPerson(HOON);
+        original.addPerson(IDA);
+        storage.saveLoanBook(original);
+        assertTrue(Files.exists(journalFilePath));
+
+        original.removePerson(HOON);
+        storage.saveLoanBook(original);
+        assertFalse(Files.exists(journalFilePath));
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(filePath).readLoanBook().get()));
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void saveLoanBook_zeroThreshold_alwaysWritesSnapshot() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        LoanBook original = getTypicalLoanBook();
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath, 0);
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+
+        assertFalse(Files.exists(JournaledLoanBookStorage.getJournalFilePath(filePath)));
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(filePath).readLoanBook().get()));
+    }
+
+    @Test
+    public void saveLoanBook_zeroThresholdAfterReadingJournal_compactsUnchangedLoans() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        LoanBook original = getTypicalLoanBook();
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+
+        JournaledLoanBookStorage newStorage = new JournaledLoanBookStorage(filePath, 0);
+        newStorage.saveLoanBook(newStorage.readLoanBook().get());
+        assertFalse(Files.exists(JournaledLoanBookStorage.getJournalFilePath(filePath)));
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(filePath).readLoanBook().get()));
+    }
+
+    @Test
+    public void flush_journalNotEmpty_compactsIntoSnapshot() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        LoanBook original = getTypicalLoanBook();
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+
+        storage.flush();
+        assertFalse(Files.exists(JournaledLoanBookStorage.getJournalFilePath(filePath)));
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(filePath).readLoanBook().get()));
+
+        // Later changes go to a new journal
+        original.addPerson(IDA);
+        storage.saveLoanBook(original);
+        assertTrue(Files.exists(JournaledLoanBookStorage.getJournalFilePath(filePath)));
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void readLoanBook_journalAlreadyInSnapshot_sameLoans() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        LoanBook original = getTypicalLoanBook();
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        original.removePerson(ALICE);
+        storage.saveLoanBook(original);
+
+        // As if compaction wrote the snapshot but crashed before deleting the journal
+        new JsonLoanBookStorage(filePath).saveLoanBook(original);
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void saveLoanBook_crashDuringCompaction_latestLoansRead() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        CrashingSnapshotStorage snapshotStorage = new CrashingSnapshotStorage(filePath);
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(snapshotStorage, 2);
+        LoanBook original = getTypicalLoanBook();
+        storage.saveLoanBook(original);
+        original.setPerson(ALICE, new PersonBuilder(ALICE).withTags("first").build());
+        original.removePerson(BENSON);
+        storage.saveLoanBook(original);
+
+        // Compaction writes the snapshot but crashes before deleting the journal
+        Loan secondAlice = new PersonBuilder(ALICE).withTags("second").build();
+        original.setPerson(original.getPersonList().get(0), secondAlice);
+        original.addPerson(BENSON);
+        snapshotStorage.isCrashing = true;
+        assertThrows(IOException.class, () -> storage.saveLoanBook(original));
+        assertTrue(Files.exists(JournaledLoanBookStorage.getJournalFilePath(filePath)));
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(filePath).readLoanBook().get()));
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void readLoanBook_incompleteLastRecord_ignored() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(filePath);
+        LoanBook original = getTypicalLoanBook();
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+        Files.writeString(journalFilePath, Files.readString(journalFilePath) + "{\"op\":\"put\",\"loan\":{\"na");
+
+        JournaledLoanBookStorage newStorage = new JournaledLoanBookStorage(filePath);
+        assertEquals(original, new LoanBook(newStorage.readLoanBook().get()));
+
+        // The damaged journal is compacted away on the next save
+        original.addPerson(IDA);
+        newStorage.saveLoanBook(original);
+        assertFalse(Files.exists(journalFilePath));
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void saveLoanBook_damagedJournalAndSnapshotNotWritten_latestLoansRead() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(filePath);
+        LoanBook original = getTypicalLoanBook();
+        new JournaledLoanBookStorage(filePath).saveLoanBook(original);
+        Files.writeString(journalFilePath, "{\"op\":\"remove\",\"name\":\"Alice Pauline\"}\n{\"op\":\"put\"");
+        original.removePerson(ALICE);
+
+        CrashingSnapshotStorage snapshotStorage = new CrashingSnapshotStorage(filePath);
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(snapshotStorage, 10);
+        assertEquals(original, new LoanBook(storage.readLoanBook().get()));
+
+        // The journal is replaced before the snapshot is written, so the changes survive until then
+        original.addPerson(HOON);
+        snapshotStorage.isFailing = true;
+        assertThrows(IOException.class, () -> storage.saveLoanBook(original));
+        assertEquals(original, readWithNewStorage(filePath));
+
+        original.addPerson(IDA);
+        snapshotStorage.isFailing = false;
+        snapshotStorage.isCrashing = true;
+        assertThrows(IOException.class, () -> storage.saveLoanBook(original));
+        assertEquals(original, readWithNewStorage(filePath));
+
+        snapshotStorage.isCrashing = false;
+        storage.saveLoanBook(original);
+        assertFalse(Files.exists(journalFilePath));
+        assertEquals(original, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void readLoanBook_invalidRecord_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(filePath);
+        new JournaledLoanBookStorage(filePath).saveLoanBook(getTypicalLoanBook());
+
+        Files.writeString(journalFilePath, "not json\n{\"op\":\"remove\",\"name\":\"Alice Pauline\"}\n");
+        assertThrows(DataLoadingException.class, () -> new JournaledLoanBookStorage(filePath).readLoanBook());
+
+        Files.writeString(journalFilePath, "{\"op\":\"rename\",\"name\":\"Alice Pauline\"}\n");
+        assertThrows(DataLoadingException.class, () -> new JournaledLoanBookStorage(filePath).readLoanBook());
+    }
+
+    @Test
+    public void readLoanBook_journalWithoutSnapshot_replayedOverEmptyLoanBook() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        LoanBook original = getTypicalLoanBook();
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+        Files.delete(filePath);
+
+        LoanBook expected = new LoanBook();
+        expected.addPerson(HOON);
+        assertEquals(expected, readWithNewStorage(filePath));
+    }
+
+    @Test
+    public void recoverLoanBook_damagedSnapshot_journalReplayedAndSnapshotRewritten() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(filePath);
+        JournaledLoanBookStorage storage = new JournaledLoanBookStorage(filePath);
+        LoanBook original = getTypicalLoanBook();
+        storage.saveLoanBook(original);
+        original.addPerson(HOON);
+        storage.saveLoanBook(original);
+        Files.writeString(filePath, Files.readString(filePath).replace("Benson Meier", "Benson Meyer"));
+
+        JournaledLoanBookStorage newStorage = new JournaledLoanBookStorage(filePath);
+        assertThrows(DataLoadingException.class, newStorage::readLoanBook);
+        LoanBook recovered = new LoanBook(newStorage.recoverLoanBook().get());
+        original.removePerson(BENSON);
+        assertEquals(original, recovered);
+
+        // The damaged snapshot is replaced on the next save
+        recovered.addPerson(IDA);
+        newStorage.saveLoanBook(recovered);
+        assertFalse(Files.exists(journalFilePath));
+        assertEquals(recovered, readWithNewStorage(filePath));
+    }
+
+    /**
+     * A snapshot storage that can be made to fail right before or right after writing a snapshot, as if the app
+     * crashed there.
+     */
+    private static class CrashingSnapshotStorage extends JsonLoanBookStorage {
+        private boolean isFailing;
+        private boolean isCrashing;
+
+        CrashingSnapshotStorage(Path filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveLoanBook(ReadOnlyLoanBook loanBook, Path filePath) throws IOException {
+            if (isFailing) {
+                throw new IOException("Failed to write the snapshot");
+            }
+            super.saveLoanBook(loanBook, filePath);
+            if (isCrashing) {
+                throw new IOException("Crashed after writing the snapshot");
+            }
+        }
+    }
+
+    private static LoanBook readWithNewStorage(Path filePath) throws DataLoadingException {
+        ReadOnlyLoanBook readBack = new JournaledLoanBookStorage(filePath).readLoanBook().get();
+        return new LoanBook(readBack);
+    }
+}
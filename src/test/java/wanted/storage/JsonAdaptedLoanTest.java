@@ -1,6 +1,7 @@
 package wanted.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static wanted.storage.JsonAdaptedLoan.LOAN_AMOUNT_TOO_LARGE_MESSAGE;
 import static wanted.storage.JsonAdaptedLoan.LOAN_EXCESS_REPAYMENT_MESSAGE;
 import static wanted.storage.JsonAdaptedLoan.MISSING_FIELD_MESSAGE_FORMAT;
 import static wanted.testutil.Assert.assertThrows;
@@ -13,6 +14,7 @@ import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
+import wanted.commons.core.datatypes.MoneyInt;
 import wanted.commons.exceptions.IllegalValueException;
 import wanted.logic.parser.ParserUtil;
 import wanted.model.loan.Name;
@@ -78,6 +80,17 @@ public class JsonAdaptedLoanTest {
         }
     }
 
+    @Test
+    public void toModelType_totalTooLarge_throwsIllegalValueException() {
+        String maxAmount = MoneyInt.fromDollarAndCent(MoneyInt.MAX_DOLLAR, 99)
+                .getStringRepresentationWithFixedDecimalPoint();
+        List<JsonAdaptedLoanTransaction> transactions = List.of(
+                new JsonAdaptedLoanTransaction("add", maxAmount, "2020-04-01"),
+                new JsonAdaptedLoanTransaction("add", maxAmount, "2020-04-02"));
+        JsonAdaptedLoan loan = new JsonAdaptedLoan(VALID_NAME, transactions, VALID_TAGS, VALID_PHONE);
+        assertThrows(IllegalValueException.class, LOAN_AMOUNT_TOO_LARGE_MESSAGE, loan::toModelType);
+    }
+
     @Test
     public void toModelType_invalidTags_throwsIllegalValueException() {
         List<JsonAdaptedTag> invalidTags = new ArrayList<>(VALID_TAGS);
@@ -85,4 +98,18 @@ public class JsonAdaptedLoanTest {
         JsonAdaptedLoan loan = new JsonAdaptedLoan(VALID_NAME, VALID_TRANSACTIONS, invalidTags, VALID_PHONE);
         assertThrows(IllegalValueException.class, loan::toModelType);
     }
+
+    @Test
+    public void toModelType_summaryDoesNotMatchTransactions_throwsIllegalValueException() {
+        JsonAdaptedLoan loan = new JsonAdaptedLoan(VALID_NAME, "0.00", "0.00", VALID_TRANSACTIONS.size(),
+                VALID_TRANSACTIONS, VALID_TAGS, null, VALID_PHONE);
+        assertThrows(IllegalValueException.class, JsonAdaptedLoan.SUMMARY_MISMATCH_MESSAGE, loan::toModelType);
+    }
+
+    @Test
+    public void toModelType_checksumDoesNotMatch_throwsIllegalValueException() {
+        JsonAdaptedLoan loan = new JsonAdaptedLoan(VALID_NAME, null, null, null, VALID_TRANSACTIONS, VALID_TAGS, 0L,
+                VALID_PHONE);
+        assertThrows(IllegalValueException.class, JsonAdaptedLoan.CHECKSUM_MISMATCH_MESSAGE, loan::toModelType);
+    }
 }
@@ -0,0 +1,255 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalPersons.ALICE;
+import static wanted.testutil.TypicalPersons.BENSON;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.commons.util.JsonUtil;
+import wanted.model.LoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.LoanAmount;
+import wanted.model.loan.LoanDate;
+import wanted.model.loan.Name;
+import wanted.testutil.TypicalPersons;
+
+public class JsonLoanBookReaderTest {
+
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonSerializableLoanBookTest");
+    private static final Path TYPICAL_PERSONS_FILE = TEST_DATA_FOLDER.resolve("typicalPersonsLoanBook.json");
+    private static final Path INVALID_PERSON_FILE = TEST_DATA_FOLDER.resolve("invalidPersonLoanBook.json");
+    private static final Path DUPLICATE_PERSON_FILE = TEST_DATA_FOLDER.resolve("duplicatePersonLoanBook.json");
+
+    @Test
+    public void read_typicalPersonsFile_success() throws Exception {
+        try (InputStream in = Files.newInputStream(TYPICAL_PERSONS_FILE)) {
+            assertEquals(TypicalPersons.getTypicalLoanBook(), JsonLoanBookReader.read(in));
+        }
+    }
+
+    @Test
+    public void read_invalidPersonFile_throwsIllegalValueException() {
+        assertThrows(IllegalValueException.class, () -> {
+            try (InputStream in = Files.newInputStream(INVALID_PERSON_FILE)) {
+                JsonLoanBookReader.read(in);
+            }
+        });
+    }
+
+    @Test
+    public void read_duplicatePersonsFile_throwsIllegalValueException() {
+        assertThrows(IllegalValueException.class, () -> {
+            try (InputStream in = Files.newInputStream(DUPLICATE_PERSON_FILE)) {
+                JsonLoanBookReader.read(in);
+            }
+        });
+    }
+
+    @Test
+    public void read_duplicateLoans_throwsIllegalValueException() {
+        String json = "{\"persons\": [{\"name\": \"Alice Pauline\"}, {\"name\": \"Alice Pauline\"}]}";
+        assertThrows(IllegalValueException.class, JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON, () -> read(json));
+    }
+
+    @Test
+    public void read_savedLoanBook_sameAsDatabind() throws Exception {
+        LoanBook original = TypicalPersons.getTypicalLoanBook();
+        String json = JsonUtil.toJsonString(new JsonSerializableLoanBook(original));
+        assertEquals(original, read(json));
+        assertEquals(JsonUtil.fromJsonString(json, JsonSerializableLoanBook.class).toModelType(), read(json));
+    }
+
+    @Test
+    public void read_savedWithSummaries_historiesLoadedLazily() throws Exception {
+        LoanBook original = TypicalPersons.getTypicalLoanBook();
+        LoanBook loanBook = read(JsonUtil.toJsonString(new JsonSerializableLoanBook(original)));
+        Loan benson = loanBook.getPersonList().get(original.getPersonList().indexOf(BENSON));
+        assertEquals(BENSON.getLoanAmount().getRemainingAmount(), benson.getLoanAmount().getRemainingAmount());
+        assertFalse(benson.getLoanAmount().isTransactionHistoryLoaded());
+
+        assertEquals(original, loanBook);
+        assertTrue(benson.getLoanAmount().isTransactionHistoryLoaded());
+    }
+
+    @Test
+    public void read_summaryDoesNotMatchTransactions_fails() throws Exception {
+        String transactions = "\"transactions\": [{\"type\": \"add\", \"amount\": \"10.00\","
+                + " \"date\": \"2024-01-01\"}, {\"type\": \"repay\", \"amount\": \"4.00\", \"date\": \"2024-01-02\"}]";
+
+        // A different number of transactions is found when reading
+        String wrongCount = "{\"persons\": [{\"name\": \"Alice Pauline\", \"totalAmount\": \"10.00\","
+                + " \"remainingAmount\": \"6.00\", \"transactionCount\": 3, " + transactions + "}]}";
+        assertThrows(IllegalValueException.class, JsonAdaptedLoan.SUMMARY_MISMATCH_MESSAGE, () -> read(wrongCount));
+
+        // Without a checksum, the history is loaded when reading and different totals are found then
+        String wrongTotals = "{\"persons\": [{\"name\": \"Alice Pauline\", \"totalAmount\": \"10.00\","
+                + " \"remainingAmount\": \"10.00\", \"transactionCount\": 2, " + transactions + "}]}";
+        assertThrows(IllegalValueException.class, JsonAdaptedLoan.SUMMARY_MISMATCH_MESSAGE, () -> read(wrongTotals));
+    }
+
+    @Test
+    public void read_transactionsWithoutSummary_sameAsDatabind() throws Exception {
+        String json = "{\"persons\": [{\"name\": \"Alice Pauline\", \"transactions\": [{\"type\": \"add\","
+                + " \"amount\": \"10.00\", \"date\": \"2024-01-01\", \"note\": \"rent\"},"
+                + " {\"type\": \"repay\", \"amount\": \"4.00\", \"date\": \"2024-01-02\"}]}]}";
+        LoanBook loanBook = read(json);
+        assertTrue(loanBook.getPersonList().get(0).getLoanAmount().isTransactionHistoryLoaded());
+        assertEquals(JsonUtil.fromJsonString(json, JsonSerializableLoanBook.class).toModelType(), loanBook);
+
+        // A transaction with a missing value after ones that were packed
+        String missingType = "{\"persons\": [{\"name\": \"Alice Pauline\", \"transactions\": [{\"type\": \"add\","
+                + " \"amount\": \"10.00\", \"date\": \"2024-01-01\"},"
+                + " {\"amount\": \"4.00\", \"date\": \"2024-01-02\"}]}]}";
+        assertThrows(IllegalValueException.class, () -> read(missingType));
+        assertThrows(IllegalValueException.class, () ->
+                JsonUtil.fromJsonString(missingType, JsonSerializableLoanBook.class).toModelType());
+    }
+
+    @Test
+    public void read_changedLoan_throwsIllegalValueException() throws Exception {
+        String json = JsonUtil.toJsonString(new JsonSerializableLoanBook(TypicalPersons.getTypicalLoanBook()));
+        String changed = json.replace("Benson Meier", "Benson Meyer");
+        assertThrows(IllegalValueException.class, JsonAdaptedLoan.CHECKSUM_MISMATCH_MESSAGE, () -> read(changed));
+        assertThrows(IllegalValueException.class, JsonAdaptedLoan.CHECKSUM_MISMATCH_MESSAGE, () ->
+                JsonUtil.fromJsonString(changed, JsonSerializableLoanBook.class).toModelType());
+    }
+
+    @Test
+    public void recover_damagedLoans_otherLoansRecovered() throws Exception {
+        LoanBook original = TypicalPersons.getTypicalLoanBook();
+        StringBuilder json = new StringBuilder(JsonUtil.toJsonString(new JsonSerializableLoanBook(original))
+                .replace("Benson Meier", "Benson Meyer"));
+        json.insert(json.lastIndexOf("]"), ", {\"name\": \"Alice Pauline\"}");
+        json.insert(json.indexOf("[") + 1, "{\"name\": \"R@chel\"}, 5,");
+
+        JsonLoanBookReader.Recovery recovery = recover(json.toString());
+        LoanBook expected = new LoanBook(original);
+        expected.removePerson(BENSON);
+        assertEquals(expected, recovery.loanBook());
+        assertTrue(recovery.isComplete());
+
+        int bensonIndex = 2 + original.getPersonList().indexOf(BENSON);
+        int lastIndex = 2 + original.getPersonList().size();
+        List<JsonLoanBookReader.QuarantinedLoan> quarantinedLoans = recovery.quarantinedLoans();
+        assertEquals(List.of(0, 1, bensonIndex, lastIndex),
+                quarantinedLoans.stream().map(JsonLoanBookReader.QuarantinedLoan::index).toList());
+        assertEquals(Name.MESSAGE_CONSTRAINTS, quarantinedLoans.get(0).reason());
+        assertEquals(JsonAdaptedLoan.CHECKSUM_MISMATCH_MESSAGE, quarantinedLoans.get(2).reason());
+        assertEquals("Benson Meyer", quarantinedLoans.get(2).record().get("name").asText());
+        assertEquals(JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON, quarantinedLoans.get(3).reason());
+    }
+
+    @Test
+    public void recover_malformedJson_loansBeforeRecovered() throws Exception {
+        String json = "{\"persons\": [{\"name\": \"Alice Pauline\"}, {\"name\": \"R@chel\"},"
+                + " {\"name\": \"Benson Meier\", \"tags\": [\"friends\"";
+
+        JsonLoanBookReader.Recovery recovery = recover(json);
+        assertEquals(List.of(ALICE.getName()),
+                recovery.loanBook().getPersonList().stream().map(Loan::getName).toList());
+        assertEquals(2, recovery.quarantinedLoans().size());
+        assertEquals(Name.MESSAGE_CONSTRAINTS, recovery.quarantinedLoans().get(0).reason());
+        assertNull(recovery.quarantinedLoans().get(1).record());
+        assertFalse(recovery.isComplete());
+
+        assertThrows(IllegalValueException.class, () -> recover("{}"));
+        assertThrows(IOException.class, () -> recover("[]"));
+    }
+
+    @Test
+    public void recover_invalidHistoryWithSummary_quarantined() throws Exception {
+        // Without a checksum, the history is loaded when reading even though the totals are saved
+        String json = "{\"persons\": [{\"name\": \"Alice Pauline\", \"totalAmount\": \"10.00\","
+                + " \"remainingAmount\": \"10.00\", \"transactionCount\": 1, \"transactions\": [{\"type\": \"add\","
+                + " \"amount\": \"10.00\", \"date\": \"2024-13-01\"}]}]}";
+        assertThrows(IllegalValueException.class, LoanDate.MESSAGE_CONSTRAINTS, () -> read(json));
+
+        JsonLoanBookReader.Recovery recovery = recover(json);
+        assertTrue(recovery.loanBook().getPersonList().isEmpty());
+        assertEquals(LoanDate.MESSAGE_CONSTRAINTS, recovery.quarantinedLoans().get(0).reason());
+    }
+
+    @Test
+    public void read_severalBatches_sameAsDatabind() throws Exception {
+        StringBuilder json = new StringBuilder("{\"persons\": [");
+        for (int i = 0; i < JsonLoanBookReader.CONVERSION_BATCH_SIZE * 2 + 1; i++) {
+            json.append(i == 0 ? "" : ", ").append("{\"name\": \"Person ").append(i).append("\", \"transactions\": ")
+                    .append("[{\"type\": \"add\", \"amount\": \"").append(i).append(".00\", ")
+                    .append("\"date\": \"2024-01-01\"}]}");
+        }
+        json.append("]}");
+
+        LoanBook loanBook = read(json.toString());
+        assertEquals(JsonLoanBookReader.CONVERSION_BATCH_SIZE * 2 + 1, loanBook.getPersonList().size());
+        assertEquals(JsonUtil.fromJsonString(json.toString(), JsonSerializableLoanBook.class).toModelType(), loanBook);
+    }
+
+    @Test
+    public void read_duplicateLoansInDifferentBatches_throwsIllegalValueException() {
+        StringBuilder json = new StringBuilder("{\"persons\": [{\"name\": \"Alice Pauline\"}");
+        for (int i = 0; i < JsonLoanBookReader.CONVERSION_BATCH_SIZE; i++) {
+            json.append(", {\"name\": \"Person ").append(i).append("\"}");
+        }
+        json.append(", {\"name\": \"Alice Pauline\"}]}");
+        assertThrows(IllegalValueException.class, JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON, () ->
+                read(json.toString()));
+    }
+
+    @Test
+    public void read_phone_sameAsDatabind() throws Exception {
+        String json = "{\"persons\": [{\"name\": \"Alice Pauline\", \"phoneValue\": \"94351253\"},"
+                + " {\"name\": \"Benson Meier\", \"phone\": \"98765432\"},"
+                + " {\"name\": \"Carl Kurz\", \"phone\": \"95352563\", \"phoneValue\": \"--------\"}]}";
+        LoanBook loanBook = read(json);
+        assertEquals("94351253", loanBook.getPersonList().get(0).getPhone().getValue());
+        assertEquals("98765432", loanBook.getPersonList().get(1).getPhone().getValue());
+        assertEquals(JsonUtil.fromJsonString(json, JsonSerializableLoanBook.class).toModelType(), loanBook);
+    }
+
+    @Test
+    public void read_unknownAndNullFields_ignored() throws Exception {
+        String json = "{\"version\": {\"major\": 1}, \"persons\": [{\"nickname\": [\"Al\"],"
+                + " \"name\": \"Alice Pauline\", \"tags\": null, \"transactions\": null, \"phone\": null}]}";
+        LoanBook loanBook = read(json);
+        assertEquals(ALICE.getName(), loanBook.getPersonList().get(0).getName());
+        assertEquals(JsonUtil.fromJsonString(json, JsonSerializableLoanBook.class).toModelType(), loanBook);
+    }
+
+    @Test
+    public void read_malformedJson_throwsIoException() {
+        String json = "{\"persons\": [{\"name\": \"Alice Pauline\", \"transactions\": [{\"type\": \"add\"";
+        assertThrows(IOException.class, () -> read(json));
+        assertThrows(IOException.class, () -> read(""));
+        assertThrows(IOException.class, () -> read("[]"));
+        assertThrows(IOException.class, () -> read("{\"persons\": {}}"));
+        assertThrows(IOException.class, () -> read("{\"persons\": [{\"name\": [\"Alice\"]}]}"));
+    }
+
+    @Test
+    public void read_missingPersons_throwsIllegalValueException() {
+        assertThrows(IllegalValueException.class, () -> read("{}"));
+    }
+
+    private static JsonLoanBookReader.Recovery recover(String json) throws IOException, IllegalValueException {
+        return JsonLoanBookReader.recover(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static LoanBook read(String json) throws IOException, IllegalValueException {
+        return JsonLoanBookReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
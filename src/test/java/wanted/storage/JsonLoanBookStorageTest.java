@@ -1,7 +1,9 @@
 package wanted.storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static wanted.testutil.Assert.assertThrows;
 import static wanted.testutil.TypicalPersons.ALICE;
 import static wanted.testutil.TypicalPersons.HOON;
@@ -9,13 +11,19 @@ import static wanted.testutil.TypicalPersons.IDA;
 import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.util.FileUtil;
 import wanted.model.LoanBook;
 import wanted.model.ReadOnlyLoanBook;
 
@@ -60,6 +68,11 @@ public class JsonLoanBookStorageTest {
         assertThrows(DataLoadingException.class, () -> readLoanBook("invalidAndValidPersonLoanBook.json"));
     }
 
+    @Test
+    public void readLoanBook_tooLargeAmountLoanBook_throwDataLoadingException() {
+        assertThrows(DataLoadingException.class, () -> readLoanBook("tooLargeAmountLoanBook.json"));
+    }
+
     @Test
     public void readAndSaveLoanBook_allInOrder_success() throws Exception {
         Path filePath = testFolder.resolve("Temploanbook.json");
@@ -86,6 +99,131 @@ public class JsonLoanBookStorageTest {
 
     }
 
+    @Test
+    public void saveLoanBook_existingFile_backedUp() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        JsonLoanBookStorage jsonLoanBookStorage = new JsonLoanBookStorage(filePath, 2);
+        LoanBook first = getTypicalLoanBook();
+        jsonLoanBookStorage.saveLoanBook(first);
+        assertEquals(List.of(), jsonLoanBookStorage.getLoanBookBackupFilePaths());
+
+        LoanBook second = new LoanBook(first);
+        second.addPerson(HOON);
+        jsonLoanBookStorage.saveLoanBook(second);
+        LoanBook third = new LoanBook(second);
+        third.addPerson(IDA);
+        jsonLoanBookStorage.saveLoanBook(third);
+        LoanBook fourth = new LoanBook(third);
+        fourth.removePerson(ALICE);
+        jsonLoanBookStorage.saveLoanBook(fourth);
+
+        Path newestBackup = FileUtil.getBackupFilePath(filePath, 1);
+        Path oldestBackup = FileUtil.getBackupFilePath(filePath, 2);
+        assertEquals(List.of(newestBackup, oldestBackup), jsonLoanBookStorage.getLoanBookBackupFilePaths());
+        assertEquals(fourth, new LoanBook(jsonLoanBookStorage.readLoanBook().get()));
+        assertEquals(third, new LoanBook(jsonLoanBookStorage.readLoanBook(newestBackup).get()));
+        assertEquals(second, new LoanBook(jsonLoanBookStorage.readLoanBook(oldestBackup).get()));
+        assertFalse(Files.exists(FileUtil.getBackupFilePath(filePath, 3)));
+        assertFalse(Files.exists(FileUtil.getTempFilePath(filePath)));
+    }
+
+    @Test
+    public void saveLoanBook_noBackups_onlyDataFileWritten() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        JsonLoanBookStorage jsonLoanBookStorage = new JsonLoanBookStorage(filePath, 0);
+        jsonLoanBookStorage.saveLoanBook(getTypicalLoanBook());
+        jsonLoanBookStorage.saveLoanBook(new LoanBook());
+        assertEquals(List.of(filePath), Files.list(testFolder).toList());
+    }
+
+    @Test
+    public void saveLoanBook_compact_readBack() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        JsonLoanBookStorage jsonLoanBookStorage = new JsonLoanBookStorage(filePath, 0, true);
+        LoanBook original = getTypicalLoanBook();
+        jsonLoanBookStorage.saveLoanBook(original);
+
+        assertEquals(1, Files.readAllLines(filePath).size());
+        assertEquals(original, new LoanBook(jsonLoanBookStorage.readLoanBook().get()));
+    }
+
+    @Test
+    public void saveLoanBook_gzipFilePath_compressedAndReadBack() throws Exception {
+        Path jsonFilePath = testFolder.resolve("loanbook.json");
+        Path gzipFilePath = JsonLoanBookStorage.getGzipFilePath(jsonFilePath);
+        assertEquals(testFolder.resolve("loanbook.json.gz"), gzipFilePath);
+        LoanBook original = getTypicalLoanBook();
+        new JsonLoanBookStorage(jsonFilePath, 0).saveLoanBook(original);
+        JsonLoanBookStorage gzipStorage = new JsonLoanBookStorage(gzipFilePath, 0);
+        gzipStorage.saveLoanBook(original);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzipFilePath))) {
+            assertArrayEquals(Files.readAllBytes(jsonFilePath), in.readAllBytes());
+        }
+        assertTrue(Files.size(gzipFilePath) < Files.size(jsonFilePath));
+        assertEquals(original, new LoanBook(gzipStorage.readLoanBook().get()));
+    }
+
+    @Test
+    public void readLoanBook_formatDetectedFromContent() throws Exception {
+        Path jsonFilePath = testFolder.resolve("loanbook.json");
+        Path gzipFilePath = testFolder.resolve("loanbook.json.gz");
+        LoanBook original = getTypicalLoanBook();
+        new JsonLoanBookStorage(gzipFilePath).saveLoanBook(original);
+        Files.move(gzipFilePath, jsonFilePath);
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(jsonFilePath).readLoanBook().get()));
+
+        new JsonLoanBookStorage(jsonFilePath).saveLoanBook(original);
+        Files.move(jsonFilePath, gzipFilePath);
+        assertEquals(original, new LoanBook(new JsonLoanBookStorage(gzipFilePath).readLoanBook().get()));
+    }
+
+    @Test
+    public void readLoanBook_truncatedGzipFile_throwDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json.gz");
+        JsonLoanBookStorage jsonLoanBookStorage = new JsonLoanBookStorage(filePath);
+        jsonLoanBookStorage.saveLoanBook(getTypicalLoanBook());
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(DataLoadingException.class, jsonLoanBookStorage::readLoanBook);
+    }
+
+    @Test
+    public void recoverLoanBook_damagedLoan_quarantined() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.json");
+        Path quarantineFilePath = JsonLoanBookStorage.getQuarantineFilePath(filePath);
+        JsonLoanBookStorage storage = new JsonLoanBookStorage(filePath);
+        LoanBook original = getTypicalLoanBook();
+        storage.saveLoanBook(original);
+        assertEquals(original, new LoanBook(storage.recoverLoanBook().get()));
+        assertFalse(Files.exists(quarantineFilePath));
+
+        Files.writeString(filePath, Files.readString(filePath).replace("Alice Pauline", "Alice Paulina"));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+        LoanBook expected = new LoanBook(original);
+        expected.removePerson(ALICE);
+        assertEquals(expected, new LoanBook(storage.recoverLoanBook().get()));
+        assertTrue(Files.readString(quarantineFilePath).contains("Alice Paulina"));
+        assertTrue(Files.readString(quarantineFilePath).contains(JsonAdaptedLoan.CHECKSUM_MISMATCH_MESSAGE));
+        assertFalse(Files.exists(JsonLoanBookStorage.getDamagedFilePath(filePath)));
+
+        // Part of the file cannot be read at all, so the whole file is kept
+        String damaged = Files.readString(filePath);
+        Files.writeString(filePath, damaged.substring(0, damaged.length() / 2));
+        assertTrue(storage.recoverLoanBook().isPresent());
+        assertEquals(List.of(FileUtil.getBackupFilePath(quarantineFilePath, 1)),
+                FileUtil.getBackupFilePaths(quarantineFilePath, JsonLoanBookStorage.DEFAULT_BACKUP_COUNT));
+        assertEquals(damaged.substring(0, damaged.length() / 2),
+                Files.readString(JsonLoanBookStorage.getDamagedFilePath(filePath)));
+
+        assertFalse(storage.recoverLoanBook(testFolder.resolve("missing.json")).isPresent());
+    }
+
+    @Test
+    public void constructor_negativeBackupCount_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonLoanBookStorage(Paths.get("loanbook.json"), -1));
+    }
+
     @Test
     public void saveLoanBook_nullLoanBook_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> saveLoanBook(null, "SomeFile.json"));
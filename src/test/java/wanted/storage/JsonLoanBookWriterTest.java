@@ -0,0 +1,53 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static wanted.testutil.TypicalPersons.ALICE;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import wanted.commons.util.JsonUtil;
+import wanted.model.LoanBook;
+import wanted.model.loan.Phone;
+import wanted.testutil.PersonBuilder;
+
+public class JsonLoanBookWriterTest {
+
+    @Test
+    public void write_pretty_sameAsDatabind() throws Exception {
+        LoanBook loanBook = getTypicalLoanBook();
+        loanBook.setPerson(ALICE, new PersonBuilder(ALICE).withPhone(new Phone("94351253")).build());
+        loanBook.addPerson(new PersonBuilder().withPhone(null).build());
+
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableLoanBook(loanBook)), write(loanBook, false));
+    }
+
+    @Test
+    public void write_compact_readBack() throws Exception {
+        LoanBook loanBook = getTypicalLoanBook();
+        loanBook.setPerson(ALICE, new PersonBuilder(ALICE).withPhone(new Phone("94351253")).build());
+
+        String json = write(loanBook, true);
+        assertFalse(json.contains("\n"));
+        assertFalse(json.contains(": "));
+        assertEquals(JsonUtil.toCompactJsonString(new JsonSerializableLoanBook(loanBook)), json);
+        assertEquals(loanBook, JsonLoanBookReader.read(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void write_emptyLoanBook_emptyPersons() throws Exception {
+        assertEquals("{\"persons\":[]}", write(new LoanBook(), true));
+    }
+
+    private static String write(LoanBook loanBook, boolean isCompact) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonLoanBookWriter.write(loanBook, out, isCompact);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
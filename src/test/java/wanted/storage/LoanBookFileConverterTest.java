@@ -0,0 +1,81 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static wanted.testutil.TypicalPersons.HOON;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import wanted.model.LoanBook;
+
+public class LoanBookFileConverterTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void convert_jsonToBinaryAndBack_success() throws Exception {
+        Path jsonFilePath = testFolder.resolve("loanbook.json");
+        JsonLoanBookStorage jsonStorage = new JsonLoanBookStorage(jsonFilePath);
+        BinaryLoanBookStorage binaryStorage = new BinaryLoanBookStorage(
+                BinaryLoanBookStorage.getBinaryFilePath(jsonFilePath));
+        LoanBook original = getTypicalLoanBook();
+        jsonStorage.saveLoanBook(original);
+
+        assertTrue(LoanBookFileConverter.convert(jsonStorage, binaryStorage));
+        assertEquals(original, new LoanBook(binaryStorage.readLoanBook().get()));
+        assertFalse(Files.exists(jsonFilePath));
+        assertTrue(Files.exists(testFolder.resolve("loanbook.json" + LoanBookFileConverter.CONVERTED_FILE_EXTENSION)));
+
+        assertTrue(LoanBookFileConverter.convert(binaryStorage, jsonStorage));
+        assertEquals(original, new LoanBook(jsonStorage.readLoanBook().get()));
+        assertFalse(Files.exists(binaryStorage.getLoanBookFilePath()));
+    }
+
+    @Test
+    public void convert_journal_convertedAndRenamed() throws Exception {
+        Path jsonFilePath = testFolder.resolve("loanbook.json");
+        JournaledLoanBookStorage journaledStorage = new JournaledLoanBookStorage(jsonFilePath, 10);
+        LoanBook original = getTypicalLoanBook();
+        journaledStorage.saveLoanBook(original);
+        original.addPerson(HOON);
+        journaledStorage.saveLoanBook(original);
+        Path journalFilePath = JournaledLoanBookStorage.getJournalFilePath(jsonFilePath);
+        assertTrue(Files.exists(journalFilePath));
+
+        BinaryLoanBookStorage binaryStorage = new BinaryLoanBookStorage(testFolder.resolve("loanbook.bin"));
+        assertTrue(LoanBookFileConverter.convert(new JournaledLoanBookStorage(jsonFilePath, 0), binaryStorage));
+        assertEquals(original, new LoanBook(binaryStorage.readLoanBook().get()));
+        assertFalse(Files.exists(journalFilePath));
+        assertTrue(Files.exists(journalFilePath.resolveSibling(
+                journalFilePath.getFileName() + LoanBookFileConverter.CONVERTED_FILE_EXTENSION)));
+    }
+
+    @Test
+    public void convert_targetExists_notConverted() throws Exception {
+        JsonLoanBookStorage jsonStorage = new JsonLoanBookStorage(testFolder.resolve("loanbook.json"));
+        BinaryLoanBookStorage binaryStorage = new BinaryLoanBookStorage(testFolder.resolve("loanbook.bin"));
+        LoanBook binaryLoanBook = new LoanBook();
+        binaryLoanBook.addPerson(HOON);
+        jsonStorage.saveLoanBook(getTypicalLoanBook());
+        binaryStorage.saveLoanBook(binaryLoanBook);
+
+        assertFalse(LoanBookFileConverter.convert(jsonStorage, binaryStorage));
+        assertEquals(binaryLoanBook, new LoanBook(binaryStorage.readLoanBook().get()));
+        assertTrue(Files.exists(jsonStorage.getLoanBookFilePath()));
+    }
+
+    @Test
+    public void convert_missingSource_notConverted() throws Exception {
+        BinaryLoanBookStorage binaryStorage = new BinaryLoanBookStorage(testFolder.resolve("loanbook.bin"));
+        assertFalse(LoanBookFileConverter.convert(
+                new JsonLoanBookStorage(testFolder.resolve("loanbook.json")), binaryStorage));
+        assertFalse(Files.exists(binaryStorage.getLoanBookFilePath()));
+    }
+}
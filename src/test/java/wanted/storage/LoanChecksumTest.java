@@ -0,0 +1,28 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class LoanChecksumTest {
+
+    @Test
+    public void addValues_sameAsAddingEachValue() {
+        assertEquals(new LoanChecksum().add("add").add("10.00").add("2024-01-01").getValue(),
+                new LoanChecksum().addValues("add\u000010.00\u00002024-01-01\u0000").getValue());
+    }
+
+    @Test
+    public void getValue_dependsOnValuesAndTheirOrder() {
+        long checksum = new LoanChecksum().add("Alice").add("friends").getValue();
+        assertEquals(checksum, new LoanChecksum().add("Alice").add("friends").getValue());
+        assertNotEquals(checksum, new LoanChecksum().add("friends").add("Alice").getValue());
+        assertNotEquals(checksum, new LoanChecksum().add("Alicefriends").getValue());
+        assertNotEquals(checksum, new LoanChecksum().add("Alice").add("friends").add((String) null).getValue());
+
+        // A missing value is not the same as an empty one
+        assertNotEquals(new LoanChecksum().add("").getValue(), new LoanChecksum().add((String) null).getValue());
+        assertEquals(new LoanChecksum().add("3").getValue(), new LoanChecksum().add(3).getValue());
+    }
+}
@@ -0,0 +1,76 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import wanted.commons.exceptions.IllegalValueException;
+import wanted.model.LoanBook;
+import wanted.model.loan.Name;
+
+public class ParallelLoanConverterTest {
+
+    private static final int LOAN_COUNT = ParallelLoanConverter.SEQUENTIAL_THRESHOLD * 10 + 3;
+
+    @Test
+    public void toLoanBook_manyLoans_sameAsSequential() throws Exception {
+        List<JsonAdaptedLoan> loans = getLoans(LOAN_COUNT);
+        LoanBook loanBook = ParallelLoanConverter.toLoanBook(loans, JsonAdaptedLoan::toModelType);
+
+        assertEquals(LOAN_COUNT, loanBook.getPersonList().size());
+        for (int i = 0; i < LOAN_COUNT; i++) {
+            assertEquals(loans.get(i).toModelType(), loanBook.getPersonList().get(i));
+        }
+    }
+
+    @Test
+    public void toLoanBook_emptyList_emptyLoanBook() throws Exception {
+        assertEquals(new LoanBook(), ParallelLoanConverter.toLoanBook(List.<JsonAdaptedLoan>of(),
+                JsonAdaptedLoan::toModelType));
+    }
+
+    @Test
+    public void addAll_appendsToLoanBook() throws Exception {
+        LoanBook expected = getTypicalLoanBook();
+        LoanBook loanBook = new LoanBook();
+        int size = expected.getPersonList().size();
+        ParallelLoanConverter.addAll(loanBook, expected.getPersonList().subList(0, size / 2), loan -> loan);
+        ParallelLoanConverter.addAll(loanBook, expected.getPersonList().subList(size / 2, size), loan -> loan);
+        assertEquals(expected, loanBook);
+    }
+
+    @Test
+    public void toLoanBook_invalidLoans_firstFailureInOrderThrown() {
+        List<JsonAdaptedLoan> loans = getLoans(LOAN_COUNT);
+        loans.set(LOAN_COUNT - 1, new JsonAdaptedLoan(null, null, null, null));
+        loans.set(LOAN_COUNT / 2, new JsonAdaptedLoan("Invalid@Name", null, null, null));
+        assertThrows(IllegalValueException.class, Name.MESSAGE_CONSTRAINTS, () ->
+                ParallelLoanConverter.toLoanBook(loans, JsonAdaptedLoan::toModelType));
+    }
+
+    @Test
+    public void toLoanBook_duplicateBeforeInvalidLoan_duplicateThrown() {
+        List<JsonAdaptedLoan> loans = getLoans(LOAN_COUNT);
+        loans.set(LOAN_COUNT / 2, loans.get(0));
+        loans.set(LOAN_COUNT - 1, new JsonAdaptedLoan("Invalid@Name", null, null, null));
+        assertThrows(IllegalValueException.class, JsonSerializableLoanBook.MESSAGE_DUPLICATE_PERSON, () ->
+                ParallelLoanConverter.toLoanBook(loans, JsonAdaptedLoan::toModelType));
+    }
+
+    private static List<JsonAdaptedLoan> getLoans(int count) {
+        List<JsonAdaptedLoan> loans = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<JsonAdaptedLoanTransaction> transactions = List.of(
+                    new JsonAdaptedLoanTransaction(JsonAdaptedLoanTransaction.TYPE_ADD, i + ".50", "2024-01-01"),
+                    new JsonAdaptedLoanTransaction(JsonAdaptedLoanTransaction.TYPE_REPAY, "0.50", "2024-02-01"));
+            loans.add(new JsonAdaptedLoan("Person " + i, transactions, List.of(new JsonAdaptedTag("t" + i % 3)),
+                    null));
+        }
+        return loans;
+    }
+}
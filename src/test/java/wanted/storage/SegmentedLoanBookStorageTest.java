@@ -0,0 +1,222 @@
+package wanted.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static wanted.storage.SegmentedLoanBookStorage.ORDER_GAP;
+import static wanted.testutil.Assert.assertThrows;
+import static wanted.testutil.TypicalPersons.ALICE;
+import static wanted.testutil.TypicalPersons.BENSON;
+import static wanted.testutil.TypicalPersons.CARL;
+import static wanted.testutil.TypicalPersons.HOON;
+import static wanted.testutil.TypicalPersons.getTypicalLoanBook;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import wanted.commons.exceptions.DataLoadingException;
+import wanted.commons.util.JsonUtil;
+import wanted.model.LoanBook;
+import wanted.model.ReadOnlyLoanBook;
+import wanted.model.loan.Loan;
+import wanted.model.loan.Phone;
+import wanted.testutil.PersonBuilder;
+
+public class SegmentedLoanBookStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void getManifestFilePath() {
+        assertEquals(Paths.get("data", "loanbook.segments", "manifest.json"),
+                SegmentedLoanBookStorage.getManifestFilePath(Paths.get("data", "loanbook.json")));
+    }
+
+    @Test
+    public void readLoanBook_missingManifest_emptyResult() throws Exception {
+        assertFalse(new SegmentedLoanBookStorage(testFolder.resolve("manifest.json")).readLoanBook().isPresent());
+    }
+
+    @Test
+    public void readAndSaveLoanBook_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("loanbook.segments").resolve("manifest.json");
+        SegmentedLoanBookStorage storage = new SegmentedLoanBookStorage(filePath, 4);
+        LoanBook original = getTypicalLoanBook();
+        original.setPerson(ALICE, new PersonBuilder(ALICE).withPhone(new Phone("94351253")).build());
+        storage.saveLoanBook(original);
+        assertEquals(original, new LoanBook(new SegmentedLoanBookStorage(filePath, 4).readLoanBook().get()));
+
+        // Order is kept across segments
+        List<Loan> reversed = new ArrayList<>(original.getPersonList());
+        reversed.sort(Comparator.comparing((Loan loan) -> loan.getName().fullName).reversed());
+        original.reorderPersons(reversed);
+        original.addPerson(HOON);
+        original.removePerson(CARL);
+        storage.saveLoanBook(original);
+        assertSameLoans(original, new SegmentedLoanBookStorage(filePath, 4).readLoanBook().get());
+
+        // Phones are not compared by Loan#equals, but are still saved
+        Loan benson = original.getPersonList().get(original.getPersonList().indexOf(BENSON));
+        original.setPerson(benson, new PersonBuilder(benson).withPhone(new Phone("98765432")).build());
+        storage.saveLoanBook(original);
+        assertSameLoans(original, new SegmentedLoanBookStorage(filePath, 4).readLoanBook().get());
+    }
+
+    @Test
+    public void saveLoanBook_oneLoanChanged_onlyItsSegmentWritten() throws Exception {
+        Path filePath = testFolder.resolve("manifest.json");
+        SegmentedLoanBookStorage storage = new SegmentedLoanBookStorage(filePath, 4);
+        LoanBook loanBook = getTypicalLoanBook();
+        storage.saveLoanBook(loanBook);
+        assertEquals(4, getSegmentFileNames(1).size());
+
+        loanBook.setPerson(ALICE, new PersonBuilder(ALICE).withTags("changed").build());
+        storage.saveLoanBook(loanBook);
+        assertEquals(1, getSegmentFileNames(2).size());
+        assertEquals(3, getSegmentFileNames(1).size());
+        assertEquals(5, getFileNames().size()); // the replaced segment is deleted
+
+        // Adding and removing a loan only touches its own segment
+        loanBook.addPerson(HOON);
+        storage.saveLoanBook(loanBook);
+        assertEquals(1, getSegmentFileNames(3).size());
+        loanBook.removePerson(HOON);
+        storage.saveLoanBook(loanBook);
+        assertEquals(1, getSegmentFileNames(4).size());
+
+        // Nothing changed
+        storage.saveLoanBook(loanBook);
+        assertEquals(0, getSegmentFileNames(5).size());
+        assertEquals(5, getFileNames().size());
+    }
+
+    @Test
+    public void saveLoanBook_afterRead_unchangedSegmentsKept() throws Exception {
+        Path filePath = testFolder.resolve("manifest.json");
+        new SegmentedLoanBookStorage(filePath, 4).saveLoanBook(getTypicalLoanBook());
+
+        SegmentedLoanBookStorage storage = new SegmentedLoanBookStorage(filePath, 4);
+        LoanBook loanBook = new LoanBook(storage.readLoanBook().get());
+        loanBook.addPerson(HOON);
+        storage.saveLoanBook(loanBook);
+        assertEquals(1, getSegmentFileNames(2).size());
+        assertEquals(5, getFileNames().size());
+    }
+
+    @Test
+    public void saveLoanBook_segmentCountChanged_allSegmentsReplaced() throws Exception {
+        Path filePath = testFolder.resolve("manifest.json");
+        new SegmentedLoanBookStorage(filePath, 4).saveLoanBook(getTypicalLoanBook());
+
+        SegmentedLoanBookStorage storage = new SegmentedLoanBookStorage(filePath, 2);
+        storage.saveLoanBook(getTypicalLoanBook());
+        assertEquals(List.of("manifest.json", "segment-0-2.json", "segment-1-2.json"), getFileNames());
+        assertEquals(getTypicalLoanBook(), new LoanBook(storage.readLoanBook().get()));
+    }
+
+    @Test
+    public void readLoanBook_segmentsNotInManifest_deleted() throws Exception {
+        Path filePath = testFolder.resolve("manifest.json");
+        SegmentedLoanBookStorage storage = new SegmentedLoanBookStorage(filePath, 2);
+        storage.saveLoanBook(getTypicalLoanBook());
+
+        // As if a save wrote a segment but stopped before replacing the manifest
+        Files.writeString(testFolder.resolve("segment-0-2.json"), "{\"persons\": [], \"order\": []}");
+        Files.writeString(testFolder.resolve("notes.txt"), "not a segment");
+
+        ReadOnlyLoanBook readBack = new SegmentedLoanBookStorage(filePath, 2).readLoanBook().get();
+        assertEquals(getTypicalLoanBook(), new LoanBook(readBack));
+        assertEquals(List.of("manifest.json", "notes.txt", "segment-0-1.json", "segment-1-1.json"), getFileNames());
+    }
+
+    @Test
+    public void readLoanBook_invalidFiles_throwDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("manifest.json");
+        SegmentedLoanBookStorage storage = new SegmentedLoanBookStorage(filePath, 2);
+        storage.saveLoanBook(getTypicalLoanBook());
+
+        // Missing segment
+        Files.delete(testFolder.resolve("segment-0-1.json"));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // Segment outside the directory
+        writeManifest(filePath, 1, List.of("../segment-0-1.json"));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // Unsupported version
+        writeManifest(filePath, 2, List.of("segment-1-1.json"));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // Loans without order keys
+        Files.writeString(testFolder.resolve("segment-0-1.json"),
+                "{\"persons\": [{\"name\": \"Alice Pauline\"}], \"order\": []}");
+        writeManifest(filePath, 1, List.of("segment-0-1.json"));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+
+        // The same loan in two segments
+        Files.writeString(testFolder.resolve("segment-0-1.json"),
+                "{\"persons\": [{\"name\": \"Alice Pauline\"}], \"order\": [0]}");
+        writeManifest(filePath, 1, List.of("segment-0-1.json", "segment-0-1.json"));
+        assertThrows(DataLoadingException.class, storage::readLoanBook);
+    }
+
+    @Test
+    public void assignOrders() {
+        // New loans are spaced apart
+        assertArrayEquals(new long[] {0, ORDER_GAP, 2 * ORDER_GAP},
+                SegmentedLoanBookStorage.assignOrders(List.of(ALICE, BENSON, CARL), Map.of()));
+
+        // Loans inserted between kept keys are spread between them
+        assertArrayEquals(new long[] {0, 4, 8},
+                SegmentedLoanBookStorage.assignOrders(List.of(ALICE, HOON, CARL),
+                        Map.of(ALICE.getName(), 0L, CARL.getName(), 8L)));
+        assertArrayEquals(new long[] {-2 * ORDER_GAP, -ORDER_GAP, 0},
+                SegmentedLoanBookStorage.assignOrders(List.of(HOON, BENSON, ALICE), Map.of(ALICE.getName(), 0L)));
+
+        // Keys out of order, or too close to fit new loans between them, are replaced
+        assertArrayEquals(new long[] {5, 5 + ORDER_GAP, 5 + 2 * ORDER_GAP},
+                SegmentedLoanBookStorage.assignOrders(List.of(CARL, BENSON, ALICE),
+                        Map.of(ALICE.getName(), 0L, BENSON.getName(), 1L, CARL.getName(), 5L)));
+        assertArrayEquals(new long[] {0, ORDER_GAP, 2 * ORDER_GAP},
+                SegmentedLoanBookStorage.assignOrders(List.of(ALICE, HOON, BENSON),
+                        Map.of(ALICE.getName(), 0L, BENSON.getName(), 1L)));
+    }
+
+    @Test
+    public void constructor_nonPositiveSegmentCount_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedLoanBookStorage(Paths.get("m.json"), 0));
+    }
+
+    /**
+     * Asserts that {@code actual} holds the same loans as {@code expected} in the same order, with the same phones.
+     */
+    private static void assertSameLoans(ReadOnlyLoanBook expected, ReadOnlyLoanBook actual) {
+        assertEquals(expected.getPersonList(), actual.getPersonList());
+        assertEquals(expected.getPersonList().stream().map(Loan::getPhone).toList(),
+                actual.getPersonList().stream().map(Loan::getPhone).toList());
+    }
+
+    private List<String> getFileNames() throws Exception {
+        try (Stream<Path> files = Files.list(testFolder)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private List<String> getSegmentFileNames(long generation) throws Exception {
+        return getFileNames().stream().filter(name -> name.endsWith("-" + generation + ".json")).toList();
+    }
+
+    private static void writeManifest(Path filePath, int version, List<String> segments) throws Exception {
+        Files.writeString(filePath, JsonUtil.toJsonString(new JsonAdaptedSegmentManifest(version, 1, segments)));
+    }
+}